@@ -2,11 +2,15 @@ package io.github.bardiakz.exam_service.controller;
 
 import io.github.bardiakz.exam_service.dto.ExamRequest;
 import io.github.bardiakz.exam_service.dto.ExamResponse;
+import io.github.bardiakz.exam_service.dto.ExamStatisticsResponse;
+import io.github.bardiakz.exam_service.dto.QuestionDto;
 import io.github.bardiakz.exam_service.service.ExamService;
+import io.github.bardiakz.exam_service.service.ExamStatisticsService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,9 +25,11 @@ public class ExamController {
     private static final Logger log = LoggerFactory.getLogger(ExamController.class);
 
     private final ExamService examService;
+    private final ExamStatisticsService statisticsService;
 
-    public ExamController(ExamService examService) {
+    public ExamController(ExamService examService, ExamStatisticsService statisticsService) {
         this.examService = examService;
+        this.statisticsService = statisticsService;
     }
 
     @PostMapping
@@ -53,7 +59,7 @@ public class ExamController {
     }
 
     @GetMapping("/{examId}")
-    public ResponseEntity<ExamResponse> getExamById(
+    public ResponseEntity<?> getExamById(
             @PathVariable Long examId,
             Authentication authentication) {
 
@@ -67,10 +73,42 @@ public class ExamController {
 
         log.info("User {} fetching exam {}", userId, examId);
 
+        // Students get the shared, pre-serialized view without correct answers
+        if (role.equals("STUDENT")) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(examService.getStudentExamJson(examId, userId));
+        }
+
         ExamResponse response = examService.getExamById(examId, userId, role);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Score distribution and per-question correctness, maintained incrementally as submissions are graded
+     */
+    @GetMapping("/{examId}/statistics")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'FACULTY')")
+    public ResponseEntity<ExamStatisticsResponse> getExamStatistics(
+            @PathVariable Long examId,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(statisticsService.getStatistics(examId, authentication.getName()));
+    }
+
+    /**
+     * Questions a student was given in a question bank exam
+     */
+    @GetMapping("/{examId}/draws/{studentId}")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'FACULTY')")
+    public ResponseEntity<List<QuestionDto>> getStudentDraw(
+            @PathVariable Long examId,
+            @PathVariable String studentId,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(examService.getStudentDraw(examId, authentication.getName(), studentId));
+    }
+
     @GetMapping("/instructor/my-exams")
     @PreAuthorize("hasAnyRole('INSTRUCTOR', 'FACULTY')")
     public ResponseEntity<List<ExamResponse>> getMyExams(Authentication authentication) {
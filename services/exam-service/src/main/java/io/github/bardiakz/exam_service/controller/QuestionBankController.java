@@ -0,0 +1,61 @@
+package io.github.bardiakz.exam_service.controller;
+
+import io.github.bardiakz.exam_service.dto.BankQuestionRequest;
+import io.github.bardiakz.exam_service.dto.BankQuestionResponse;
+import io.github.bardiakz.exam_service.dto.PageResponse;
+import io.github.bardiakz.exam_service.entity.BankQuestion;
+import io.github.bardiakz.exam_service.service.QuestionBankService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/exams/question-bank")
+@PreAuthorize("hasAnyRole('INSTRUCTOR', 'FACULTY')")
+public class QuestionBankController {
+    private static final Logger log = LoggerFactory.getLogger(QuestionBankController.class);
+
+    private final QuestionBankService questionBankService;
+
+    public QuestionBankController(QuestionBankService questionBankService) {
+        this.questionBankService = questionBankService;
+    }
+
+    /**
+     * Add a question to the shared bank; an identical active question is returned instead of a copy
+     */
+    @PostMapping
+    public ResponseEntity<BankQuestionResponse> addQuestion(
+            @Valid @RequestBody BankQuestionRequest request,
+            Authentication authentication) {
+
+        log.info("Instructor {} adding question on '{}' to the bank", authentication.getName(), request.getTopic());
+        return ResponseEntity.ok(questionBankService.addQuestion(request, authentication.getName()));
+    }
+
+    @GetMapping
+    public ResponseEntity<PageResponse<BankQuestionResponse>> searchQuestions(
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) BankQuestion.Difficulty difficulty,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return ResponseEntity.ok(questionBankService.search(topic, difficulty, page, size));
+    }
+
+    /**
+     * Retire a question; exams already published keep drawing it
+     */
+    @DeleteMapping("/{questionId}")
+    public ResponseEntity<Void> retireQuestion(
+            @PathVariable Long questionId,
+            Authentication authentication) {
+
+        questionBankService.retireQuestion(questionId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,7 +1,14 @@
 package io.github.bardiakz.exam_service.controller;
 
+import io.github.bardiakz.exam_service.dto.DraftRequest;
+import io.github.bardiakz.exam_service.dto.DraftResponse;
+import io.github.bardiakz.exam_service.dto.PageResponse;
+import io.github.bardiakz.exam_service.dto.RegradeResponse;
+import io.github.bardiakz.exam_service.dto.SubmissionReceiptResponse;
 import io.github.bardiakz.exam_service.dto.SubmissionRequest;
 import io.github.bardiakz.exam_service.dto.SubmissionResponse;
+import io.github.bardiakz.exam_service.service.DraftService;
+import io.github.bardiakz.exam_service.service.SubmissionIngestService;
 import io.github.bardiakz.exam_service.service.SubmissionService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -20,9 +27,14 @@ public class SubmissionController {
     private static final Logger log = LoggerFactory.getLogger(SubmissionController.class);
 
     private final SubmissionService submissionService;
+    private final DraftService draftService;
+    private final SubmissionIngestService ingestService;
 
-    public SubmissionController(SubmissionService submissionService) {
+    public SubmissionController(SubmissionService submissionService, DraftService draftService,
+                                SubmissionIngestService ingestService) {
         this.submissionService = submissionService;
+        this.draftService = draftService;
+        this.ingestService = ingestService;
     }
 
     @PostMapping
@@ -43,6 +55,76 @@ public class SubmissionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Queue a submission and return a receipt right away; grading happens in the background
+     * Poll GET /api/submissions/receipts/{receiptId} for the outcome
+     */
+    @PostMapping("/async")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<SubmissionReceiptResponse> submitExamAsync(
+            @Valid @RequestBody SubmissionRequest request,
+            Authentication authentication,
+            @RequestHeader(value = "X-User-Email", required = false) String userEmail) {
+
+        String studentId = authentication.getName();
+        if (userEmail == null || userEmail.isEmpty()) {
+            userEmail = studentId + "@university.edu";
+        }
+
+        SubmissionReceiptResponse receipt = ingestService.accept(request, studentId, userEmail);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(receipt);
+    }
+
+    @GetMapping("/receipts/{receiptId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<SubmissionReceiptResponse> getReceipt(
+            @PathVariable String receiptId,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(ingestService.getReceipt(receiptId, authentication.getName()));
+    }
+
+    /**
+     * Autosave changed answers of an exam in progress
+     * PATCH /api/submissions/drafts/{examId}  {"answers": [{"questionId": 1, "answerText": "B"}]}
+     */
+    @PatchMapping("/drafts/{examId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<DraftResponse> saveDraft(
+            @PathVariable Long examId,
+            @Valid @RequestBody DraftRequest request,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(draftService.saveAnswers(examId, authentication.getName(), request.getAnswers()));
+    }
+
+    @GetMapping("/drafts/{examId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<DraftResponse> getDraft(
+            @PathVariable Long examId,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(draftService.getDraft(examId, authentication.getName()));
+    }
+
+    @PostMapping("/drafts/{examId}/submit")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<SubmissionResponse> submitDraft(
+            @PathVariable Long examId,
+            Authentication authentication,
+            @RequestHeader(value = "X-User-Email", required = false) String userEmail) {
+
+        String studentId = authentication.getName();
+        if (userEmail == null || userEmail.isEmpty()) {
+            userEmail = studentId + "@university.edu";
+        }
+
+        log.info("Student {} ({}) submitting draft of exam {}", studentId, userEmail, examId);
+
+        SubmissionResponse response = draftService.submitDraft(examId, studentId, userEmail);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/{submissionId}")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<SubmissionResponse> getSubmissionById(
@@ -74,4 +156,44 @@ public class SubmissionController {
         List<SubmissionResponse> submissions = submissionService.getSubmissionsByExam(examId);
         return ResponseEntity.ok(submissions);
     }
+
+    /**
+     * Paged submissions of an exam with score/status only; expand=answers includes the answers
+     */
+    @GetMapping("/exam/{examId}/page")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'FACULTY')")
+    public ResponseEntity<PageResponse<SubmissionResponse>> getExamSubmissionPage(
+            @PathVariable Long examId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String expand,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(submissionService.getSubmissionPageByExam(
+                examId, authentication.getName(), page, size, "answers".equals(expand)));
+    }
+
+    @GetMapping("/my-submissions/page")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<PageResponse<SubmissionResponse>> getMySubmissionPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String expand,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(submissionService.getSubmissionPageByStudent(
+                authentication.getName(), page, size, "answers".equals(expand)));
+    }
+
+    @PostMapping("/exam/{examId}/regrade")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'FACULTY')")
+    public ResponseEntity<RegradeResponse> regradeExam(
+            @PathVariable Long examId,
+            Authentication authentication) {
+
+        String instructorId = authentication.getName();
+        log.info("Instructor {} regrading exam {}", instructorId, examId);
+
+        return ResponseEntity.ok(submissionService.regradeExam(examId, instructorId));
+    }
 }
@@ -0,0 +1,34 @@
+package io.github.bardiakz.exam_service.dto;
+
+import io.github.bardiakz.exam_service.entity.BankQuestion;
+import jakarta.validation.constraints.*;
+
+public class BankDrawDto {
+
+    @NotBlank(message = "Topic is required")
+    private String topic;
+
+    @NotNull(message = "Difficulty is required")
+    private BankQuestion.Difficulty difficulty;
+
+    @NotNull(message = "Count is required")
+    @Min(value = 1, message = "Count must be at least 1")
+    private Integer count;
+
+    public BankDrawDto() {}
+
+    public BankDrawDto(String topic, BankQuestion.Difficulty difficulty, Integer count) {
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.count = count;
+    }
+
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public BankQuestion.Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(BankQuestion.Difficulty difficulty) { this.difficulty = difficulty; }
+
+    public Integer getCount() { return count; }
+    public void setCount(Integer count) { this.count = count; }
+}
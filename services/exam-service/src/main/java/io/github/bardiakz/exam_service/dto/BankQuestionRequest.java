@@ -0,0 +1,55 @@
+package io.github.bardiakz.exam_service.dto;
+
+import io.github.bardiakz.exam_service.entity.BankQuestion;
+import io.github.bardiakz.exam_service.entity.Question;
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+public class BankQuestionRequest {
+
+    @NotBlank(message = "Topic is required")
+    @Size(max = 255, message = "Topic cannot exceed 255 characters")
+    private String topic;
+
+    @NotNull(message = "Difficulty is required")
+    private BankQuestion.Difficulty difficulty;
+
+    @NotBlank(message = "Question text is required")
+    @Size(min = 5, max = 2000, message = "Question text must be between 5 and 2000 characters")
+    private String text;
+
+    @NotNull(message = "Question type is required")
+    private Question.QuestionType type;
+
+    private List<String> options;
+
+    @NotBlank(message = "Correct answer is required")
+    private String correctAnswer;
+
+    @NotNull(message = "Marks is required")
+    @Min(value = 1, message = "Marks must be at least 1")
+    private Integer marks;
+
+    public BankQuestionRequest() {}
+
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public BankQuestion.Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(BankQuestion.Difficulty difficulty) { this.difficulty = difficulty; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public Question.QuestionType getType() { return type; }
+    public void setType(Question.QuestionType type) { this.type = type; }
+
+    public List<String> getOptions() { return options; }
+    public void setOptions(List<String> options) { this.options = options; }
+
+    public String getCorrectAnswer() { return correctAnswer; }
+    public void setCorrectAnswer(String correctAnswer) { this.correctAnswer = correctAnswer; }
+
+    public Integer getMarks() { return marks; }
+    public void setMarks(Integer marks) { this.marks = marks; }
+}
@@ -0,0 +1,66 @@
+package io.github.bardiakz.exam_service.dto;
+
+import io.github.bardiakz.exam_service.entity.BankQuestion;
+import io.github.bardiakz.exam_service.entity.Question;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BankQuestionResponse {
+    private Long id;
+    private String topic;
+    private BankQuestion.Difficulty difficulty;
+    private String text;
+    private Question.QuestionType type;
+    private List<String> options;
+    private String correctAnswer;
+    private Integer marks;
+    private String createdBy;
+    private LocalDateTime createdAt;
+
+    public BankQuestionResponse() {}
+
+    public BankQuestionResponse(Long id, String topic, BankQuestion.Difficulty difficulty, String text,
+                                Question.QuestionType type, List<String> options, String correctAnswer,
+                                Integer marks, String createdBy, LocalDateTime createdAt) {
+        this.id = id;
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.text = text;
+        this.type = type;
+        this.options = options;
+        this.correctAnswer = correctAnswer;
+        this.marks = marks;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public BankQuestion.Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(BankQuestion.Difficulty difficulty) { this.difficulty = difficulty; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public Question.QuestionType getType() { return type; }
+    public void setType(Question.QuestionType type) { this.type = type; }
+
+    public List<String> getOptions() { return options; }
+    public void setOptions(List<String> options) { this.options = options; }
+
+    public String getCorrectAnswer() { return correctAnswer; }
+    public void setCorrectAnswer(String correctAnswer) { this.correctAnswer = correctAnswer; }
+
+    public Integer getMarks() { return marks; }
+    public void setMarks(Integer marks) { this.marks = marks; }
+
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,17 @@
+package io.github.bardiakz.exam_service.dto;
+
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+public class DraftRequest {
+
+    // Answers changed since the last autosave; blank text clears an answer
+    @NotNull(message = "Answers are required")
+    @Size(min = 1, max = 200, message = "Draft update must have between 1 and 200 answers")
+    private List<AnswerDto> answers;
+
+    public DraftRequest() {}
+
+    public List<AnswerDto> getAnswers() { return answers; }
+    public void setAnswers(List<AnswerDto> answers) { this.answers = answers; }
+}
@@ -0,0 +1,27 @@
+package io.github.bardiakz.exam_service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DraftResponse {
+    private Long examId;
+    private List<AnswerDto> answers;
+    private LocalDateTime updatedAt;
+
+    public DraftResponse() {}
+
+    public DraftResponse(Long examId, List<AnswerDto> answers, LocalDateTime updatedAt) {
+        this.examId = examId;
+        this.answers = answers;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getExamId() { return examId; }
+    public void setExamId(Long examId) { this.examId = examId; }
+
+    public List<AnswerDto> getAnswers() { return answers; }
+    public void setAnswers(List<AnswerDto> answers) { this.answers = answers; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -28,10 +28,11 @@ public class ExamRequest {
     @Min(value = 1, message = "Total marks must be at least 1")
     private Integer totalMarks;
 
-    @NotNull(message = "Questions are required")
-    @Size(min = 1, message = "Exam must have at least one question")
+    // Either inline questions or question bank draws
     private List<QuestionDto> questions;
 
+    private List<BankDrawDto> bankDraws;
+
     public ExamRequest() {}
 
     public String getTitle() { return title; }
@@ -54,4 +55,7 @@ public class ExamRequest {
 
     public List<QuestionDto> getQuestions() { return questions; }
     public void setQuestions(List<QuestionDto> questions) { this.questions = questions; }
+
+    public List<BankDrawDto> getBankDraws() { return bankDraws; }
+    public void setBankDraws(List<BankDrawDto> bankDraws) { this.bankDraws = bankDraws; }
 }
\ No newline at end of file
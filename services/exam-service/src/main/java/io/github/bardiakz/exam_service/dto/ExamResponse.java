@@ -15,6 +15,7 @@ public class ExamResponse {
     private Integer totalMarks;
     private Exam.ExamStatus status;
     private List<QuestionDto> questions;
+    private List<BankDrawDto> bankDraws;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -68,6 +69,9 @@ public class ExamResponse {
     public List<QuestionDto> getQuestions() { return questions; }
     public void setQuestions(List<QuestionDto> questions) { this.questions = questions; }
 
+    public List<BankDrawDto> getBankDraws() { return bankDraws; }
+    public void setBankDraws(List<BankDrawDto> bankDraws) { this.bankDraws = bankDraws; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
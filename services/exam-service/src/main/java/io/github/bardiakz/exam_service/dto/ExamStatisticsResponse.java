@@ -0,0 +1,87 @@
+package io.github.bardiakz.exam_service.dto;
+
+import java.util.List;
+
+public class ExamStatisticsResponse {
+    private Long examId;
+    private Long submissions;
+    private Double meanScore;
+    private Double variance;
+    private Double standardDeviation;
+    private Integer minScore;
+    private Integer maxScore;
+    // Submissions per 10% band of the total score: [0-10%), [10-20%), ..., [90-100%]
+    private long[] histogram;
+    private List<QuestionStatistics> questions;
+
+    public ExamStatisticsResponse() {}
+
+    public ExamStatisticsResponse(Long examId, Long submissions, Double meanScore, Double variance,
+                                  Double standardDeviation, Integer minScore, Integer maxScore,
+                                  long[] histogram, List<QuestionStatistics> questions) {
+        this.examId = examId;
+        this.submissions = submissions;
+        this.meanScore = meanScore;
+        this.variance = variance;
+        this.standardDeviation = standardDeviation;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.histogram = histogram;
+        this.questions = questions;
+    }
+
+    public Long getExamId() { return examId; }
+    public void setExamId(Long examId) { this.examId = examId; }
+
+    public Long getSubmissions() { return submissions; }
+    public void setSubmissions(Long submissions) { this.submissions = submissions; }
+
+    public Double getMeanScore() { return meanScore; }
+    public void setMeanScore(Double meanScore) { this.meanScore = meanScore; }
+
+    public Double getVariance() { return variance; }
+    public void setVariance(Double variance) { this.variance = variance; }
+
+    public Double getStandardDeviation() { return standardDeviation; }
+    public void setStandardDeviation(Double standardDeviation) { this.standardDeviation = standardDeviation; }
+
+    public Integer getMinScore() { return minScore; }
+    public void setMinScore(Integer minScore) { this.minScore = minScore; }
+
+    public Integer getMaxScore() { return maxScore; }
+    public void setMaxScore(Integer maxScore) { this.maxScore = maxScore; }
+
+    public long[] getHistogram() { return histogram; }
+    public void setHistogram(long[] histogram) { this.histogram = histogram; }
+
+    public List<QuestionStatistics> getQuestions() { return questions; }
+    public void setQuestions(List<QuestionStatistics> questions) { this.questions = questions; }
+
+    public static class QuestionStatistics {
+        private Long questionId;
+        private Long attempts;
+        private Long correct;
+        private Double correctRate;
+
+        public QuestionStatistics() {}
+
+        public QuestionStatistics(Long questionId, Long attempts, Long correct, Double correctRate) {
+            this.questionId = questionId;
+            this.attempts = attempts;
+            this.correct = correct;
+            this.correctRate = correctRate;
+        }
+
+        public Long getQuestionId() { return questionId; }
+        public void setQuestionId(Long questionId) { this.questionId = questionId; }
+
+        public Long getAttempts() { return attempts; }
+        public void setAttempts(Long attempts) { this.attempts = attempts; }
+
+        public Long getCorrect() { return correct; }
+        public void setCorrect(Long correct) { this.correct = correct; }
+
+        public Double getCorrectRate() { return correctRate; }
+        public void setCorrectRate(Double correctRate) { this.correctRate = correctRate; }
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.bardiakz.exam_service.dto;
+
+public class RegradeResponse {
+    private Long examId;
+    private Integer submissions;
+    private Integer changed;
+    private Long durationMs;
+
+    public RegradeResponse() {}
+
+    public RegradeResponse(Long examId, Integer submissions, Integer changed, Long durationMs) {
+        this.examId = examId;
+        this.submissions = submissions;
+        this.changed = changed;
+        this.durationMs = durationMs;
+    }
+
+    public Long getExamId() { return examId; }
+    public void setExamId(Long examId) { this.examId = examId; }
+
+    public Integer getSubmissions() { return submissions; }
+    public void setSubmissions(Integer submissions) { this.submissions = submissions; }
+
+    public Integer getChanged() { return changed; }
+    public void setChanged(Integer changed) { this.changed = changed; }
+
+    public Long getDurationMs() { return durationMs; }
+    public void setDurationMs(Long durationMs) { this.durationMs = durationMs; }
+}
@@ -0,0 +1,42 @@
+package io.github.bardiakz.exam_service.dto;
+
+import java.time.LocalDateTime;
+
+public class SubmissionReceiptResponse {
+    private String receiptId;
+    private Long examId;
+    private String status;
+    private LocalDateTime receivedAt;
+    private Long submissionId;
+    private String error;
+
+    public SubmissionReceiptResponse() {}
+
+    public SubmissionReceiptResponse(String receiptId, Long examId, String status, LocalDateTime receivedAt,
+                                     Long submissionId, String error) {
+        this.receiptId = receiptId;
+        this.examId = examId;
+        this.status = status;
+        this.receivedAt = receivedAt;
+        this.submissionId = submissionId;
+        this.error = error;
+    }
+
+    public String getReceiptId() { return receiptId; }
+    public void setReceiptId(String receiptId) { this.receiptId = receiptId; }
+
+    public Long getExamId() { return examId; }
+    public void setExamId(Long examId) { this.examId = examId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getReceivedAt() { return receivedAt; }
+    public void setReceivedAt(LocalDateTime receivedAt) { this.receivedAt = receivedAt; }
+
+    public Long getSubmissionId() { return submissionId; }
+    public void setSubmissionId(Long submissionId) { this.submissionId = submissionId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
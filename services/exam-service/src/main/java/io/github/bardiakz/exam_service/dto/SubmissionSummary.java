@@ -0,0 +1,43 @@
+package io.github.bardiakz.exam_service.dto;
+
+import io.github.bardiakz.exam_service.entity.Submission;
+import java.time.LocalDateTime;
+
+/**
+ * Score/status projection of a submission, selected without touching answers
+ */
+public class SubmissionSummary {
+    private final Long id;
+    private final Long examId;
+    private final String studentId;
+    private final LocalDateTime submittedAt;
+    private final Submission.SubmissionStatus status;
+    private final Integer totalScore;
+    private final Integer obtainedScore;
+    private final LocalDateTime gradedAt;
+    private final String feedback;
+
+    public SubmissionSummary(Long id, Long examId, String studentId, LocalDateTime submittedAt,
+                             Submission.SubmissionStatus status, Integer totalScore, Integer obtainedScore,
+                             LocalDateTime gradedAt, String feedback) {
+        this.id = id;
+        this.examId = examId;
+        this.studentId = studentId;
+        this.submittedAt = submittedAt;
+        this.status = status;
+        this.totalScore = totalScore;
+        this.obtainedScore = obtainedScore;
+        this.gradedAt = gradedAt;
+        this.feedback = feedback;
+    }
+
+    public Long getId() { return id; }
+    public Long getExamId() { return examId; }
+    public String getStudentId() { return studentId; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public Submission.SubmissionStatus getStatus() { return status; }
+    public Integer getTotalScore() { return totalScore; }
+    public Integer getObtainedScore() { return obtainedScore; }
+    public LocalDateTime getGradedAt() { return gradedAt; }
+    public String getFeedback() { return feedback; }
+}
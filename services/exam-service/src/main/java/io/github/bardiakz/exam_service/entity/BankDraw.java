@@ -0,0 +1,39 @@
+package io.github.bardiakz.exam_service.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Exam rule: give every student {@code count} random bank questions of a topic and difficulty
+ */
+@Embeddable
+public class BankDraw {
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BankQuestion.Difficulty difficulty;
+
+    @Column(name = "question_count", nullable = false)
+    private Integer count;
+
+    // Constructors
+    public BankDraw() {}
+
+    public BankDraw(String topic, BankQuestion.Difficulty difficulty, Integer count) {
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public BankQuestion.Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(BankQuestion.Difficulty difficulty) { this.difficulty = difficulty; }
+
+    public Integer getCount() { return count; }
+    public void setCount(Integer count) { this.count = count; }
+}
@@ -0,0 +1,107 @@
+package io.github.bardiakz.exam_service.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable question shared by exams through BankDraw rules
+ *
+ * Bank questions are never edited in place: a change retires the old row and adds a new one,
+ * so the pool an exam drew from at publish time can always be rebuilt from createdAt/retiredAt.
+ */
+@Entity
+@Table(name = "bank_questions", indexes = {
+        @Index(name = "idx_bank_questions_topic_difficulty", columnList = "topic, difficulty"),
+        @Index(name = "idx_bank_questions_content_hash", columnList = "content_hash")
+})
+public class BankQuestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Difficulty difficulty;
+
+    @Column(nullable = false, length = 2000)
+    private String text;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Question.QuestionType type;
+
+    @ElementCollection
+    @CollectionTable(name = "bank_question_options", joinColumns = @JoinColumn(name = "bank_question_id"))
+    @Column(name = "option_text")
+    private List<String> options = new ArrayList<>();
+
+    @Column(nullable = false)
+    private String correctAnswer;
+
+    @Column(nullable = false)
+    private Integer marks;
+
+    // SHA-256 of the normalized content, used to deduplicate additions
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime retiredAt;
+
+    public enum Difficulty {
+        EASY,
+        MEDIUM,
+        HARD
+    }
+
+    // Constructors
+    public BankQuestion() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(Difficulty difficulty) { this.difficulty = difficulty; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public Question.QuestionType getType() { return type; }
+    public void setType(Question.QuestionType type) { this.type = type; }
+
+    public List<String> getOptions() { return options; }
+    public void setOptions(List<String> options) { this.options = options; }
+
+    public String getCorrectAnswer() { return correctAnswer; }
+    public void setCorrectAnswer(String correctAnswer) { this.correctAnswer = correctAnswer; }
+
+    public Integer getMarks() { return marks; }
+    public void setMarks(Integer marks) { this.marks = marks; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getRetiredAt() { return retiredAt; }
+    public void setRetiredAt(LocalDateTime retiredAt) { this.retiredAt = retiredAt; }
+}
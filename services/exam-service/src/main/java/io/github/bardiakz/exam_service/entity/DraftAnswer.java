@@ -0,0 +1,56 @@
+package io.github.bardiakz.exam_service.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Autosaved answer of an exam still in progress; written behind by DraftService
+ */
+@Entity
+@Table(name = "draft_answers", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"exam_id", "student_id", "question_id"})
+})
+public class DraftAnswer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "exam_id", nullable = false)
+    private Long examId;
+
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    // Empty when the student cleared the answer
+    @Column(nullable = false, length = 5000)
+    private String answerText;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public DraftAnswer() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getExamId() { return examId; }
+    public void setExamId(Long examId) { this.examId = examId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+
+    public String getAnswerText() { return answerText; }
+    public void setAnswerText(String answerText) { this.answerText = answerText; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
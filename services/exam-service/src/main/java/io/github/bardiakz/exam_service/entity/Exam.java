@@ -41,6 +41,17 @@ public class Exam {
     @OneToMany(mappedBy = "exam", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Question> questions = new ArrayList<>();
 
+    // Bank exams have no inline questions; each student gets a seeded draw per rule
+    @ElementCollection
+    @CollectionTable(name = "exam_bank_draws", joinColumns = @JoinColumn(name = "exam_id"))
+    @OrderColumn(name = "draw_index")
+    private List<BankDraw> bankDraws = new ArrayList<>();
+
+    private Long drawSeed;
+
+    // Bank contents the draws are taken from, fixed when the exam is published
+    private LocalDateTime bankSnapshotAt;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -94,6 +105,17 @@ public class Exam {
     public List<Question> getQuestions() { return questions; }
     public void setQuestions(List<Question> questions) { this.questions = questions; }
 
+    public List<BankDraw> getBankDraws() { return bankDraws; }
+    public void setBankDraws(List<BankDraw> bankDraws) { this.bankDraws = bankDraws; }
+
+    public boolean usesQuestionBank() { return !bankDraws.isEmpty(); }
+
+    public Long getDrawSeed() { return drawSeed; }
+    public void setDrawSeed(Long drawSeed) { this.drawSeed = drawSeed; }
+
+    public LocalDateTime getBankSnapshotAt() { return bankSnapshotAt; }
+    public void setBankSnapshotAt(LocalDateTime bankSnapshotAt) { this.bankSnapshotAt = bankSnapshotAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,91 @@
+package io.github.bardiakz.exam_service.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Durable record of an accepted submission waiting to be persisted and graded
+ */
+@Entity
+@Table(name = "submission_receipts", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"exam_id", "student_id"})
+}, indexes = {
+        @Index(name = "idx_submission_receipts_status", columnList = "status, received_at")
+})
+public class SubmissionReceipt {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "exam_id", nullable = false)
+    private Long examId;
+
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+
+    @Column(nullable = false)
+    private String studentEmail;
+
+    // Submitted answers as JSON (list of AnswerDto)
+    @Column(nullable = false, columnDefinition = "text")
+    private String answersJson;
+
+    // Deadline checks use this, not the time the receipt is processed
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReceiptStatus status = ReceiptStatus.PENDING;
+
+    @Column
+    private LocalDateTime claimedAt;
+
+    @Column
+    private Long submissionId;
+
+    @Column(length = 500)
+    private String error;
+
+    public enum ReceiptStatus {
+        PENDING,
+        PROCESSING,
+        PROCESSED,
+        REJECTED
+    }
+
+    // Constructors
+    public SubmissionReceipt() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Long getExamId() { return examId; }
+    public void setExamId(Long examId) { this.examId = examId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getStudentEmail() { return studentEmail; }
+    public void setStudentEmail(String studentEmail) { this.studentEmail = studentEmail; }
+
+    public String getAnswersJson() { return answersJson; }
+    public void setAnswersJson(String answersJson) { this.answersJson = answersJson; }
+
+    public LocalDateTime getReceivedAt() { return receivedAt; }
+    public void setReceivedAt(LocalDateTime receivedAt) { this.receivedAt = receivedAt; }
+
+    public ReceiptStatus getStatus() { return status; }
+    public void setStatus(ReceiptStatus status) { this.status = status; }
+
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+
+    public Long getSubmissionId() { return submissionId; }
+    public void setSubmissionId(Long submissionId) { this.submissionId = submissionId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -51,8 +51,10 @@ public class EventPublisher {
         try {
             rabbitTemplate.convertAndSend(exchangeName, routingKey, event);
             log.info("Published {} to key {}", event.getClass().getSimpleName(), routingKey);
-        } catch (Exception e) {
-            log.error("Failed to publish {}: {}", event.getClass().getSimpleName(), e.getMessage(), e);
+        } catch (RuntimeException e) {
+            log.error("Failed to publish {}: {}", event.getClass().getSimpleName(), e.getMessage());
+            // Rethrow so the circuit breaker records the failure and the event goes to the outbox
+            throw e;
         }
     }
 }
@@ -0,0 +1,52 @@
+package io.github.bardiakz.exam_service.repository;
+
+import io.github.bardiakz.exam_service.entity.BankQuestion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BankQuestionRepository extends JpaRepository<BankQuestion, Long> {
+
+    String AVAILABLE_AT = "b.topic = :topic AND b.difficulty = :difficulty " +
+            "AND b.createdAt <= :at AND (b.retiredAt IS NULL OR b.retiredAt > :at)";
+
+    Optional<BankQuestion> findFirstByContentHashAndRetiredAtIsNull(String contentHash);
+
+    /**
+     * Ids of the questions of a topic/difficulty that were in the bank at the given time, in id order
+     */
+    @Query("SELECT b.id FROM BankQuestion b WHERE " + AVAILABLE_AT + " ORDER BY b.id")
+    List<Long> findIdsAvailableAt(@Param("topic") String topic,
+                                  @Param("difficulty") BankQuestion.Difficulty difficulty,
+                                  @Param("at") LocalDateTime at);
+
+    @Query("SELECT COUNT(b) FROM BankQuestion b WHERE " + AVAILABLE_AT)
+    long countAvailableAt(@Param("topic") String topic,
+                          @Param("difficulty") BankQuestion.Difficulty difficulty,
+                          @Param("at") LocalDateTime at);
+
+    @Query("SELECT DISTINCT b.marks FROM BankQuestion b WHERE " + AVAILABLE_AT)
+    List<Integer> findDistinctMarksAvailableAt(@Param("topic") String topic,
+                                               @Param("difficulty") BankQuestion.Difficulty difficulty,
+                                               @Param("at") LocalDateTime at);
+
+    @Query("SELECT DISTINCT b FROM BankQuestion b LEFT JOIN FETCH b.options WHERE b.id IN :ids")
+    List<BankQuestion> findWithOptionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT b FROM BankQuestion b WHERE b.retiredAt IS NULL " +
+            "AND (:topic IS NULL OR b.topic = :topic) AND (:difficulty IS NULL OR b.difficulty = :difficulty)",
+            countQuery = "SELECT COUNT(b) FROM BankQuestion b WHERE b.retiredAt IS NULL " +
+                    "AND (:topic IS NULL OR b.topic = :topic) AND (:difficulty IS NULL OR b.difficulty = :difficulty)")
+    Page<BankQuestion> search(@Param("topic") String topic,
+                              @Param("difficulty") BankQuestion.Difficulty difficulty,
+                              Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package io.github.bardiakz.exam_service.repository;
+
+import io.github.bardiakz.exam_service.entity.DraftAnswer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Batched upsert of autosaved answers, one row per (exam, student, question)
+ */
+@Repository
+public class DraftAnswerBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO draft_answers (exam_id, student_id, question_id, answer_text, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (exam_id, student_id, question_id)
+            DO UPDATE SET answer_text = EXCLUDED.answer_text, updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DraftAnswerBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsertAll(List<DraftAnswer> answers) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, answers, BATCH_SIZE, (ps, answer) -> {
+            ps.setLong(1, answer.getExamId());
+            ps.setString(2, answer.getStudentId());
+            ps.setLong(3, answer.getQuestionId());
+            ps.setString(4, answer.getAnswerText());
+            ps.setTimestamp(5, Timestamp.valueOf(answer.getUpdatedAt()));
+        });
+    }
+}
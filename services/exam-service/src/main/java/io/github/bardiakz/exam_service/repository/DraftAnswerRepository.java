@@ -0,0 +1,22 @@
+package io.github.bardiakz.exam_service.repository;
+
+import io.github.bardiakz.exam_service.entity.DraftAnswer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface DraftAnswerRepository extends JpaRepository<DraftAnswer, Long> {
+
+    List<DraftAnswer> findByExamIdAndStudentId(Long examId, String studentId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DraftAnswer d WHERE d.examId = :examId AND d.studentId = :studentId")
+    int deleteDraft(@Param("examId") Long examId, @Param("studentId") String studentId);
+}
@@ -2,25 +2,50 @@ package io.github.bardiakz.exam_service.repository;
 
 import io.github.bardiakz.exam_service.entity.Exam;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
 
     List<Exam> findByInstructorId(String instructorId);
 
+    @Query("SELECT DISTINCT e FROM Exam e LEFT JOIN FETCH e.questions WHERE e.id = :id")
+    Optional<Exam> findWithQuestionsById(@Param("id") Long id);
+
     List<Exam> findByStatus(Exam.ExamStatus status);
 
+    List<Exam> findByStatusIn(Collection<Exam.ExamStatus> statuses);
+
     @Query("SELECT e FROM Exam e WHERE e.startTime <= :now AND e.endTime >= :now AND e.status = 'ACTIVE'")
     List<Exam> findActiveExams(@Param("now") LocalDateTime now);
 
     @Query("SELECT e FROM Exam e WHERE e.startTime <= :now AND e.endTime >= :now AND e.status = 'SCHEDULED'")
-    List<Exam> findScheduledExamsToActivate(@Param("now") LocalDateTime now);
+    List<Exam> findExamsToActivate(@Param("now") LocalDateTime now);
+
+    @Query("SELECT e FROM Exam e WHERE e.endTime < :now AND e.status IN ('SCHEDULED', 'ACTIVE')")
+    List<Exam> findExamsToClose(@Param("now") LocalDateTime now);
+
+    /**
+     * Move an exam to a new status only if it is still in one of the expected ones
+     *
+     * @return 1 if the transition happened, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Exam e SET e.status = :to, e.updatedAt = :now WHERE e.id = :id AND e.status IN :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") Collection<Exam.ExamStatus> from,
+                   @Param("to") Exam.ExamStatus to,
+                   @Param("now") LocalDateTime now);
 
     @Query("SELECT e FROM Exam e WHERE e.startTime > :now AND e.status = 'SCHEDULED'")
     List<Exam> findUpcomingExams(@Param("now") LocalDateTime now);
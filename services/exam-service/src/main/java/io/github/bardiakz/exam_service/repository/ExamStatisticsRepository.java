@@ -0,0 +1,54 @@
+package io.github.bardiakz.exam_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads used to rebuild in-memory exam statistics after a restart
+ *
+ * Both reads must run in one REPEATABLE READ transaction so they see the same
+ * submissions.
+ */
+@Repository
+public class ExamStatisticsRepository {
+
+    private static final String SCORES_SQL = """
+            SELECT id, obtained_score, total_score FROM submissions
+            WHERE exam_id = ? AND status = 'GRADED'
+            """;
+
+    private static final String QUESTIONS_SQL = """
+            SELECT a.question_id, COUNT(*) AS attempts, COUNT(*) FILTER (WHERE a.is_correct) AS correct
+            FROM answers a
+            JOIN submissions s ON s.id = a.submission_id
+            WHERE s.exam_id = ? AND a.is_correct IS NOT NULL
+            GROUP BY a.question_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExamStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void forEachScore(Long examId, ScoreConsumer consumer) {
+        jdbcTemplate.query(SCORES_SQL, (RowCallbackHandler) rs ->
+                consumer.accept(rs.getLong("id"), rs.getInt("obtained_score"), rs.getInt("total_score")), examId);
+    }
+
+    public void forEachQuestion(Long examId, QuestionConsumer consumer) {
+        jdbcTemplate.query(QUESTIONS_SQL, (RowCallbackHandler) rs ->
+                consumer.accept(rs.getLong("question_id"), rs.getLong("attempts"), rs.getLong("correct")), examId);
+    }
+
+    @FunctionalInterface
+    public interface ScoreConsumer {
+        void accept(long submissionId, int obtainedScore, int totalScore);
+    }
+
+    @FunctionalInterface
+    public interface QuestionConsumer {
+        void accept(long questionId, long attempts, long correct);
+    }
+}
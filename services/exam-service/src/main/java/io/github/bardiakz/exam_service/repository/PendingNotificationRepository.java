@@ -0,0 +1,20 @@
+package io.github.bardiakz.exam_service.repository;
+
+import io.github.bardiakz.exam_service.entity.PendingNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PendingNotificationRepository extends JpaRepository<PendingNotification, Long> {
+
+    /**
+     * Oldest pending notifications, skipping rows another instance is replaying
+     */
+    @Query(value = "SELECT * FROM notification_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<PendingNotification> lockOldest(@Param("limit") int limit);
+}
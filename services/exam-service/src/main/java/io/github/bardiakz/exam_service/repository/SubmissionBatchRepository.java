@@ -0,0 +1,169 @@
+package io.github.bardiakz.exam_service.repository;
+
+import io.github.bardiakz.exam_service.entity.Answer;
+import io.github.bardiakz.exam_service.entity.Submission;
+import io.github.bardiakz.exam_service.entity.SubmissionReceipt;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch operations for queued submission ingestion
+ */
+@Repository
+public class SubmissionBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String CLAIM_SQL = """
+            UPDATE submission_receipts SET status = 'PROCESSING', claimed_at = ?
+            WHERE id IN (
+                SELECT id FROM submission_receipts
+                WHERE status = 'PENDING'
+                ORDER BY received_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, exam_id, student_id, student_email, answers_json, received_at
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE submission_receipts SET status = 'PENDING', claimed_at = NULL
+            WHERE status = 'PROCESSING' AND claimed_at < ?
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE submission_receipts SET status = ?, submission_id = ?, error = ?
+            WHERE id = ?
+            """;
+
+    private static final String INSERT_SUBMISSION_SQL = """
+            INSERT INTO submissions (exam_id, student_id, submitted_at, status, total_score,
+                                     obtained_score, graded_at, feedback, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ANSWER_SQL = """
+            INSERT INTO answers (submission_id, question_id, answer_text, is_correct, marks_awarded)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SubmissionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Atomically move up to {@code limit} pending receipts to PROCESSING, oldest first
+     */
+    public List<SubmissionReceipt> claimReceipts(int limit, LocalDateTime now) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> {
+            SubmissionReceipt receipt = new SubmissionReceipt();
+            receipt.setId(rs.getString("id"));
+            receipt.setExamId(rs.getLong("exam_id"));
+            receipt.setStudentId(rs.getString("student_id"));
+            receipt.setStudentEmail(rs.getString("student_email"));
+            receipt.setAnswersJson(rs.getString("answers_json"));
+            receipt.setReceivedAt(rs.getTimestamp("received_at").toLocalDateTime());
+            receipt.setStatus(SubmissionReceipt.ReceiptStatus.PROCESSING);
+            return receipt;
+        }, Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * Return receipts claimed before {@code claimedBefore} (e.g. by a crashed worker) to the queue
+     */
+    public int releaseStaleClaims(LocalDateTime claimedBefore) {
+        return jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(claimedBefore));
+    }
+
+    /**
+     * Store the outcome of processed receipts (status, submission id and error are read from each receipt)
+     */
+    public void completeReceipts(List<SubmissionReceipt> receipts) {
+        jdbcTemplate.batchUpdate(COMPLETE_SQL, receipts, BATCH_SIZE, (ps, receipt) -> {
+            ps.setString(1, receipt.getStatus().name());
+            setNullableLong(ps, 2, receipt.getSubmissionId());
+            ps.setString(3, receipt.getError());
+            ps.setString(4, receipt.getId());
+        });
+    }
+
+    /**
+     * Insert graded submissions and their answers in two batches; assigns submission ids
+     */
+    public void insertAll(List<Submission> submissions) {
+        if (submissions.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SUBMISSION_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Submission submission = submissions.get(i);
+                        ps.setLong(1, submission.getExamId());
+                        ps.setString(2, submission.getStudentId());
+                        ps.setTimestamp(3, Timestamp.valueOf(submission.getSubmittedAt()));
+                        ps.setString(4, submission.getStatus().name());
+                        ps.setInt(5, submission.getTotalScore());
+                        ps.setInt(6, submission.getObtainedScore());
+                        ps.setTimestamp(7, Timestamp.valueOf(submission.getGradedAt()));
+                        ps.setString(8, submission.getFeedback());
+                        ps.setTimestamp(9, Timestamp.valueOf(submission.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return submissions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Answer> answers = new ArrayList<>();
+        for (int i = 0; i < submissions.size(); i++) {
+            Submission submission = submissions.get(i);
+            submission.setId(((Number) keys.get(i).get("id")).longValue());
+            answers.addAll(submission.getAnswers());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ANSWER_SQL, answers, BATCH_SIZE, (ps, answer) -> {
+            ps.setLong(1, answer.getSubmission().getId());
+            ps.setLong(2, answer.getQuestionId());
+            ps.setString(3, answer.getAnswerText());
+            if (answer.getIsCorrect() == null) {
+                ps.setNull(4, Types.BOOLEAN);
+            } else {
+                ps.setBoolean(4, answer.getIsCorrect());
+            }
+            if (answer.getMarksAwarded() == null) {
+                ps.setNull(5, Types.INTEGER);
+            } else {
+                ps.setInt(5, answer.getMarksAwarded());
+            }
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
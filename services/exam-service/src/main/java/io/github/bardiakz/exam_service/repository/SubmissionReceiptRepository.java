@@ -0,0 +1,24 @@
+package io.github.bardiakz.exam_service.repository;
+
+import io.github.bardiakz.exam_service.entity.SubmissionReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SubmissionReceiptRepository extends JpaRepository<SubmissionReceipt, String> {
+
+    boolean existsByExamIdAndStudentId(Long examId, String studentId);
+
+    Optional<SubmissionReceipt> findByExamIdAndStudentId(Long examId, String studentId);
+
+    // A rejected receipt must not block the student's next attempt
+    @Modifying
+    @Query("DELETE FROM SubmissionReceipt r WHERE r.examId = :examId AND r.studentId = :studentId AND r.status = :status")
+    int deleteByStatus(@Param("examId") Long examId, @Param("studentId") String studentId,
+                       @Param("status") SubmissionReceipt.ReceiptStatus status);
+}
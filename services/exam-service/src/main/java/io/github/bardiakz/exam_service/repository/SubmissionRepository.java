@@ -1,9 +1,15 @@
 package io.github.bardiakz.exam_service.repository;
 
+import io.github.bardiakz.exam_service.dto.SubmissionSummary;
 import io.github.bardiakz.exam_service.entity.Submission;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,5 +22,34 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
 
     List<Submission> findByExamId(Long examId);
 
+    @Query("SELECT DISTINCT s FROM Submission s LEFT JOIN FETCH s.answers WHERE s.examId = :examId")
+    List<Submission> findWithAnswersByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT DISTINCT s FROM Submission s LEFT JOIN FETCH s.answers WHERE s.studentId = :studentId")
+    List<Submission> findWithAnswersByStudentId(@Param("studentId") String studentId);
+
+    @Query("SELECT DISTINCT s FROM Submission s LEFT JOIN FETCH s.answers WHERE s.id IN :ids")
+    List<Submission> findWithAnswersByIdIn(@Param("ids") Collection<Long> ids);
+
+    String SUMMARY_SELECT = "SELECT new io.github.bardiakz.exam_service.dto.SubmissionSummary(" +
+            "s.id, s.examId, s.studentId, s.submittedAt, s.status, s.totalScore, s.obtainedScore, s.gradedAt, s.feedback) " +
+            "FROM Submission s ";
+
+    @Query(value = SUMMARY_SELECT + "WHERE s.examId = :examId",
+            countQuery = "SELECT COUNT(s) FROM Submission s WHERE s.examId = :examId")
+    Page<SubmissionSummary> findSummariesByExamId(@Param("examId") Long examId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE s.studentId = :studentId",
+            countQuery = "SELECT COUNT(s) FROM Submission s WHERE s.studentId = :studentId")
+    Page<SubmissionSummary> findSummariesByStudentId(@Param("studentId") String studentId, Pageable pageable);
+
     boolean existsByExamIdAndStudentId(Long examId, String studentId);
+
+    /**
+     * "examId:studentId" of existing submissions among the given exams and students
+     */
+    @Query("SELECT CONCAT(s.examId, ':', s.studentId) FROM Submission s " +
+            "WHERE s.examId IN :examIds AND s.studentId IN :studentIds")
+    List<String> findExamStudentPairs(@Param("examIds") Collection<Long> examIds,
+                                      @Param("studentIds") Collection<String> studentIds);
 }
\ No newline at end of file
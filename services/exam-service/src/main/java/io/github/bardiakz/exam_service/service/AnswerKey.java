@@ -0,0 +1,105 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.dto.QuestionDto;
+import io.github.bardiakz.exam_service.entity.Question;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable grading key for one exam: question id -> normalized correct answer and marks
+ *
+ * Question ids are kept sorted in a primitive array and looked up by binary search,
+ * so grading an answer never touches the Question entities.
+ */
+public final class AnswerKey {
+
+    private final Long examId;
+    private final long[] questionIds;
+    // Normalized correct answer, or null when the question is graded manually
+    private final String[] correctAnswers;
+    private final int[] marks;
+
+    private AnswerKey(Long examId, long[] questionIds, String[] correctAnswers, int[] marks) {
+        this.examId = examId;
+        this.questionIds = questionIds;
+        this.correctAnswers = correctAnswers;
+        this.marks = marks;
+    }
+
+    public static AnswerKey of(Long examId, List<Question> questions) {
+        return build(examId, questions, Question::getId, Question::getType,
+                Question::getCorrectAnswer, Question::getMarks);
+    }
+
+    /**
+     * Key over a bank exam's whole pool; which of these a student may answer is checked on submission
+     */
+    public static AnswerKey fromBank(Long examId, Collection<QuestionDto> pool) {
+        return build(examId, pool, QuestionDto::getId, QuestionDto::getType,
+                QuestionDto::getCorrectAnswer, QuestionDto::getMarks);
+    }
+
+    private static <Q> AnswerKey build(Long examId, Collection<Q> questions, ToLongFunction<Q> id,
+                                       Function<Q, Question.QuestionType> type,
+                                       Function<Q, String> correctAnswer, ToIntFunction<Q> questionMarks) {
+        List<Q> sorted = questions.stream()
+                .sorted(Comparator.comparingLong(id))
+                .toList();
+
+        int size = sorted.size();
+        long[] questionIds = new long[size];
+        String[] correctAnswers = new String[size];
+        int[] marks = new int[size];
+        for (int i = 0; i < size; i++) {
+            Q question = sorted.get(i);
+            questionIds[i] = id.applyAsLong(question);
+            marks[i] = questionMarks.applyAsInt(question);
+            if (isAutoGraded(type.apply(question))) {
+                correctAnswers[i] = normalize(correctAnswer.apply(question));
+            }
+        }
+        return new AnswerKey(examId, questionIds, correctAnswers, marks);
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    /**
+     * Index of a question in this key, or a negative value if the exam has no such question
+     */
+    public int indexOf(long questionId) {
+        return Arrays.binarySearch(questionIds, questionId);
+    }
+
+    public boolean isAutoGraded(int index) {
+        return correctAnswers[index] != null;
+    }
+
+    public boolean isCorrect(int index, String answerText) {
+        return answerText != null && correctAnswers[index].equals(normalize(answerText));
+    }
+
+    public int marks(int index) {
+        return marks[index];
+    }
+
+    private static boolean isAutoGraded(Question.QuestionType type) {
+        return type == Question.QuestionType.MULTIPLE_CHOICE || type == Question.QuestionType.TRUE_FALSE;
+    }
+
+    private static String normalize(String answer) {
+        return answer.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,282 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.dto.AnswerDto;
+import io.github.bardiakz.exam_service.dto.DraftResponse;
+import io.github.bardiakz.exam_service.dto.SubmissionRequest;
+import io.github.bardiakz.exam_service.dto.SubmissionResponse;
+import io.github.bardiakz.exam_service.entity.DraftAnswer;
+import io.github.bardiakz.exam_service.repository.DraftAnswerBatchRepository;
+import io.github.bardiakz.exam_service.repository.DraftAnswerRepository;
+import io.github.bardiakz.exam_service.repository.SubmissionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Autosave of answers while an exam is in progress
+ *
+ * Each answer change only updates an in-memory draft; a scheduled flush writes
+ * the changed answers to draft_answers in one batched upsert. Final submission
+ * then just seals the draft through SubmissionService.
+ */
+@Service
+public class DraftService {
+    private static final Logger log = LoggerFactory.getLogger(DraftService.class);
+
+    // Length of the draft_answers.answer_text column
+    private static final int MAX_ANSWER_LENGTH = 5000;
+
+    private final Map<DraftKey, Draft> drafts = new ConcurrentHashMap<>();
+    // Held by a flush and while a sealed draft is deleted, so a flush never re-inserts it
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final DraftAnswerRepository draftAnswerRepository;
+    private final DraftAnswerBatchRepository draftAnswerBatchRepository;
+    private final SubmissionRepository submissionRepository;
+    private final ExamService examService;
+    private final SubmissionService submissionService;
+    private final long idleEvictionMillis;
+
+    public DraftService(DraftAnswerRepository draftAnswerRepository,
+                        DraftAnswerBatchRepository draftAnswerBatchRepository,
+                        SubmissionRepository submissionRepository,
+                        ExamService examService,
+                        SubmissionService submissionService,
+                        @Value("${exam.drafts.idle-eviction-minutes:30}") long idleEvictionMinutes) {
+        this.draftAnswerRepository = draftAnswerRepository;
+        this.draftAnswerBatchRepository = draftAnswerBatchRepository;
+        this.submissionRepository = submissionRepository;
+        this.examService = examService;
+        this.submissionService = submissionService;
+        this.idleEvictionMillis = idleEvictionMinutes * 60_000;
+    }
+
+    public DraftResponse saveAnswers(Long examId, String studentId, List<AnswerDto> answers) {
+        ExamViewCache.StudentExamView exam = examService.getStudentExamView(examId);
+        if (!exam.acceptsAnswers(LocalDateTime.now())) {
+            throw new IllegalStateException("This exam is not accepting answers");
+        }
+        LongPredicate questions = exam.questionsOf(studentId);
+        for (AnswerDto answer : answers) {
+            if (answer.getQuestionId() == null || !questions.test(answer.getQuestionId())) {
+                throw new IllegalArgumentException("Question not found: " + answer.getQuestionId());
+            }
+            if (answer.getAnswerText() != null && answer.getAnswerText().length() > MAX_ANSWER_LENGTH) {
+                throw new IllegalArgumentException("Answer to question " + answer.getQuestionId()
+                        + " exceeds " + MAX_ANSWER_LENGTH + " characters");
+            }
+        }
+
+        DraftKey key = new DraftKey(examId, studentId);
+        while (true) {
+            Draft draft = draftFor(key);
+            synchronized (draft) {
+                if (draft.retired) {
+                    continue;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                for (AnswerDto answer : answers) {
+                    String text = answer.getAnswerText() == null ? "" : answer.getAnswerText();
+                    draft.answers.put(answer.getQuestionId(), text);
+                    draft.dirty.put(answer.getQuestionId(), text);
+                }
+                draft.updatedAt = now;
+                draft.lastTouched = System.currentTimeMillis();
+                return draft.toResponse(examId);
+            }
+        }
+    }
+
+    public DraftResponse getDraft(Long examId, String studentId) {
+        DraftKey key = new DraftKey(examId, studentId);
+        while (true) {
+            Draft draft = draftFor(key);
+            synchronized (draft) {
+                if (!draft.retired) {
+                    draft.lastTouched = System.currentTimeMillis();
+                    return draft.toResponse(examId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Submit the autosaved answers as the final submission and discard the draft
+     */
+    public SubmissionResponse submitDraft(Long examId, String studentId, String studentEmail) {
+        DraftKey key = new DraftKey(examId, studentId);
+        DraftResponse snapshot = getDraft(examId, studentId);
+        if (snapshot.getAnswers().isEmpty()) {
+            throw new IllegalArgumentException("Draft has no answers to submit");
+        }
+
+        SubmissionResponse response = submissionService.submitExam(
+                new SubmissionRequest(examId, snapshot.getAnswers()), studentId, studentEmail);
+        discard(key);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${exam.drafts.flush-interval-ms:2000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<DraftAnswer> rows = new ArrayList<>();
+            Map<DraftKey, List<DraftAnswer>> rowsByDraft = new HashMap<>();
+            Map<DraftKey, Map<Long, String>> flushed = new HashMap<>();
+            long idleBefore = System.currentTimeMillis() - idleEvictionMillis;
+
+            drafts.forEach((key, draft) -> {
+                synchronized (draft) {
+                    if (draft.dirty.isEmpty()) {
+                        if (draft.lastTouched < idleBefore) {
+                            draft.retired = true;
+                            drafts.remove(key, draft);
+                        }
+                        return;
+                    }
+                    List<DraftAnswer> draftRows = new ArrayList<>(draft.dirty.size());
+                    draft.dirty.forEach((questionId, text) -> draftRows.add(toRow(key, questionId, text, draft.updatedAt)));
+                    rows.addAll(draftRows);
+                    rowsByDraft.put(key, draftRows);
+                    flushed.put(key, new HashMap<>(draft.dirty));
+                    draft.dirty.clear();
+                }
+            });
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            try {
+                draftAnswerBatchRepository.upsertAll(rows);
+                log.debug("Flushed {} draft answers for {} students", rows.size(), flushed.size());
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} draft answers in one batch, retrying per draft: {}", rows.size(), e.getMessage());
+                flushPerDraft(rowsByDraft, flushed);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Draft draftFor(DraftKey key) {
+        Draft draft = drafts.get(key);
+        if (draft != null) {
+            return draft;
+        }
+
+        if (submissionRepository.existsByExamIdAndStudentId(key.examId(), key.studentId())) {
+            throw new IllegalStateException("You have already submitted this exam");
+        }
+        Draft loaded = new Draft();
+        for (DraftAnswer row : draftAnswerRepository.findByExamIdAndStudentId(key.examId(), key.studentId())) {
+            loaded.answers.put(row.getQuestionId(), row.getAnswerText());
+            if (loaded.updatedAt == null || row.getUpdatedAt().isAfter(loaded.updatedAt)) {
+                loaded.updatedAt = row.getUpdatedAt();
+            }
+        }
+        loaded.lastTouched = System.currentTimeMillis();
+
+        Draft existing = drafts.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void discard(DraftKey key) {
+        flushLock.lock();
+        try {
+            Draft draft = drafts.remove(key);
+            if (draft != null) {
+                synchronized (draft) {
+                    draft.retired = true;
+                    draft.dirty.clear();
+                }
+            }
+            draftAnswerRepository.deleteDraft(key.examId(), key.studentId());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Upsert each draft on its own, so one draft the database rejects can't keep every other
+     * student's answers from being saved; drafts that still fail are retried next cycle
+     */
+    private void flushPerDraft(Map<DraftKey, List<DraftAnswer>> rowsByDraft, Map<DraftKey, Map<Long, String>> flushed) {
+        Map<DraftKey, Map<Long, String>> failed = new HashMap<>();
+        rowsByDraft.forEach((key, draftRows) -> {
+            try {
+                draftAnswerBatchRepository.upsertAll(draftRows);
+            } catch (RuntimeException e) {
+                log.error("Failed to flush draft of student {} for exam {}, retrying next cycle: {}",
+                        key.studentId(), key.examId(), e.getMessage());
+                failed.put(key, flushed.get(key));
+            }
+        });
+        restoreDirty(failed);
+    }
+
+    private void restoreDirty(Map<DraftKey, Map<Long, String>> flushed) {
+        flushed.forEach((key, answers) -> {
+            Draft draft = drafts.get(key);
+            if (draft == null) {
+                return;
+            }
+            synchronized (draft) {
+                // Newer edits made during the failed flush win
+                answers.forEach(draft.dirty::putIfAbsent);
+            }
+        });
+    }
+
+    private static DraftAnswer toRow(DraftKey key, Long questionId, String text, LocalDateTime updatedAt) {
+        DraftAnswer row = new DraftAnswer();
+        row.setExamId(key.examId());
+        row.setStudentId(key.studentId());
+        row.setQuestionId(questionId);
+        row.setAnswerText(text);
+        row.setUpdatedAt(updatedAt);
+        return row;
+    }
+
+    private record DraftKey(Long examId, String studentId) {}
+
+    /**
+     * One student's answers for one exam; guarded by its own monitor
+     */
+    private static final class Draft {
+        private final Map<Long, String> answers = new TreeMap<>();
+        // Changed since the last flush
+        private final Map<Long, String> dirty = new HashMap<>();
+        private LocalDateTime updatedAt;
+        private long lastTouched;
+        // Evicted or submitted; callers must look the draft up again
+        private boolean retired;
+
+        private DraftResponse toResponse(Long examId) {
+            List<AnswerDto> answerDtos = new ArrayList<>();
+            answers.forEach((questionId, text) -> {
+                if (!text.isBlank()) {
+                    answerDtos.add(new AnswerDto(null, questionId, text, null, null));
+                }
+            });
+            return new DraftResponse(examId, answerDtos, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.entity.Exam;
+import io.github.bardiakz.exam_service.event.ExamStartedEvent;
+import io.github.bardiakz.exam_service.repository.ExamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Activates and closes exams at their start and end times
+ *
+ * Each published exam gets two timers on the task scheduler. Transitions are
+ * conditional updates, so a transition happens once even when a timer and the
+ * periodic sweep (or another instance) race for it. The sweep also covers
+ * exams published by other instances or missed while the service was down.
+ * Local caches are evicted whichever instance won the transition, since each
+ * instance holds its own copies.
+ */
+@Component
+public class ExamLifecycleScheduler {
+    private static final Logger log = LoggerFactory.getLogger(ExamLifecycleScheduler.class);
+
+    public static final String ACTIVE_EXAMS_CACHE = "activeExams";
+    public static final String UPCOMING_EXAMS_CACHE = "upcomingExams";
+
+    private final ExamRepository examRepository;
+    private final NotificationService notificationService;
+    private final ExamViewCache examViewCache;
+    private final ExamStatisticsService statisticsService;
+    private final QuestionBankService questionBankService;
+    private final GradingService gradingService;
+    private final CacheManager cacheManager;
+    private final TaskScheduler taskScheduler;
+
+    private final Map<Long, ScheduledFuture<?>> activations = new ConcurrentHashMap<>();
+    private final Map<Long, ScheduledFuture<?>> closures = new ConcurrentHashMap<>();
+
+    public ExamLifecycleScheduler(ExamRepository examRepository,
+                                  NotificationService notificationService,
+                                  ExamViewCache examViewCache,
+                                  ExamStatisticsService statisticsService,
+                                  QuestionBankService questionBankService,
+                                  GradingService gradingService,
+                                  CacheManager cacheManager,
+                                  TaskScheduler taskScheduler) {
+        this.examRepository = examRepository;
+        this.notificationService = notificationService;
+        this.examViewCache = examViewCache;
+        this.statisticsService = statisticsService;
+        this.questionBankService = questionBankService;
+        this.gradingService = gradingService;
+        this.cacheManager = cacheManager;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleExisting() {
+        sweep();
+        List<Exam> exams = examRepository.findByStatusIn(EnumSet.of(Exam.ExamStatus.SCHEDULED, Exam.ExamStatus.ACTIVE));
+        exams.forEach(this::schedule);
+        log.info("Scheduled lifecycle transitions for {} exams", exams.size());
+    }
+
+    /**
+     * Schedule a newly published exam once the publishing transaction commits
+     */
+    public void schedulePublished(Exam exam) {
+        Long examId = exam.getId();
+        LocalDateTime startTime = exam.getStartTime();
+        LocalDateTime endTime = exam.getEndTime();
+
+        Runnable afterCommit = () -> {
+            evictListings();
+            schedule(examId, Exam.ExamStatus.SCHEDULED, startTime, endTime);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    afterCommit.run();
+                }
+            });
+        } else {
+            afterCommit.run();
+        }
+    }
+
+    /**
+     * Safety net for transitions whose timer did not fire on this instance, and pick-up of
+     * exams published on other instances so this one also evicts its caches when they start and end
+     */
+    @Scheduled(fixedDelayString = "${exam.lifecycle.sweep-interval-ms:30000}",
+            initialDelayString = "${exam.lifecycle.sweep-interval-ms:30000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        examRepository.findExamsToActivate(now).forEach(exam -> activate(exam.getId()));
+        examRepository.findExamsToClose(now).forEach(exam -> close(exam.getId()));
+
+        List<Exam> unknown = examRepository.findByStatusIn(EnumSet.of(Exam.ExamStatus.SCHEDULED, Exam.ExamStatus.ACTIVE))
+                .stream()
+                .filter(exam -> !closures.containsKey(exam.getId()))
+                .toList();
+        if (!unknown.isEmpty()) {
+            unknown.forEach(this::schedule);
+            evictListings();
+        }
+    }
+
+    private void schedule(Exam exam) {
+        schedule(exam.getId(), exam.getStatus(), exam.getStartTime(), exam.getEndTime());
+    }
+
+    private void schedule(Long examId, Exam.ExamStatus status, LocalDateTime startTime, LocalDateTime endTime) {
+        if (status == Exam.ExamStatus.SCHEDULED) {
+            replace(activations, examId, taskScheduler.schedule(() -> activate(examId), toInstant(startTime)));
+        }
+        replace(closures, examId, taskScheduler.schedule(() -> close(examId), toInstant(endTime)));
+    }
+
+    private void activate(Long examId) {
+        activations.remove(examId);
+        LocalDateTime now = LocalDateTime.now();
+        boolean won = examRepository.transition(examId, EnumSet.of(Exam.ExamStatus.SCHEDULED),
+                Exam.ExamStatus.ACTIVE, now) > 0;
+        examViewCache.invalidate(examId);
+        evictListings();
+        if (!won) {
+            return;
+        }
+        log.info("Exam {} is now active", examId);
+
+        examRepository.findById(examId).ifPresent(exam -> notificationService.notifyExamStart(new ExamStartedEvent(
+                "ExamStarted",
+                exam.getId(),
+                exam.getTitle(),
+                exam.getInstructorId(),
+                exam.getStartTime(),
+                exam.getDurationMinutes(),
+                exam.getTotalMarks(),
+                now
+        )));
+    }
+
+    private void close(Long examId) {
+        closures.remove(examId);
+        ScheduledFuture<?> activation = activations.remove(examId);
+        if (activation != null) {
+            activation.cancel(false);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean won = examRepository.transition(examId, EnumSet.of(Exam.ExamStatus.SCHEDULED, Exam.ExamStatus.ACTIVE),
+                Exam.ExamStatus.COMPLETED, now) > 0;
+        examViewCache.invalidate(examId);
+        // Final statistics are rebuilt from the database once no more submissions arrive
+        statisticsService.invalidate(examId);
+        questionBankService.evict(examId);
+        gradingService.evict(examId);
+        evictListings();
+        if (won) {
+            log.info("Exam {} is now completed", examId);
+        }
+    }
+
+    private void evictListings() {
+        clear(ACTIVE_EXAMS_CACHE);
+        clear(UPCOMING_EXAMS_CACHE);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static void replace(Map<Long, ScheduledFuture<?>> timers, Long examId, ScheduledFuture<?> timer) {
+        ScheduledFuture<?> previous = timers.put(examId, timer);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
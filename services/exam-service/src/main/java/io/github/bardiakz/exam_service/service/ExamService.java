@@ -1,5 +1,7 @@
 package io.github.bardiakz.exam_service.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bardiakz.exam_service.dto.*;
 import io.github.bardiakz.exam_service.entity.Exam;
 import io.github.bardiakz.exam_service.entity.Question;
@@ -9,12 +11,17 @@ import io.github.bardiakz.exam_service.exception.UnauthorizedException;
 import io.github.bardiakz.exam_service.repository.ExamRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,10 +30,26 @@ public class ExamService {
 
     private final ExamRepository examRepository;
     private final NotificationService notificationService;
-
-    public ExamService(ExamRepository examRepository, NotificationService notificationService) {
+    private final GradingService gradingService;
+    private final ExamViewCache examViewCache;
+    private final ExamLifecycleScheduler lifecycleScheduler;
+    private final QuestionBankService questionBankService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExamService(ExamRepository examRepository, NotificationService notificationService,
+                       GradingService gradingService, ExamViewCache examViewCache,
+                       ExamLifecycleScheduler lifecycleScheduler, QuestionBankService questionBankService,
+                       ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
         this.examRepository = examRepository;
         this.notificationService = notificationService;
+        this.gradingService = gradingService;
+        this.examViewCache = examViewCache;
+        this.lifecycleScheduler = lifecycleScheduler;
+        this.questionBankService = questionBankService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
     }
 
     @Transactional
@@ -46,11 +69,26 @@ public class ExamService {
         exam.setTotalMarks(request.getTotalMarks());
         exam.setStatus(Exam.ExamStatus.DRAFT);
 
-        List<Question> questions = request.getQuestions().stream()
+        List<QuestionDto> inlineQuestions = request.getQuestions() == null
+                ? Collections.emptyList() : request.getQuestions();
+        List<BankDrawDto> bankDraws = request.getBankDraws() == null
+                ? Collections.emptyList() : request.getBankDraws();
+        if (inlineQuestions.isEmpty() == bankDraws.isEmpty()) {
+            throw new IllegalArgumentException("Exam must have either questions or question bank draws");
+        }
+
+        List<Question> questions = inlineQuestions.stream()
                 .map(dto -> mapToQuestionEntity(dto, exam))
                 .collect(Collectors.toList());
         exam.setQuestions(questions);
 
+        if (!bankDraws.isEmpty()) {
+            // Only the rules and a seed are stored; students' questions are drawn on demand
+            exam.setBankDraws(questionBankService.toDraws(bankDraws));
+            exam.setDrawSeed(ThreadLocalRandom.current().nextLong());
+            questionBankService.checkAvailable(exam.getBankDraws(), LocalDateTime.now());
+        }
+
         Exam saved = examRepository.save(exam);
         log.info("Exam created successfully with ID: {}", saved.getId());
 
@@ -72,8 +110,23 @@ public class ExamService {
             throw new IllegalStateException("Only draft exams can be published");
         }
 
+        if (exam.usesQuestionBank()) {
+            LocalDateTime snapshotAt = LocalDateTime.now();
+            questionBankService.checkAvailable(exam.getBankDraws(), snapshotAt);
+            int drawTotal = questionBankService.drawTotalMarks(exam.getBankDraws(), snapshotAt);
+            if (!exam.getTotalMarks().equals(drawTotal)) {
+                throw new IllegalArgumentException("Exam total marks " + exam.getTotalMarks()
+                        + " do not match the " + drawTotal + " marks its question bank draws add up to");
+            }
+            exam.setBankSnapshotAt(snapshotAt);
+            questionBankService.evict(examId);
+        }
+
         exam.setStatus(Exam.ExamStatus.SCHEDULED);
         Exam saved = examRepository.save(exam);
+        gradingService.precompute(saved);
+        examViewCache.invalidate(saved.getId());
+        lifecycleScheduler.schedulePublished(saved);
 
         // Send notification via Circuit Breaker protected method
         ExamCreatedEvent event = new ExamCreatedEvent(
@@ -92,15 +145,13 @@ public class ExamService {
         return mapToExamResponse(saved);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ExamResponse getExamById(Long examId, String userId, String role) {
         log.info("Fetching exam ID: {} for user {} with role {}", examId, userId, role);
 
         Exam exam = examRepository.findById(examId)
                 .orElseThrow(() -> new ExamNotFoundException("Exam not found with ID: " + examId));
 
-        maybeActivateExam(exam, LocalDateTime.now());
-
         // Instructors can see their own exams, students can see published exams
         if (role.equals("INSTRUCTOR") && !exam.getInstructorId().equals(userId)) {
             throw new UnauthorizedException("You are not authorized to view this exam");
@@ -113,6 +164,51 @@ public class ExamService {
         return mapToExamResponse(exam);
     }
 
+    /**
+     * Exam as served to students (no correct answers), serialized once and cached
+     */
+    public ExamViewCache.StudentExamView getStudentExamView(Long examId) {
+        log.debug("Fetching student view of exam ID: {}", examId);
+
+        return examViewCache.get(examId, () -> loadStudentExamView(examId));
+    }
+
+    /**
+     * JSON of the exam as a given student sees it; bank exams add the student's drawn questions
+     */
+    public byte[] getStudentExamJson(Long examId, String studentId) {
+        ExamViewCache.StudentExamView view = getStudentExamView(examId);
+        if (view.pool() == null) {
+            return view.json();
+        }
+
+        try {
+            ExamResponse response = objectMapper.readValue(view.json(), ExamResponse.class);
+            response.setQuestions(view.pool().drawnQuestions(studentId, false));
+            return objectMapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize exam " + examId, e);
+        }
+    }
+
+    /**
+     * Questions a student was given in a bank exam, with correct answers, for the exam's instructor
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionDto> getStudentDraw(Long examId, String instructorId, String studentId) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ExamNotFoundException("Exam not found with ID: " + examId));
+
+        if (!exam.getInstructorId().equals(instructorId)) {
+            throw new UnauthorizedException("You are not authorized to view this exam");
+        }
+        if (!exam.usesQuestionBank() || exam.getBankSnapshotAt() == null) {
+            throw new IllegalStateException("Only published question bank exams have per-student draws");
+        }
+
+        return questionBankService.pool(exam).drawnQuestions(studentId, true);
+    }
+
     @Transactional(readOnly = true)
     public List<ExamResponse> getExamsByInstructor(String instructorId) {
         log.info("Fetching all exams for instructor {}", instructorId);
@@ -122,26 +218,53 @@ public class ExamService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    /**
+     * Public listing (no correct answers); evicted by ExamLifecycleScheduler on every transition
+     */
+    @Cacheable(ExamLifecycleScheduler.ACTIVE_EXAMS_CACHE)
+    @Transactional(readOnly = true)
     public List<ExamResponse> getActiveExams() {
         log.info("Fetching all active exams");
-        LocalDateTime now = LocalDateTime.now();
-        activateScheduledExams(now);
-        return examRepository.findActiveExams(now)
+        return examRepository.findActiveExams(LocalDateTime.now())
                 .stream()
-                .map(this::mapToExamResponse)
+                .map(this::mapToStudentExamResponse)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(ExamLifecycleScheduler.UPCOMING_EXAMS_CACHE)
     @Transactional(readOnly = true)
     public List<ExamResponse> getUpcomingExams() {
         log.info("Fetching all upcoming exams");
         return examRepository.findUpcomingExams(LocalDateTime.now())
                 .stream()
-                .map(this::mapToExamResponse)
+                .map(this::mapToStudentExamResponse)
                 .collect(Collectors.toList());
     }
 
+    private ExamViewCache.StudentExamView loadStudentExamView(Long examId) {
+        return transactionTemplate.execute(status -> {
+            Exam exam = examRepository.findWithQuestionsById(examId)
+                    .orElseThrow(() -> new ExamNotFoundException("Exam not found with ID: " + examId));
+
+            if (exam.getStatus() == Exam.ExamStatus.DRAFT) {
+                throw new UnauthorizedException("This exam is not yet published");
+            }
+
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(mapToStudentExamResponse(exam));
+                long[] questionIds = exam.getQuestions().stream()
+                        .mapToLong(Question::getId)
+                        .sorted()
+                        .toArray();
+                return new ExamViewCache.StudentExamView(exam.getId(), exam.getStatus(),
+                        exam.getStartTime(), exam.getEndTime(), questionIds, json,
+                        exam.usesQuestionBank() ? questionBankService.pool(exam) : null);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize exam " + examId, e);
+            }
+        });
+    }
+
     private void validateExamDates(LocalDateTime startTime, LocalDateTime endTime) {
         if (startTime.isAfter(endTime)) {
             throw new IllegalArgumentException("Start time must be before end time");
@@ -151,24 +274,6 @@ public class ExamService {
         }
     }
 
-    private void activateScheduledExams(LocalDateTime now) {
-        List<Exam> toActivate = examRepository.findScheduledExamsToActivate(now);
-        if (toActivate.isEmpty()) {
-            return;
-        }
-        toActivate.forEach(exam -> exam.setStatus(Exam.ExamStatus.ACTIVE));
-        examRepository.saveAll(toActivate);
-    }
-
-    private void maybeActivateExam(Exam exam, LocalDateTime now) {
-        if (exam.getStatus() == Exam.ExamStatus.SCHEDULED
-                && !exam.getStartTime().isAfter(now)
-                && !exam.getEndTime().isBefore(now)) {
-            exam.setStatus(Exam.ExamStatus.ACTIVE);
-            examRepository.save(exam);
-        }
-    }
-
     private Question mapToQuestionEntity(QuestionDto dto, Exam exam) {
         Question question = new Question();
         question.setExam(exam);
@@ -186,7 +291,7 @@ public class ExamService {
                 .map(this::mapToQuestionDto)
                 .collect(Collectors.toList());
 
-        return new ExamResponse(
+        ExamResponse response = new ExamResponse(
                 exam.getId(),
                 exam.getTitle(),
                 exam.getDescription(),
@@ -200,6 +305,16 @@ public class ExamService {
                 exam.getCreatedAt(),
                 exam.getUpdatedAt()
         );
+        response.setBankDraws(exam.getBankDraws().stream()
+                .map(draw -> new BankDrawDto(draw.getTopic(), draw.getDifficulty(), draw.getCount()))
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    private ExamResponse mapToStudentExamResponse(Exam exam) {
+        ExamResponse response = mapToExamResponse(exam);
+        response.getQuestions().forEach(question -> question.setCorrectAnswer(null));
+        return response;
     }
 
     private QuestionDto mapToQuestionDto(Question question) {
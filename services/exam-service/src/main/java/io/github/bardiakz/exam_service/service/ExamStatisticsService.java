@@ -0,0 +1,262 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.dto.ExamStatisticsResponse;
+import io.github.bardiakz.exam_service.entity.Answer;
+import io.github.bardiakz.exam_service.entity.Exam;
+import io.github.bardiakz.exam_service.entity.Submission;
+import io.github.bardiakz.exam_service.exception.ExamNotFoundException;
+import io.github.bardiakz.exam_service.exception.UnauthorizedException;
+import io.github.bardiakz.exam_service.repository.ExamRepository;
+import io.github.bardiakz.exam_service.repository.ExamStatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running per-exam score statistics and per-question correctness rates
+ *
+ * Aggregates are updated as submissions are graded (Welford's algorithm for
+ * mean/variance), so dashboards never rescan answers. An exam's aggregates are
+ * built from the database on first use after a restart and rebuilt after a
+ * regrade or when the exam closes; until then they are eventually consistent.
+ *
+ * A rebuild reads the database outside the map. Submissions recorded while it
+ * runs are held back and added once it finishes, unless the rebuild's snapshot
+ * already contained them; a rebuild overtaken by an invalidation is discarded.
+ */
+@Service
+public class ExamStatisticsService {
+    private static final Logger log = LoggerFactory.getLogger(ExamStatisticsService.class);
+
+    private static final int HISTOGRAM_BUCKETS = 10;
+
+    private final Map<Long, ExamStatistics> statistics = new ConcurrentHashMap<>();
+    private final Map<Long, Rebuild> rebuilds = new ConcurrentHashMap<>();
+
+    private final ExamRepository examRepository;
+    private final ExamStatisticsRepository statisticsRepository;
+    private final TransactionTemplate snapshotTemplate;
+
+    public ExamStatisticsService(ExamRepository examRepository, ExamStatisticsRepository statisticsRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.examRepository = examRepository;
+        this.statisticsRepository = statisticsRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    public ExamStatisticsResponse getStatistics(Long examId, String instructorId) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ExamNotFoundException("Exam not found with ID: " + examId));
+
+        if (!exam.getInstructorId().equals(instructorId)) {
+            throw new UnauthorizedException("You are not authorized to view statistics of this exam");
+        }
+
+        ExamStatistics stats = statistics.get(examId);
+        return (stats != null ? stats : load(examId)).snapshot(examId);
+    }
+
+    /**
+     * Add a graded submission, once the current transaction (if any) commits
+     */
+    public void record(Submission submission) {
+        afterCommit(() -> {
+            Long examId = submission.getExamId();
+            ExamStatistics stats = statistics.get(examId);
+            if (stats == null) {
+                Rebuild rebuild = rebuilds.get(examId);
+                if (rebuild != null && rebuild.hold(submission)) {
+                    return;
+                }
+                // Either a rebuild just installed its result, or nothing is loaded and the
+                // rebuild on first use will read this submission from the database
+                stats = statistics.get(examId);
+            }
+            if (stats != null) {
+                stats.add(submission);
+            }
+        });
+    }
+
+    /**
+     * Drop an exam's aggregates so they are rebuilt on next use (after a regrade or when the exam closes)
+     */
+    public void invalidate(Long examId) {
+        afterCommit(() -> {
+            Rebuild rebuild = rebuilds.get(examId);
+            if (rebuild != null) {
+                rebuild.discard();
+            }
+            statistics.remove(examId);
+        });
+    }
+
+    private ExamStatistics load(Long examId) {
+        Rebuild rebuild = new Rebuild();
+        Rebuild running = rebuilds.putIfAbsent(examId, rebuild);
+        if (running != null) {
+            return running.result.join();
+        }
+        try {
+            // Registered before reading, so no submission committed after the snapshot is missed
+            ExamStatistics stats = rebuild(examId, rebuild);
+            rebuild.result.complete(stats);
+            return stats;
+        } catch (RuntimeException e) {
+            rebuild.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            rebuilds.remove(examId, rebuild);
+        }
+    }
+
+    private ExamStatistics rebuild(Long examId, Rebuild rebuild) {
+        long started = System.nanoTime();
+        ExamStatistics stats = new ExamStatistics();
+        Set<Long> seen = new HashSet<>();
+        snapshotTemplate.executeWithoutResult(status -> {
+            statisticsRepository.forEachScore(examId, (submissionId, obtainedScore, totalScore) -> {
+                seen.add(submissionId);
+                stats.addScore(obtainedScore, totalScore);
+            });
+            statisticsRepository.forEachQuestion(examId, stats::addQuestionCounts);
+        });
+        if (rebuild.install(examId, stats, seen)) {
+            log.info("Rebuilt statistics for exam {} ({} submissions) in {} ms",
+                    examId, stats.count, (System.nanoTime() - started) / 1_000_000);
+        } else {
+            log.info("Discarded statistics rebuild for exam {}, it was invalidated meanwhile", examId);
+        }
+        return stats;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * One in-flight rebuild; holds submissions recorded while the database is read
+     */
+    private final class Rebuild {
+        private final CompletableFuture<ExamStatistics> result = new CompletableFuture<>();
+        private final List<Submission> held = new ArrayList<>();
+        private boolean finished;
+        private boolean discarded;
+
+        /**
+         * @return false if the rebuild has already finished
+         */
+        synchronized boolean hold(Submission submission) {
+            if (finished) {
+                return false;
+            }
+            held.add(submission);
+            return true;
+        }
+
+        synchronized void discard() {
+            discarded = true;
+        }
+
+        /**
+         * Add the held submissions the snapshot did not contain and publish the result
+         *
+         * @return false if the rebuild was invalidated and the result was not published
+         */
+        synchronized boolean install(Long examId, ExamStatistics stats, Set<Long> seen) {
+            finished = true;
+            for (Submission submission : held) {
+                if (!seen.contains(submission.getId())) {
+                    stats.add(submission);
+                }
+            }
+            held.clear();
+            if (discarded) {
+                return false;
+            }
+            statistics.put(examId, stats);
+            return true;
+        }
+    }
+
+    /**
+     * Mutable aggregates of one exam; guarded by its own monitor
+     */
+    private static final class ExamStatistics {
+        private long count;
+        private double mean;
+        private double m2;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        // questionId -> {attempts, correct}
+        private final Map<Long, long[]> questions = new TreeMap<>();
+
+        synchronized void add(Submission submission) {
+            addScore(submission.getObtainedScore(), submission.getTotalScore());
+            for (Answer answer : submission.getAnswers()) {
+                if (answer.getIsCorrect() != null) {
+                    addQuestionCounts(answer.getQuestionId(), 1, answer.getIsCorrect() ? 1 : 0);
+                }
+            }
+        }
+
+        synchronized void addScore(int obtainedScore, int totalScore) {
+            count++;
+            double delta = obtainedScore - mean;
+            mean += delta / count;
+            m2 += delta * (obtainedScore - mean);
+            min = Math.min(min, obtainedScore);
+            max = Math.max(max, obtainedScore);
+
+            int bucket = totalScore > 0 ? (int) ((long) obtainedScore * HISTOGRAM_BUCKETS / totalScore) : 0;
+            histogram[Math.max(0, Math.min(HISTOGRAM_BUCKETS - 1, bucket))]++;
+        }
+
+        synchronized void addQuestionCounts(long questionId, long attempts, long correct) {
+            long[] counts = questions.computeIfAbsent(questionId, id -> new long[2]);
+            counts[0] += attempts;
+            counts[1] += correct;
+        }
+
+        synchronized ExamStatisticsResponse snapshot(Long examId) {
+            List<ExamStatisticsResponse.QuestionStatistics> questionStatistics = new ArrayList<>(questions.size());
+            questions.forEach((questionId, counts) -> questionStatistics.add(
+                    new ExamStatisticsResponse.QuestionStatistics(questionId, counts[0], counts[1],
+                            counts[0] > 0 ? (double) counts[1] / counts[0] : null)));
+
+            if (count == 0) {
+                return new ExamStatisticsResponse(examId, 0L, null, null, null, null, null,
+                        histogram.clone(), questionStatistics);
+            }
+            double variance = m2 / count;
+            return new ExamStatisticsResponse(examId, count, mean, variance, Math.sqrt(variance),
+                    min, max, histogram.clone(), questionStatistics);
+        }
+    }
+}
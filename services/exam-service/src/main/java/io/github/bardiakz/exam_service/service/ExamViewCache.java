@@ -0,0 +1,82 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.entity.Exam;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized student view of each published exam
+ *
+ * When many students open an exam at once only the first request loads it;
+ * concurrent misses for the same exam wait on that single load.
+ */
+@Component
+public class ExamViewCache {
+
+    private final Map<Long, CompletableFuture<StudentExamView>> views = new ConcurrentHashMap<>();
+
+    public StudentExamView get(Long examId, Supplier<StudentExamView> loader) {
+        CompletableFuture<StudentExamView> future = views.get(examId);
+        if (future == null) {
+            CompletableFuture<StudentExamView> created = new CompletableFuture<>();
+            future = views.putIfAbsent(examId, created);
+            if (future == null) {
+                future = created;
+                try {
+                    created.complete(loader.get());
+                } catch (RuntimeException e) {
+                    // Do not cache failures (e.g. exam not found or not yet published)
+                    views.remove(examId, created);
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(Long examId) {
+        views.remove(examId);
+    }
+
+    /**
+     * @param questionIds sorted ids of the exam's questions
+     * @param json        exam as served to students, without correct answers
+     * @param pool        bank pool students draw their questions from, or null for inline questions
+     */
+    public record StudentExamView(Long examId, Exam.ExamStatus status, LocalDateTime startTime,
+                                  LocalDateTime endTime, long[] questionIds, byte[] json, QuestionPool pool) {
+
+        /**
+         * Same rule as final submission: published, not closed, and within the exam window
+         */
+        public boolean acceptsAnswers(LocalDateTime now) {
+            return (status == Exam.ExamStatus.ACTIVE || status == Exam.ExamStatus.SCHEDULED)
+                    && !now.isBefore(startTime)
+                    && !now.isAfter(endTime);
+        }
+
+        /**
+         * Questions the student was given; for bank exams only the student's own draw
+         */
+        public LongPredicate questionsOf(String studentId) {
+            long[] ids = pool == null ? questionIds : pool.sortedDraw(studentId);
+            return questionId -> Arrays.binarySearch(ids, questionId) >= 0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.entity.Answer;
+import io.github.bardiakz.exam_service.entity.Exam;
+import io.github.bardiakz.exam_service.entity.Submission;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Auto-grading of objective questions against cached per-exam answer keys
+ */
+@Service
+public class GradingService {
+    private static final Logger log = LoggerFactory.getLogger(GradingService.class);
+
+    private final Map<Long, AnswerKey> answerKeys = new ConcurrentHashMap<>();
+    private final ForkJoinPool regradePool;
+    private final QuestionBankService questionBankService;
+
+    public GradingService(QuestionBankService questionBankService,
+                          @Value("${exam.grading.parallelism:0}") int parallelism) {
+        this.questionBankService = questionBankService;
+        this.regradePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Build (or rebuild) the answer key of an exam; must be called inside a transaction
+     */
+    public AnswerKey precompute(Exam exam) {
+        AnswerKey key = exam.usesQuestionBank()
+                ? AnswerKey.fromBank(exam.getId(), questionBankService.pool(exam).questions())
+                : AnswerKey.of(exam.getId(), exam.getQuestions());
+        answerKeys.put(exam.getId(), key);
+        log.info("Answer key for exam {} built with {} questions", exam.getId(), key.size());
+        return key;
+    }
+
+    /**
+     * Cached answer key of an exam, built on first use (e.g. after a restart)
+     */
+    public AnswerKey answerKey(Exam exam) {
+        AnswerKey key = answerKeys.get(exam.getId());
+        return key != null ? key : precompute(exam);
+    }
+
+    /**
+     * Drop a cached answer key (exam closed); it is rebuilt on demand if still needed
+     */
+    public void evict(Long examId) {
+        answerKeys.remove(examId);
+    }
+
+    /**
+     * Grade all objective answers of a submission in a single pass
+     *
+     * @return obtained score
+     */
+    public int grade(Submission submission, AnswerKey key) {
+        int score = 0;
+        for (Answer answer : submission.getAnswers()) {
+            int index = key.indexOf(answer.getQuestionId());
+            if (index < 0) {
+                throw new IllegalArgumentException("Question not found: " + answer.getQuestionId());
+            }
+            if (key.isAutoGraded(index)) {
+                boolean correct = key.isCorrect(index, answer.getAnswerText());
+                answer.setIsCorrect(correct);
+                answer.setMarksAwarded(correct ? key.marks(index) : 0);
+            }
+            if (Boolean.TRUE.equals(answer.getIsCorrect()) && answer.getMarksAwarded() != null) {
+                score += answer.getMarksAwarded();
+            }
+        }
+
+        submission.setObtainedScore(score);
+        submission.setStatus(Submission.SubmissionStatus.GRADED);
+        submission.setGradedAt(LocalDateTime.now());
+        return score;
+    }
+
+    /**
+     * Re-grade submissions in parallel; answers must already be loaded
+     *
+     * @return number of submissions whose score changed
+     */
+    public int regradeAll(List<Submission> submissions, AnswerKey key) {
+        long changed = regradePool.submit(() -> submissions.parallelStream()
+                .filter(submission -> {
+                    Integer before = submission.getObtainedScore();
+                    return !Objects.equals(before, grade(submission, key));
+                })
+                .count()
+        ).join();
+        return (int) changed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        regradePool.shutdown();
+    }
+}
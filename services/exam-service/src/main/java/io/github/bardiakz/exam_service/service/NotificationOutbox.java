@@ -0,0 +1,183 @@
+package io.github.bardiakz.exam_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bardiakz.exam_service.entity.PendingNotification;
+import io.github.bardiakz.exam_service.event.*;
+import io.github.bardiakz.exam_service.repository.PendingNotificationRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Durable buffer for notification events the circuit breaker rejected or that failed to publish
+ *
+ * Fallbacks only insert a row, so callers are never blocked by an outage. Rows are replayed in
+ * id order, through the same circuit breaker, as soon as it half-opens and periodically after.
+ */
+@Component
+public class NotificationOutbox {
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutbox.class);
+
+    private static final String CIRCUIT_BREAKER = "notificationService";
+
+    private final PendingNotificationRepository repository;
+    private final EventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    public NotificationOutbox(PendingNotificationRepository repository,
+                              EventPublisher eventPublisher,
+                              ObjectMapper objectMapper,
+                              CircuitBreakerRegistry circuitBreakerRegistry,
+                              TaskScheduler taskScheduler,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${exam.notifications.outbox.batch-size:100}") int batchSize) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void replayOnRecovery() {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.HALF_OPEN) {
+                taskScheduler.schedule(this::replay, Instant.now());
+            }
+        });
+    }
+
+    /**
+     * Store an event for later replay; joins the caller's transaction if there is one
+     */
+    public void capture(Object event, Throwable cause) {
+        PendingNotification pending = new PendingNotification();
+        pending.setEventType(event.getClass().getSimpleName());
+        pending.setLastError(truncate(cause.getMessage()));
+        try {
+            pending.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("Dropping {}: cannot serialize it for the outbox: {}", pending.getEventType(), e.getMessage());
+            return;
+        }
+        repository.save(pending);
+        log.info("{} stored in notification outbox for replay", pending.getEventType());
+    }
+
+    /**
+     * Publish buffered events batch by batch until the outbox is empty or publishing fails again
+     */
+    @Scheduled(fixedDelayString = "${exam.notifications.outbox.replay-interval-ms:30000}")
+    public void replay() {
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int total = 0;
+            ReplayResult result;
+            do {
+                result = transactionTemplate.execute(status -> replayBatch());
+                total += result.published();
+            } while (result.more());
+
+            if (total > 0) {
+                log.info("Replayed {} notifications from the outbox", total);
+            }
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private ReplayResult replayBatch() {
+        List<PendingNotification> batch = repository.lockOldest(batchSize);
+        List<PendingNotification> done = new ArrayList<>(batch.size());
+        boolean more = batch.size() == batchSize;
+
+        for (PendingNotification pending : batch) {
+            Runnable publish;
+            try {
+                publish = publisherFor(pending);
+            } catch (JsonProcessingException | IllegalStateException e) {
+                // Can never succeed, so do not let it block the rows behind it
+                log.error("Discarding outbox entry {} ({}): {}", pending.getId(), pending.getEventType(), e.getMessage());
+                done.add(pending);
+                continue;
+            }
+
+            try {
+                circuitBreaker.executeRunnable(publish);
+                done.add(pending);
+            } catch (CallNotPermittedException e) {
+                log.info("Outbox replay paused: notification circuit is open again");
+                more = false;
+                break;
+            } catch (RuntimeException e) {
+                pending.setAttempts(pending.getAttempts() + 1);
+                pending.setLastError(truncate(e.getMessage()));
+                repository.save(pending);
+                log.warn("Outbox replay of {} {} failed: {}", pending.getEventType(), pending.getId(), e.getMessage());
+                // The broker is most likely still down; retry from here on the next round
+                more = false;
+                break;
+            }
+        }
+
+        repository.deleteAllInBatch(done);
+        return new ReplayResult(done.size(), more);
+    }
+
+    private Runnable publisherFor(PendingNotification pending) throws JsonProcessingException {
+        String payload = pending.getPayload();
+        return switch (pending.getEventType()) {
+            case "ExamStartedEvent" -> {
+                ExamStartedEvent event = objectMapper.readValue(payload, ExamStartedEvent.class);
+                yield () -> eventPublisher.publishExamStartedEvent(event);
+            }
+            case "ExamCreatedEvent" -> {
+                ExamCreatedEvent event = objectMapper.readValue(payload, ExamCreatedEvent.class);
+                yield () -> eventPublisher.publishExamCreatedEvent(event);
+            }
+            case "ExamSubmittedEvent" -> {
+                ExamSubmittedEvent event = objectMapper.readValue(payload, ExamSubmittedEvent.class);
+                yield () -> eventPublisher.publishExamSubmittedEvent(event);
+            }
+            case "ExamGradedEvent" -> {
+                ExamGradedEvent event = objectMapper.readValue(payload, ExamGradedEvent.class);
+                yield () -> eventPublisher.publishExamGradedEvent(event);
+            }
+            default -> throw new IllegalStateException("Unknown event type");
+        };
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private record ReplayResult(int published, boolean more) {}
+}
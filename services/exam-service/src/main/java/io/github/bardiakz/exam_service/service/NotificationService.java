@@ -11,9 +11,11 @@ public class NotificationService {
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
     private final EventPublisher eventPublisher;
+    private final NotificationOutbox outbox;
 
-    public NotificationService(EventPublisher eventPublisher) {
+    public NotificationService(EventPublisher eventPublisher, NotificationOutbox outbox) {
         this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
     }
 
     /**
@@ -49,7 +51,7 @@ public class NotificationService {
 
     /**
      * Fallback method when circuit breaker is open or service fails.
-     * Logs the failure and allows the system to continue.
+     * Stores the event in the outbox and allows the system to continue.
      *
      * @param event ExamStartedEvent that failed to send
      * @param throwable Exception that triggered the fallback
@@ -57,19 +59,23 @@ public class NotificationService {
     private void notifyExamStartFallback(ExamStartedEvent event, Throwable throwable) {
         log.warn("Circuit breaker OPEN or notification failed for exam ID: {}. Fallback triggered. Reason: {}",
                 event.examId(), throwable.getMessage());
+        outbox.capture(event, throwable);
         log.info("Exam {} will proceed without notification. Notification will be retried when service recovers.",
                 event.examId());
     }
 
     private void notifyExamCreatedFallback(ExamCreatedEvent event, Throwable throwable) {
         log.warn("Fallback: Failed to publish ExamCreatedEvent for exam {}: {}", event.examId(), throwable.getMessage());
+        outbox.capture(event, throwable);
     }
 
     private void notifyExamSubmittedFallback(ExamSubmittedEvent event, Throwable throwable) {
         log.warn("Fallback: Failed to publish ExamSubmittedEvent for submission {}: {}", event.submissionId(), throwable.getMessage());
+        outbox.capture(event, throwable);
     }
 
     private void notifyExamGradedFallback(ExamGradedEvent event, Throwable throwable) {
         log.warn("Fallback: Failed to publish ExamGradedEvent for submission {}: {}", event.submissionId(), throwable.getMessage());
+        outbox.capture(event, throwable);
     }
 }
\ No newline at end of file
@@ -0,0 +1,258 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.dto.BankDrawDto;
+import io.github.bardiakz.exam_service.dto.BankQuestionRequest;
+import io.github.bardiakz.exam_service.dto.BankQuestionResponse;
+import io.github.bardiakz.exam_service.dto.PageResponse;
+import io.github.bardiakz.exam_service.dto.QuestionDto;
+import io.github.bardiakz.exam_service.entity.BankDraw;
+import io.github.bardiakz.exam_service.entity.BankQuestion;
+import io.github.bardiakz.exam_service.entity.Exam;
+import io.github.bardiakz.exam_service.exception.ExamNotFoundException;
+import io.github.bardiakz.exam_service.exception.UnauthorizedException;
+import io.github.bardiakz.exam_service.repository.BankQuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Shared question bank and the per-exam pools that bank exams draw from
+ */
+@Service
+public class QuestionBankService {
+    private static final Logger log = LoggerFactory.getLogger(QuestionBankService.class);
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final BankQuestionRepository bankQuestionRepository;
+
+    // A published exam's pool never changes, so it is built once per exam
+    private final Map<Long, QuestionPool> pools = new ConcurrentHashMap<>();
+
+    public QuestionBankService(BankQuestionRepository bankQuestionRepository) {
+        this.bankQuestionRepository = bankQuestionRepository;
+    }
+
+    /**
+     * Add a question, or return the existing active question with the same content
+     */
+    @Transactional
+    public BankQuestionResponse addQuestion(BankQuestionRequest request, String instructorId) {
+        String topic = normalizeTopic(request.getTopic());
+        List<String> options = request.getOptions() == null ? Collections.emptyList() : request.getOptions();
+        String contentHash = contentHash(request, topic, options);
+
+        BankQuestion existing = bankQuestionRepository.findFirstByContentHashAndRetiredAtIsNull(contentHash)
+                .orElse(null);
+        if (existing != null) {
+            log.info("Question already in bank with ID: {}", existing.getId());
+            return mapToResponse(existing);
+        }
+
+        BankQuestion question = new BankQuestion();
+        question.setTopic(topic);
+        question.setDifficulty(request.getDifficulty());
+        question.setText(request.getText());
+        question.setType(request.getType());
+        question.setOptions(new ArrayList<>(options));
+        question.setCorrectAnswer(request.getCorrectAnswer());
+        question.setMarks(request.getMarks());
+        question.setContentHash(contentHash);
+        question.setCreatedBy(instructorId);
+
+        BankQuestion saved = bankQuestionRepository.save(question);
+        log.info("Question added to bank with ID: {} (topic {}, {})", saved.getId(), topic, saved.getDifficulty());
+        return mapToResponse(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<BankQuestionResponse> search(String topic, BankQuestion.Difficulty difficulty,
+                                                     int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Page<BankQuestion> result = bankQuestionRepository.search(
+                topic == null ? null : normalizeTopic(topic), difficulty,
+                PageRequest.of(page, size, Sort.by("id")));
+        List<BankQuestionResponse> content = result.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new PageResponse<>(content, result.getNumber(), result.getSize(),
+                result.getTotalElements(), result.getTotalPages());
+    }
+
+    /**
+     * Remove a question from future draws; exams published earlier keep drawing it
+     */
+    @Transactional
+    public void retireQuestion(Long questionId, String instructorId) {
+        BankQuestion question = bankQuestionRepository.findById(questionId)
+                .filter(found -> found.getRetiredAt() == null)
+                .orElseThrow(() -> new ExamNotFoundException("Bank question not found with ID: " + questionId));
+
+        if (!question.getCreatedBy().equals(instructorId)) {
+            throw new UnauthorizedException("You are not authorized to retire this question");
+        }
+
+        question.setRetiredAt(LocalDateTime.now());
+        bankQuestionRepository.save(question);
+        log.info("Bank question {} retired by {}", questionId, instructorId);
+    }
+
+    /**
+     * Validate draw rules and merge rules with the same topic and difficulty
+     */
+    public List<BankDraw> toDraws(List<BankDrawDto> dtos) {
+        Map<String, BankDraw> draws = new LinkedHashMap<>();
+        for (BankDrawDto dto : dtos) {
+            if (dto.getTopic() == null || dto.getTopic().isBlank() || dto.getDifficulty() == null
+                    || dto.getCount() == null || dto.getCount() < 1) {
+                throw new IllegalArgumentException("Bank draws need a topic, a difficulty and a count of at least 1");
+            }
+            String topic = normalizeTopic(dto.getTopic());
+            draws.merge(topic + "|" + dto.getDifficulty(), new BankDraw(topic, dto.getDifficulty(), dto.getCount()),
+                    (current, added) -> new BankDraw(topic, dto.getDifficulty(), current.getCount() + added.getCount()));
+        }
+        return new ArrayList<>(draws.values());
+    }
+
+    /**
+     * Fail if the bank did not hold enough questions for every rule at the given time
+     */
+    @Transactional(readOnly = true)
+    public void checkAvailable(List<BankDraw> draws, LocalDateTime at) {
+        for (BankDraw draw : draws) {
+            long available = bankQuestionRepository.countAvailableAt(draw.getTopic(), draw.getDifficulty(), at);
+            if (available < draw.getCount()) {
+                throw new IllegalArgumentException("Question bank has only " + available + " " + draw.getDifficulty()
+                        + " questions on '" + draw.getTopic() + "', " + draw.getCount() + " requested");
+            }
+        }
+    }
+
+    /**
+     * Marks every student's draw adds up to at the given time
+     *
+     * Each rule must draw from questions with the same marks, otherwise students of
+     * one exam would get different totals depending on their draw.
+     */
+    @Transactional(readOnly = true)
+    public int drawTotalMarks(List<BankDraw> draws, LocalDateTime at) {
+        int total = 0;
+        for (BankDraw draw : draws) {
+            List<Integer> marks = bankQuestionRepository.findDistinctMarksAvailableAt(
+                    draw.getTopic(), draw.getDifficulty(), at);
+            if (marks.size() != 1) {
+                throw new IllegalArgumentException("Questions drawn for " + draw.getDifficulty() + " '"
+                        + draw.getTopic() + "' must all carry the same marks, found " + marks);
+            }
+            total += marks.get(0) * draw.getCount();
+        }
+        return total;
+    }
+
+    /**
+     * Pool of a published bank exam; must be called inside a transaction on first use
+     */
+    public QuestionPool pool(Exam exam) {
+        QuestionPool pool = pools.get(exam.getId());
+        if (pool == null) {
+            pool = loadPool(exam);
+            pools.put(exam.getId(), pool);
+        }
+        return pool;
+    }
+
+    public void evict(Long examId) {
+        pools.remove(examId);
+    }
+
+    private QuestionPool loadPool(Exam exam) {
+        if (!exam.usesQuestionBank() || exam.getBankSnapshotAt() == null) {
+            throw new IllegalStateException("Exam " + exam.getId() + " has no published question bank draws");
+        }
+
+        List<BankDraw> draws = exam.getBankDraws();
+        long[][] candidates = new long[draws.size()][];
+        int[] counts = new int[draws.size()];
+        Set<Long> ids = new TreeSet<>();
+        for (int i = 0; i < draws.size(); i++) {
+            BankDraw draw = draws.get(i);
+            List<Long> available = bankQuestionRepository.findIdsAvailableAt(
+                    draw.getTopic(), draw.getDifficulty(), exam.getBankSnapshotAt());
+            if (available.size() < draw.getCount()) {
+                throw new IllegalStateException("Question bank pool of exam " + exam.getId() + " is incomplete");
+            }
+            candidates[i] = available.stream().mapToLong(Long::longValue).toArray();
+            counts[i] = draw.getCount();
+            ids.addAll(available);
+        }
+
+        Map<Long, QuestionDto> questions = new HashMap<>();
+        bankQuestionRepository.findWithOptionsByIdIn(ids).forEach(question -> questions.put(question.getId(),
+                new QuestionDto(question.getId(), question.getText(), question.getType(),
+                        List.copyOf(question.getOptions()), question.getCorrectAnswer(), question.getMarks(), null)));
+
+        log.info("Question pool for exam {} built with {} questions", exam.getId(), questions.size());
+        return new QuestionPool(exam.getId(), exam.getDrawSeed(), candidates, counts, questions);
+    }
+
+    private BankQuestionResponse mapToResponse(BankQuestion question) {
+        return new BankQuestionResponse(
+                question.getId(),
+                question.getTopic(),
+                question.getDifficulty(),
+                question.getText(),
+                question.getType(),
+                List.copyOf(question.getOptions()),
+                question.getCorrectAnswer(),
+                question.getMarks(),
+                question.getCreatedBy(),
+                question.getCreatedAt()
+        );
+    }
+
+    private static String normalizeTopic(String topic) {
+        return topic.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String contentHash(BankQuestionRequest request, String topic, List<String> options) {
+        StringBuilder content = new StringBuilder()
+                .append(topic).append('\n')
+                .append(request.getDifficulty()).append('\n')
+                .append(request.getType()).append('\n')
+                .append(request.getText().trim()).append('\n')
+                .append(request.getCorrectAnswer().trim()).append('\n')
+                .append(request.getMarks());
+        options.forEach(option -> content.append('\n').append(option.trim()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
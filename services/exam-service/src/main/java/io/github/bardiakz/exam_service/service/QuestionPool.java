@@ -0,0 +1,115 @@
+package io.github.bardiakz.exam_service.service;
+
+import io.github.bardiakz.exam_service.dto.QuestionDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Bank questions a published exam draws from, and the per-student draw over them
+ *
+ * A student's questions are never stored: they are re-derived from the exam seed and the
+ * student id, so any node computes the same draw without touching the database.
+ */
+public final class QuestionPool {
+
+    private final Long examId;
+    private final long seed;
+    // Candidate ids of each draw rule in id order, and how many to take from each
+    private final long[][] candidates;
+    private final int[] counts;
+    // Full questions (with correct answers) by id
+    private final Map<Long, QuestionDto> questions;
+
+    QuestionPool(Long examId, long seed, long[][] candidates, int[] counts, Map<Long, QuestionDto> questions) {
+        this.examId = examId;
+        this.seed = seed;
+        this.candidates = candidates;
+        this.counts = counts;
+        this.questions = questions;
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public Collection<QuestionDto> questions() {
+        return questions.values();
+    }
+
+    /**
+     * Question ids drawn for a student, in presentation order
+     */
+    public long[] draw(String studentId) {
+        SplittableRandom random = new SplittableRandom(studentSeed(studentId));
+        long[] drawn = new long[Arrays.stream(counts).sum()];
+        int offset = 0;
+        for (int rule = 0; rule < candidates.length; rule++) {
+            sample(candidates[rule], counts[rule], random, drawn, offset);
+            offset += counts[rule];
+        }
+        return drawn;
+    }
+
+    /**
+     * Drawn question ids in ascending order, for binary search
+     */
+    public long[] sortedDraw(String studentId) {
+        long[] drawn = draw(studentId);
+        Arrays.sort(drawn);
+        return drawn;
+    }
+
+    /**
+     * Marks available in a set of drawn questions
+     */
+    public int totalMarks(long[] drawn) {
+        int total = 0;
+        for (long questionId : drawn) {
+            total += questions.get(questionId).getMarks();
+        }
+        return total;
+    }
+
+    /**
+     * Drawn questions with correct answers, numbered in presentation order
+     */
+    public List<QuestionDto> drawnQuestions(String studentId, boolean withAnswers) {
+        long[] drawn = draw(studentId);
+        List<QuestionDto> result = new ArrayList<>(drawn.length);
+        for (int i = 0; i < drawn.length; i++) {
+            QuestionDto question = questions.get(drawn[i]);
+            result.add(new QuestionDto(question.getId(), question.getText(), question.getType(),
+                    question.getOptions(), withAnswers ? question.getCorrectAnswer() : null,
+                    question.getMarks(), i + 1));
+        }
+        return result;
+    }
+
+    private long studentSeed(String studentId) {
+        long hash = seed;
+        for (int i = 0; i < studentId.length(); i++) {
+            hash = (hash ^ studentId.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * First {@code count} steps of a Fisher-Yates shuffle, with swaps kept in a map
+     * so a draw costs O(count) regardless of how many candidates there are
+     */
+    private static void sample(long[] candidates, int count, SplittableRandom random, long[] out, int offset) {
+        Map<Integer, Integer> swapped = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(candidates.length - i);
+            int picked = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i));
+            out[offset + i] = candidates[picked];
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package io.github.bardiakz.exam_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bardiakz.exam_service.dto.AnswerDto;
+import io.github.bardiakz.exam_service.dto.SubmissionReceiptResponse;
+import io.github.bardiakz.exam_service.dto.SubmissionRequest;
+import io.github.bardiakz.exam_service.entity.Exam;
+import io.github.bardiakz.exam_service.entity.Submission;
+import io.github.bardiakz.exam_service.entity.SubmissionReceipt;
+import io.github.bardiakz.exam_service.exception.ExamNotFoundException;
+import io.github.bardiakz.exam_service.exception.UnauthorizedException;
+import io.github.bardiakz.exam_service.repository.ExamRepository;
+import io.github.bardiakz.exam_service.repository.SubmissionBatchRepository;
+import io.github.bardiakz.exam_service.repository.SubmissionReceiptRepository;
+import io.github.bardiakz.exam_service.repository.SubmissionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+/**
+ * Accept-then-process submission path for deadline spikes
+ *
+ * A submission is checked against the cached exam view, stored as a durable
+ * receipt and acknowledged immediately. Workers claim pending receipts in
+ * batches, grade them and insert submissions and answers with JDBC batches.
+ * The exam window is checked against the receipt time, so queueing delay
+ * never turns an on-time submission into a late one.
+ *
+ * If a batch fails as a whole, its receipts are retried one transaction each;
+ * a receipt the database refuses on its own is marked REJECTED instead of
+ * holding the batch hostage. A rejected receipt is replaced when the student
+ * submits again.
+ */
+@Service
+public class SubmissionIngestService {
+    private static final Logger log = LoggerFactory.getLogger(SubmissionIngestService.class);
+
+    private static final TypeReference<List<AnswerDto>> ANSWER_LIST = new TypeReference<>() {};
+
+    // Length of the answers.answer_text column
+    private static final int MAX_ANSWER_LENGTH = 5000;
+
+    private final SubmissionReceiptRepository receiptRepository;
+    private final SubmissionBatchRepository batchRepository;
+    private final SubmissionRepository submissionRepository;
+    private final ExamRepository examRepository;
+    private final ExamService examService;
+    private final SubmissionService submissionService;
+    private final GradingService gradingService;
+    private final ExamStatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor workers;
+    private final int batchSize;
+    private final long claimTimeoutSeconds;
+
+    public SubmissionIngestService(SubmissionReceiptRepository receiptRepository,
+                                   SubmissionBatchRepository batchRepository,
+                                   SubmissionRepository submissionRepository,
+                                   ExamRepository examRepository,
+                                   ExamService examService,
+                                   SubmissionService submissionService,
+                                   GradingService gradingService,
+                                   ExamStatisticsService statisticsService,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${exam.ingest.workers:4}") int workerCount,
+                                   @Value("${exam.ingest.batch-size:100}") int batchSize,
+                                   @Value("${exam.ingest.claim-timeout-seconds:300}") long claimTimeoutSeconds) {
+        this.receiptRepository = receiptRepository;
+        this.batchRepository = batchRepository;
+        this.submissionRepository = submissionRepository;
+        this.examRepository = examRepository;
+        this.examService = examService;
+        this.submissionService = submissionService;
+        this.gradingService = gradingService;
+        this.statisticsService = statisticsService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+
+        // When all workers are busy the dispatcher processes the batch itself,
+        // so it stops claiming more than the pool can handle
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public SubmissionReceiptResponse accept(SubmissionRequest request, String studentId, String studentEmail) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+
+        ExamViewCache.StudentExamView exam = examService.getStudentExamView(request.getExamId());
+        if (!exam.acceptsAnswers(receivedAt)) {
+            throw new IllegalStateException("This exam is not accepting submissions");
+        }
+        LongPredicate questions = exam.questionsOf(studentId);
+        for (AnswerDto answer : request.getAnswers()) {
+            if (answer.getQuestionId() == null || !questions.test(answer.getQuestionId())) {
+                throw new IllegalArgumentException("Question not found: " + answer.getQuestionId());
+            }
+            if (answer.getAnswerText() == null) {
+                throw new IllegalArgumentException("Answer text is required for question " + answer.getQuestionId());
+            }
+            if (answer.getAnswerText().length() > MAX_ANSWER_LENGTH) {
+                throw new IllegalArgumentException("Answer to question " + answer.getQuestionId()
+                        + " exceeds " + MAX_ANSWER_LENGTH + " characters");
+            }
+        }
+        if (submissionRepository.existsByExamIdAndStudentId(request.getExamId(), studentId)) {
+            throw new IllegalStateException("You have already submitted this exam");
+        }
+
+        SubmissionReceipt receipt = new SubmissionReceipt();
+        receipt.setId(UUID.randomUUID().toString());
+        receipt.setExamId(request.getExamId());
+        receipt.setStudentId(studentId);
+        receipt.setStudentEmail(studentEmail);
+        receipt.setReceivedAt(receivedAt);
+        try {
+            receipt.setAnswersJson(objectMapper.writeValueAsString(request.getAnswers()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid answers", e);
+        }
+
+        try {
+            // Replacing a rejected receipt and storing the new one commit together
+            transactionTemplate.executeWithoutResult(status -> {
+                receiptRepository.deleteByStatus(receipt.getExamId(), studentId, SubmissionReceipt.ReceiptStatus.REJECTED);
+                receiptRepository.saveAndFlush(receipt);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException(duplicateMessage(receipt.getExamId(), studentId));
+        }
+
+        log.info("Accepted submission receipt {} for exam {} by student {}", receipt.getId(), receipt.getExamId(), studentId);
+        return toResponse(receipt);
+    }
+
+    public SubmissionReceiptResponse getReceipt(String receiptId, String studentId) {
+        SubmissionReceipt receipt = receiptRepository.findById(receiptId)
+                .orElseThrow(() -> new ExamNotFoundException("Submission receipt not found: " + receiptId));
+
+        if (!receipt.getStudentId().equals(studentId)) {
+            throw new UnauthorizedException("You are not authorized to view this receipt");
+        }
+        return toResponse(receipt);
+    }
+
+    @Scheduled(fixedDelayString = "${exam.ingest.poll-interval-ms:500}")
+    public void dispatch() {
+        List<SubmissionReceipt> claimed;
+        while (!(claimed = batchRepository.claimReceipts(batchSize, LocalDateTime.now())).isEmpty()) {
+            List<SubmissionReceipt> batch = claimed;
+            workers.execute(() -> process(batch));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${exam.ingest.release-interval-ms:60000}")
+    public void releaseStaleClaims() {
+        int released = batchRepository.releaseStaleClaims(LocalDateTime.now().minusSeconds(claimTimeoutSeconds));
+        if (released > 0) {
+            log.warn("Returned {} stale submission receipts to the queue", released);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void process(List<SubmissionReceipt> receipts) {
+        List<Accepted> accepted = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> accepted.addAll(persist(receipts)));
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} submission receipts failed, retrying one by one: {}", receipts.size(), e.getMessage());
+            accepted.clear();
+            for (SubmissionReceipt receipt : receipts) {
+                if (!processAlone(receipt, accepted)) {
+                    // Not a data problem (database unreachable, ...): the rest stays PROCESSING too
+                    break;
+                }
+            }
+        }
+
+        accepted.forEach(a -> {
+            statisticsService.record(a.submission());
+            submissionService.publishResultEvents(a.submission(), a.examTitle(), a.studentEmail());
+        });
+        log.info("Processed {} submission receipts ({} accepted)", receipts.size(), accepted.size());
+    }
+
+    /**
+     * @return false if the receipt failed for a reason other than its own data
+     */
+    private boolean processAlone(SubmissionReceipt receipt, List<Accepted> accepted) {
+        // The failed batch may have changed the entity before rolling back
+        receipt.setStatus(SubmissionReceipt.ReceiptStatus.PROCESSING);
+        receipt.setSubmissionId(null);
+        receipt.setError(null);
+        try {
+            accepted.addAll(transactionTemplate.execute(status -> persist(List.of(receipt))));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // The database refuses this receipt's data (e.g. a synchronous submit won the unique
+            // (exam, student) race); retrying it would fail the same way forever
+            reject(receipt, e instanceof DuplicateKeyException
+                    ? "Exam was already submitted"
+                    : "Submission could not be stored: " + e.getMostSpecificCause().getMessage());
+            try {
+                transactionTemplate.executeWithoutResult(status -> batchRepository.completeReceipts(List.of(receipt)));
+                return true;
+            } catch (RuntimeException markFailure) {
+                log.error("Failed to mark submission receipt {} rejected: {}", receipt.getId(), markFailure.getMessage());
+                return false;
+            }
+        } catch (RuntimeException e) {
+            // Receipt stays PROCESSING and is retried after the claim timeout
+            log.error("Failed to process submission receipt {}: {}", receipt.getId(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private List<Accepted> persist(List<SubmissionReceipt> receipts) {
+        Map<Long, Optional<Exam>> exams = new HashMap<>();
+        Set<String> alreadySubmitted = existingSubmissions(receipts);
+
+        List<Accepted> accepted = new ArrayList<>();
+        for (SubmissionReceipt receipt : receipts) {
+            Exam exam = exams.computeIfAbsent(receipt.getExamId(), examRepository::findById).orElse(null);
+            String rejection = validate(receipt, exam, alreadySubmitted);
+            if (rejection == null) {
+                try {
+                    List<AnswerDto> answers = objectMapper.readValue(receipt.getAnswersJson(), ANSWER_LIST);
+                    Submission submission = submissionService.newSubmission(
+                            exam, receipt.getStudentId(), answers, receipt.getReceivedAt());
+                    gradingService.grade(submission, gradingService.answerKey(exam));
+                    accepted.add(new Accepted(receipt, submission, exam.getTitle(), receipt.getStudentEmail()));
+                    alreadySubmitted.add(pairKey(receipt.getExamId(), receipt.getStudentId()));
+                } catch (JsonProcessingException | RuntimeException e) {
+                    // A bad receipt must not fail (and endlessly retry) the whole batch
+                    rejection = String.valueOf(e.getMessage());
+                }
+            }
+            if (rejection != null) {
+                reject(receipt, rejection);
+            }
+        }
+
+        batchRepository.insertAll(accepted.stream().map(Accepted::submission).toList());
+        for (Accepted a : accepted) {
+            a.receipt().setStatus(SubmissionReceipt.ReceiptStatus.PROCESSED);
+            a.receipt().setSubmissionId(a.submission().getId());
+        }
+        batchRepository.completeReceipts(receipts);
+        return accepted;
+    }
+
+    private static void reject(SubmissionReceipt receipt, String rejection) {
+        receipt.setStatus(SubmissionReceipt.ReceiptStatus.REJECTED);
+        receipt.setSubmissionId(null);
+        receipt.setError(rejection.length() > 500 ? rejection.substring(0, 500) : rejection);
+        log.warn("Rejected submission receipt {}: {}", receipt.getId(), rejection);
+    }
+
+    private static String validate(SubmissionReceipt receipt, Exam exam, Set<String> alreadySubmitted) {
+        if (exam == null) {
+            return "Exam not found with ID: " + receipt.getExamId();
+        }
+        if (receipt.getReceivedAt().isBefore(exam.getStartTime()) || receipt.getReceivedAt().isAfter(exam.getEndTime())) {
+            return "Submission was received outside the exam window";
+        }
+        if (alreadySubmitted.contains(pairKey(receipt.getExamId(), receipt.getStudentId()))) {
+            return "Exam was already submitted";
+        }
+        return null;
+    }
+
+    private Set<String> existingSubmissions(List<SubmissionReceipt> receipts) {
+        Set<Long> examIds = new HashSet<>();
+        Set<String> studentIds = new HashSet<>();
+        receipts.forEach(receipt -> {
+            examIds.add(receipt.getExamId());
+            studentIds.add(receipt.getStudentId());
+        });
+        return new HashSet<>(submissionRepository.findExamStudentPairs(examIds, studentIds));
+    }
+
+    private static String pairKey(Long examId, String studentId) {
+        return examId + ":" + studentId;
+    }
+
+    private String duplicateMessage(Long examId, String studentId) {
+        return receiptRepository.findByExamIdAndStudentId(examId, studentId)
+                .filter(existing -> existing.getStatus() == SubmissionReceipt.ReceiptStatus.PENDING
+                        || existing.getStatus() == SubmissionReceipt.ReceiptStatus.PROCESSING)
+                .map(existing -> "Your submission for this exam is already being processed (receipt "
+                        + existing.getId() + ")")
+                .orElse("You have already submitted this exam");
+    }
+
+    private static SubmissionReceiptResponse toResponse(SubmissionReceipt receipt) {
+        return new SubmissionReceiptResponse(
+                receipt.getId(),
+                receipt.getExamId(),
+                receipt.getStatus().toString(),
+                receipt.getReceivedAt(),
+                receipt.getSubmissionId(),
+                receipt.getError()
+        );
+    }
+
+    private record Accepted(SubmissionReceipt receipt, Submission submission, String examTitle, String studentEmail) {}
+}
@@ -5,29 +5,46 @@ import io.github.bardiakz.exam_service.entity.*;
 import io.github.bardiakz.exam_service.event.ExamGradedEvent;
 import io.github.bardiakz.exam_service.event.ExamSubmittedEvent;
 import io.github.bardiakz.exam_service.exception.ExamNotFoundException;
+import io.github.bardiakz.exam_service.exception.UnauthorizedException;
 import io.github.bardiakz.exam_service.repository.ExamRepository;
 import io.github.bardiakz.exam_service.repository.SubmissionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class SubmissionService {
     private static final Logger log = LoggerFactory.getLogger(SubmissionService.class);
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final SubmissionRepository submissionRepository;
     private final ExamRepository examRepository;
     private final NotificationService notificationService;
+    private final GradingService gradingService;
+    private final ExamStatisticsService statisticsService;
+    private final QuestionBankService questionBankService;
 
-    public SubmissionService(SubmissionRepository submissionRepository, ExamRepository examRepository, NotificationService notificationService) {
+    public SubmissionService(SubmissionRepository submissionRepository, ExamRepository examRepository,
+                             NotificationService notificationService, GradingService gradingService,
+                             ExamStatisticsService statisticsService, QuestionBankService questionBankService) {
         this.submissionRepository = submissionRepository;
         this.examRepository = examRepository;
         this.notificationService = notificationService;
+        this.gradingService = gradingService;
+        this.statisticsService = statisticsService;
+        this.questionBankService = questionBankService;
     }
 
     @Transactional
@@ -43,32 +60,29 @@ public class SubmissionService {
             throw new IllegalStateException("You have already submitted this exam");
         }
 
-        Submission submission = new Submission();
-        submission.setExamId(request.getExamId());
-        submission.setStudentId(studentId);
-        submission.setSubmittedAt(LocalDateTime.now());
-        submission.setStatus(Submission.SubmissionStatus.SUBMITTED);
-        submission.setTotalScore(exam.getTotalMarks());
-
-        List<Answer> answers = request.getAnswers().stream()
-                .map(dto -> mapToAnswerEntity(dto, submission, exam))
-                .collect(Collectors.toList());
-        submission.setAnswers(answers);
+        Submission submission = newSubmission(exam, studentId, request.getAnswers(), LocalDateTime.now());
 
         // Auto-grade objective questions
-        int obtainedScore = autoGradeSubmission(answers, exam);
-        submission.setObtainedScore(obtainedScore);
-        submission.setStatus(Submission.SubmissionStatus.GRADED);
-        submission.setGradedAt(LocalDateTime.now());
+        gradingService.grade(submission, gradingService.answerKey(exam));
 
         Submission saved = submissionRepository.save(submission);
         log.info("Submission saved with ID: {} for student {}", saved.getId(), studentId);
 
+        statisticsService.record(saved);
+        publishResultEvents(saved, exam.getTitle(), studentEmail);
+
+        return mapToSubmissionResponse(saved);
+    }
+
+    /**
+     * Send the submitted and graded notifications for a persisted submission
+     */
+    public void publishResultEvents(Submission saved, String examTitle, String studentEmail) {
         try {
             ExamSubmittedEvent submittedEvent = new ExamSubmittedEvent(
                     "ExamSubmitted",
                     saved.getId(),
-                    exam.getTitle(),
+                    examTitle,
                     studentEmail,
                     saved.getSubmittedAt(),
                     LocalDateTime.now()
@@ -78,7 +92,7 @@ public class SubmissionService {
             ExamGradedEvent gradedEvent = new ExamGradedEvent(
                     "ExamGraded",
                     saved.getId(),
-                    exam.getTitle(),
+                    examTitle,
                     studentEmail,
                     (double) saved.getObtainedScore(),
                     (double) saved.getTotalScore(),
@@ -89,8 +103,67 @@ public class SubmissionService {
         } catch (Exception e) {
             log.error("Failed to send notification for submission {}: {}", saved.getId(), e.getMessage());
         }
+    }
 
-        return mapToSubmissionResponse(saved);
+    /**
+     * Rebuild the exam's answer key and re-grade every submission in parallel
+     */
+    @Transactional
+    public RegradeResponse regradeExam(Long examId, String instructorId) {
+        long started = System.nanoTime();
+
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ExamNotFoundException("Exam not found with ID: " + examId));
+
+        if (!exam.getInstructorId().equals(instructorId)) {
+            throw new UnauthorizedException("You are not authorized to regrade this exam");
+        }
+
+        AnswerKey key = gradingService.precompute(exam);
+        List<Submission> submissions = submissionRepository.findWithAnswersByExamId(examId);
+        int changed = gradingService.regradeAll(submissions, key);
+        submissionRepository.saveAll(submissions);
+        statisticsService.invalidate(examId);
+        if (exam.getStatus() == Exam.ExamStatus.COMPLETED) {
+            // No more submissions will be graded with it
+            gradingService.evict(examId);
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Regraded {} submissions of exam {} ({} changed) in {} ms",
+                submissions.size(), examId, changed, durationMs);
+        return new RegradeResponse(examId, submissions.size(), changed, durationMs);
+    }
+
+    /**
+     * Build an unsaved submission with its answers
+     */
+    public Submission newSubmission(Exam exam, String studentId, List<AnswerDto> answerDtos, LocalDateTime submittedAt) {
+        int totalScore = exam.getTotalMarks();
+        if (exam.usesQuestionBank()) {
+            // The answer key covers the whole pool, so only the student's own draw is accepted
+            QuestionPool pool = questionBankService.pool(exam);
+            long[] drawn = pool.sortedDraw(studentId);
+            totalScore = pool.totalMarks(drawn);
+            for (AnswerDto dto : answerDtos) {
+                if (dto.getQuestionId() == null || Arrays.binarySearch(drawn, dto.getQuestionId()) < 0) {
+                    throw new IllegalArgumentException("Question not found: " + dto.getQuestionId());
+                }
+            }
+        }
+
+        Submission submission = new Submission();
+        submission.setExamId(exam.getId());
+        submission.setStudentId(studentId);
+        submission.setSubmittedAt(submittedAt);
+        submission.setStatus(Submission.SubmissionStatus.SUBMITTED);
+        submission.setTotalScore(totalScore);
+
+        List<Answer> answers = answerDtos.stream()
+                .map(dto -> mapToAnswerEntity(dto, submission))
+                .collect(Collectors.toList());
+        submission.setAnswers(answers);
+        return submission;
     }
 
     @Transactional(readOnly = true)
@@ -110,7 +183,7 @@ public class SubmissionService {
     @Transactional(readOnly = true)
     public List<SubmissionResponse> getSubmissionsByStudent(String studentId) {
         log.info("Fetching all submissions for student {}", studentId);
-        return submissionRepository.findByStudentId(studentId)
+        return submissionRepository.findWithAnswersByStudentId(studentId)
                 .stream()
                 .map(this::mapToSubmissionResponse)
                 .collect(Collectors.toList());
@@ -119,12 +192,62 @@ public class SubmissionService {
     @Transactional(readOnly = true)
     public List<SubmissionResponse> getSubmissionsByExam(Long examId) {
         log.info("Fetching all submissions for exam {}", examId);
-        return submissionRepository.findByExamId(examId)
+        return submissionRepository.findWithAnswersByExamId(examId)
                 .stream()
                 .map(this::mapToSubmissionResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Page of an exam's submissions; answers are only loaded (in one query) when expanded
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<SubmissionResponse> getSubmissionPageByExam(Long examId, String instructorId,
+                                                                   int page, int size, boolean withAnswers) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ExamNotFoundException("Exam not found with ID: " + examId));
+
+        if (!exam.getInstructorId().equals(instructorId)) {
+            throw new UnauthorizedException("You are not authorized to view submissions of this exam");
+        }
+
+        PageRequest pageRequest = pageRequest(page, size, Sort.by("studentId"));
+        return toPageResponse(submissionRepository.findSummariesByExamId(examId, pageRequest), withAnswers);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<SubmissionResponse> getSubmissionPageByStudent(String studentId,
+                                                                      int page, int size, boolean withAnswers) {
+        PageRequest pageRequest = pageRequest(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
+        return toPageResponse(submissionRepository.findSummariesByStudentId(studentId, pageRequest), withAnswers);
+    }
+
+    private static PageRequest pageRequest(int page, int size, Sort sort) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(page, size, sort.and(Sort.by("id")));
+    }
+
+    private PageResponse<SubmissionResponse> toPageResponse(Page<SubmissionSummary> summaries, boolean withAnswers) {
+        Map<Long, Submission> detailed = Map.of();
+        if (withAnswers && summaries.hasContent()) {
+            List<Long> ids = summaries.map(SubmissionSummary::getId).getContent();
+            detailed = submissionRepository.findWithAnswersByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Submission::getId, Function.identity()));
+        }
+
+        Map<Long, Submission> answers = detailed;
+        List<SubmissionResponse> content = summaries.stream()
+                .map(summary -> answers.containsKey(summary.getId())
+                        ? mapToSubmissionResponse(answers.get(summary.getId()))
+                        : mapToSubmissionResponse(summary))
+                .collect(Collectors.toList());
+
+        return new PageResponse<>(content, summaries.getNumber(), summaries.getSize(),
+                summaries.getTotalElements(), summaries.getTotalPages());
+    }
+
     private void validateExamSubmission(Exam exam) {
         LocalDateTime now = LocalDateTime.now();
 
@@ -141,36 +264,14 @@ public class SubmissionService {
         }
     }
 
-    private Answer mapToAnswerEntity(AnswerDto dto, Submission submission, Exam exam) {
+    private Answer mapToAnswerEntity(AnswerDto dto, Submission submission) {
         Answer answer = new Answer();
         answer.setSubmission(submission);
         answer.setQuestionId(dto.getQuestionId());
         answer.setAnswerText(dto.getAnswerText());
-
-        // Find the question to check answer
-        Question question = exam.getQuestions().stream()
-                .filter(q -> q.getId().equals(dto.getQuestionId()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Question not found: " + dto.getQuestionId()));
-
-        // Auto-grade objective questions
-        if (question.getType() == Question.QuestionType.MULTIPLE_CHOICE ||
-                question.getType() == Question.QuestionType.TRUE_FALSE) {
-            boolean isCorrect = question.getCorrectAnswer().equalsIgnoreCase(dto.getAnswerText().trim());
-            answer.setIsCorrect(isCorrect);
-            answer.setMarksAwarded(isCorrect ? question.getMarks() : 0);
-        }
-
         return answer;
     }
 
-    private int autoGradeSubmission(List<Answer> answers, Exam exam) {
-        return answers.stream()
-                .filter(answer -> answer.getIsCorrect() != null && answer.getIsCorrect())
-                .mapToInt(Answer::getMarksAwarded)
-                .sum();
-    }
-
     private SubmissionResponse mapToSubmissionResponse(Submission submission) {
         List<AnswerDto> answerDtos = submission.getAnswers().stream()
                 .map(this::mapToAnswerDto)
@@ -190,6 +291,21 @@ public class SubmissionService {
         );
     }
 
+    private SubmissionResponse mapToSubmissionResponse(SubmissionSummary summary) {
+        return new SubmissionResponse(
+                summary.getId(),
+                summary.getExamId(),
+                summary.getStudentId(),
+                null,
+                summary.getSubmittedAt(),
+                summary.getStatus().toString(),
+                summary.getTotalScore(),
+                summary.getObtainedScore(),
+                summary.getGradedAt(),
+                summary.getFeedback()
+        );
+    }
+
     private AnswerDto mapToAnswerDto(Answer answer) {
         return new AnswerDto(
                 answer.getId(),
@@ -31,6 +31,13 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-websocket")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+
+    // Caffeine cache for sensor metadata
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    // MQTT device ingest
+    implementation("org.eclipse.paho:org.eclipse.paho.client.mqttv3:1.2.5")
 
     // PostgreSQL Driver
     runtimeOnly("org.postgresql:postgresql")
@@ -44,6 +51,11 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.amqp:spring-rabbit-test")
     testImplementation("org.springframework.security:spring-security-test")
+    testImplementation("io.moquette:moquette-broker:0.17") {
+        // Moquette ships its own SLF4J binding, which clashes with Logback
+        exclude(group = "org.slf4j", module = "slf4j-reload4j")
+        exclude(group = "ch.qos.reload4j")
+    }
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
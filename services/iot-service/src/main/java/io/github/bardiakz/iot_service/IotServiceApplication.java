@@ -2,8 +2,10 @@ package io.github.bardiakz.iot_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class IotServiceApplication {
 
 	public static void main(String[] args) {
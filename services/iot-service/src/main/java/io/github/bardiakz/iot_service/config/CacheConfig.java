@@ -1,17 +1,39 @@
 package io.github.bardiakz.iot_service.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${iot.cache.sensors.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${iot.cache.sensors.expire-after-write-seconds:600}")
+    private long expireAfterWriteSeconds;
+
+    /**
+     * Bounded, TTL-evicting sensor metadata cache
+     * Cache names are fixed up front so actuator binds the hit/miss metrics at startup
+     */
     @Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("sensors");
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats());
+        cacheManager.setCacheNames(List.of("sensors"));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
     }
-}
\ No newline at end of file
+}
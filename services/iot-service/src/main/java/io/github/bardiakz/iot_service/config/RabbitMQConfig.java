@@ -4,6 +4,7 @@ import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +14,8 @@ public class RabbitMQConfig {
     public static final String EXCHANGE = "iot.events";
     public static final String QUEUE_SENSOR_DATA = "iot.sensor.data.queue";
     public static final String ROUTING_KEY_SENSOR_DATA = "iot.sensor.data";
+    public static final String QUEUE_SENSOR_ALERT = "iot.sensor.alert.queue";
+    public static final String ROUTING_KEY_SENSOR_ALERT = "iot.sensor.alert";
 
     @Bean
     public TopicExchange iotEventsExchange() {
@@ -31,6 +34,27 @@ public class RabbitMQConfig {
                 .with(ROUTING_KEY_SENSOR_DATA);
     }
 
+    /**
+     * Bounded so alerts can't pile up without limit while no consumer is attached:
+     * the oldest alerts are dropped beyond max-length, and stale ones expire after the TTL
+     */
+    @Bean
+    public Queue sensorAlertQueue(@Value("${iot.alerts.queue.max-length:10000}") int maxLength,
+                                  @Value("${iot.alerts.queue.ttl-ms:86400000}") int ttlMillis) {
+        return QueueBuilder.durable(QUEUE_SENSOR_ALERT)
+                .maxLength(maxLength)
+                .overflow(QueueBuilder.Overflow.dropHead)
+                .ttl(ttlMillis)
+                .build();
+    }
+
+    @Bean
+    public Binding sensorAlertBinding(Queue sensorAlertQueue) {
+        return BindingBuilder.bind(sensorAlertQueue)
+                .to(iotEventsExchange())
+                .with(ROUTING_KEY_SENSOR_ALERT);
+    }
+
     @Bean
     public JacksonJsonMessageConverter messageConverter() {
         return new JacksonJsonMessageConverter();
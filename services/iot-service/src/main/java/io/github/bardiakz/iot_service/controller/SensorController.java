@@ -1,13 +1,24 @@
 package io.github.bardiakz.iot_service.controller;
 
+import io.github.bardiakz.iot_service.dto.AlertRuleDTO;
+import io.github.bardiakz.iot_service.dto.AlertRuleRequest;
+import io.github.bardiakz.iot_service.dto.BatchIngestResponse;
+import io.github.bardiakz.iot_service.dto.SensorAggregateResponse;
 import io.github.bardiakz.iot_service.dto.SensorDTO;
+import io.github.bardiakz.iot_service.dto.SensorHistoryResponse;
 import io.github.bardiakz.iot_service.dto.SensorReadingDTO;
+import io.github.bardiakz.iot_service.dto.SensorReadingRequest;
 import io.github.bardiakz.iot_service.dto.SensorRegisterRequest;
 import io.github.bardiakz.iot_service.dto.SensorUpdateRequest;
+import io.github.bardiakz.iot_service.service.SensorAggregationService;
+import io.github.bardiakz.iot_service.service.SensorAlertService;
+import io.github.bardiakz.iot_service.service.SensorHistoryService;
 import io.github.bardiakz.iot_service.service.SensorService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -15,10 +26,21 @@ import java.util.Map;
 @RequestMapping("/api/iot/sensors")
 public class SensorController {
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final SensorService sensorService;
+    private final SensorHistoryService historyService;
+    private final SensorAggregationService aggregationService;
+    private final SensorAlertService alertService;
 
-    public SensorController(SensorService sensorService) {
+    public SensorController(SensorService sensorService,
+                            SensorHistoryService historyService,
+                            SensorAggregationService aggregationService,
+                            SensorAlertService alertService) {
         this.sensorService = sensorService;
+        this.historyService = historyService;
+        this.aggregationService = aggregationService;
+        this.alertService = alertService;
     }
 
     @PostMapping("/register")
@@ -52,6 +74,55 @@ public class SensorController {
         return ResponseEntity.ok(sensorService.getRecentReadings(sensorId, limit));
     }
 
+    /**
+     * Readings over a time range as compact arrays
+     * resolution=auto picks raw, 1-minute or 1-hour rollups from the span
+     */
+    @GetMapping("/{sensorId}/history")
+    public ResponseEntity<SensorHistoryResponse> getHistory(
+            @PathVariable String sensorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "auto") String resolution) {
+        return ResponseEntity.ok(historyService.getHistory(sensorId, from, to, resolution));
+    }
+
+    /**
+     * Bucketed aggregate over several sensors, e.g. hourly average temperature for the last week
+     * GET /api/iot/sensors/aggregate?sensorIds=a,b&from=...&to=...&bucket=1h&fn=avg
+     */
+    @GetMapping("/aggregate")
+    public ResponseEntity<SensorAggregateResponse> aggregate(
+            @RequestParam List<String> sensorIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "1h") String bucket,
+            @RequestParam(defaultValue = "avg") String fn,
+            @RequestParam(defaultValue = "95") double percentile) {
+        return ResponseEntity.ok(aggregationService.aggregate(sensorIds, from, to, bucket, fn, percentile));
+    }
+
+    @GetMapping("/{sensorId}/alert-rule")
+    public ResponseEntity<AlertRuleDTO> getAlertRule(@PathVariable String sensorId) {
+        return ResponseEntity.ok(alertService.getRule(sensorId));
+    }
+
+    @PutMapping("/{sensorId}/alert-rule")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('FACULTY')")
+    public ResponseEntity<AlertRuleDTO> saveAlertRule(
+            @PathVariable String sensorId,
+            @RequestBody AlertRuleRequest request) {
+        sensorService.getSensor(sensorId);
+        return ResponseEntity.ok(alertService.saveRule(sensorId, request));
+    }
+
+    @DeleteMapping("/{sensorId}/alert-rule")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('FACULTY')")
+    public ResponseEntity<Void> deleteAlertRule(@PathVariable String sensorId) {
+        alertService.deleteRule(sensorId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/{sensorId}/reading")
     public ResponseEntity<Void> recordReading(
             @PathVariable String sensorId,
@@ -59,4 +130,21 @@ public class SensorController {
         sensorService.recordReading(sensorId, payload.get("value"));
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Bulk ingest of readings across many sensors
+     * POST /api/iot/sensors/readings  [{"sensorId": "...", "value": 21.5, "timestamp": "..."}]
+     */
+    @PostMapping("/readings")
+    public ResponseEntity<BatchIngestResponse> recordReadings(@RequestBody List<SensorReadingRequest> readings) {
+        if (readings.isEmpty() || readings.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(sensorService.recordReadings(readings));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
 }
@@ -0,0 +1,29 @@
+package io.github.bardiakz.iot_service.dto;
+
+public class AlertRuleDTO {
+    private String sensorId;
+    private Double minValue;
+    private Double maxValue;
+    private Double anomalyThreshold;
+    private Integer cooldownSeconds;
+    private boolean enabled;
+
+    // Getters & Setters
+    public String getSensorId() { return sensorId; }
+    public void setSensorId(String sensorId) { this.sensorId = sensorId; }
+
+    public Double getMinValue() { return minValue; }
+    public void setMinValue(Double minValue) { this.minValue = minValue; }
+
+    public Double getMaxValue() { return maxValue; }
+    public void setMaxValue(Double maxValue) { this.maxValue = maxValue; }
+
+    public Double getAnomalyThreshold() { return anomalyThreshold; }
+    public void setAnomalyThreshold(Double anomalyThreshold) { this.anomalyThreshold = anomalyThreshold; }
+
+    public Integer getCooldownSeconds() { return cooldownSeconds; }
+    public void setCooldownSeconds(Integer cooldownSeconds) { this.cooldownSeconds = cooldownSeconds; }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+}
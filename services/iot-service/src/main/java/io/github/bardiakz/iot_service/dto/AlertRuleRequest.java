@@ -0,0 +1,25 @@
+package io.github.bardiakz.iot_service.dto;
+
+public class AlertRuleRequest {
+    private Double minValue;
+    private Double maxValue;
+    private Double anomalyThreshold;
+    private Integer cooldownSeconds;
+    private Boolean enabled;
+
+    // Getters & Setters
+    public Double getMinValue() { return minValue; }
+    public void setMinValue(Double minValue) { this.minValue = minValue; }
+
+    public Double getMaxValue() { return maxValue; }
+    public void setMaxValue(Double maxValue) { this.maxValue = maxValue; }
+
+    public Double getAnomalyThreshold() { return anomalyThreshold; }
+    public void setAnomalyThreshold(Double anomalyThreshold) { this.anomalyThreshold = anomalyThreshold; }
+
+    public Integer getCooldownSeconds() { return cooldownSeconds; }
+    public void setCooldownSeconds(Integer cooldownSeconds) { this.cooldownSeconds = cooldownSeconds; }
+
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+}
@@ -0,0 +1,27 @@
+package io.github.bardiakz.iot_service.dto;
+
+import java.util.List;
+
+public class BatchIngestResponse {
+    private int accepted;
+    private int rejected;
+    private List<String> unknownSensors;
+
+    public BatchIngestResponse() {}
+
+    public BatchIngestResponse(int accepted, int rejected, List<String> unknownSensors) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.unknownSensors = unknownSensors;
+    }
+
+    // Getters & Setters
+    public int getAccepted() { return accepted; }
+    public void setAccepted(int accepted) { this.accepted = accepted; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<String> getUnknownSensors() { return unknownSensors; }
+    public void setUnknownSensors(List<String> unknownSensors) { this.unknownSensors = unknownSensors; }
+}
@@ -0,0 +1,65 @@
+package io.github.bardiakz.iot_service.dto;
+
+import java.util.List;
+
+/**
+ * Aggregated series for several sensors sharing one bucket axis
+ * Each series holds one value per bucket start, null where the bucket has no readings
+ */
+public class SensorAggregateResponse {
+    private String function;
+    private long bucketSeconds;
+    private String source;
+    private long[] timestamps;
+    private List<Series> series;
+
+    public SensorAggregateResponse() {}
+
+    public SensorAggregateResponse(String function, long bucketSeconds, String source,
+                                   long[] timestamps, List<Series> series) {
+        this.function = function;
+        this.bucketSeconds = bucketSeconds;
+        this.source = source;
+        this.timestamps = timestamps;
+        this.series = series;
+    }
+
+    // Getters & Setters
+    public String getFunction() { return function; }
+    public void setFunction(String function) { this.function = function; }
+
+    public long getBucketSeconds() { return bucketSeconds; }
+    public void setBucketSeconds(long bucketSeconds) { this.bucketSeconds = bucketSeconds; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public long[] getTimestamps() { return timestamps; }
+    public void setTimestamps(long[] timestamps) { this.timestamps = timestamps; }
+
+    public List<Series> getSeries() { return series; }
+    public void setSeries(List<Series> series) { this.series = series; }
+
+    public static class Series {
+        private String sensorId;
+        private String unit;
+        private Double[] values;
+
+        public Series() {}
+
+        public Series(String sensorId, String unit, Double[] values) {
+            this.sensorId = sensorId;
+            this.unit = unit;
+            this.values = values;
+        }
+
+        public String getSensorId() { return sensorId; }
+        public void setSensorId(String sensorId) { this.sensorId = sensorId; }
+
+        public String getUnit() { return unit; }
+        public void setUnit(String unit) { this.unit = unit; }
+
+        public Double[] getValues() { return values; }
+        public void setValues(Double[] values) { this.values = values; }
+    }
+}
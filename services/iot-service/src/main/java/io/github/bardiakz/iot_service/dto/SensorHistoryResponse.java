@@ -0,0 +1,115 @@
+package io.github.bardiakz.iot_service.dto;
+
+import java.util.Arrays;
+
+/**
+ * Time series for one sensor as parallel arrays (epoch millis + values) instead of per-point objects
+ *
+ * For raw resolution values are the readings themselves and min/max/counts are null,
+ * for rollups values are bucket averages.
+ */
+public class SensorHistoryResponse {
+    private String sensorId;
+    private String unit;
+    private String resolution;
+    private long[] timestamps;
+    private double[] values;
+    private double[] min;
+    private double[] max;
+    private long[] counts;
+
+    public SensorHistoryResponse() {}
+
+    // Getters & Setters
+    public String getSensorId() { return sensorId; }
+    public void setSensorId(String sensorId) { this.sensorId = sensorId; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public String getResolution() { return resolution; }
+    public void setResolution(String resolution) { this.resolution = resolution; }
+
+    public long[] getTimestamps() { return timestamps; }
+    public void setTimestamps(long[] timestamps) { this.timestamps = timestamps; }
+
+    public double[] getValues() { return values; }
+    public void setValues(double[] values) { this.values = values; }
+
+    public double[] getMin() { return min; }
+    public void setMin(double[] min) { this.min = min; }
+
+    public double[] getMax() { return max; }
+    public void setMax(double[] max) { this.max = max; }
+
+    public long[] getCounts() { return counts; }
+    public void setCounts(long[] counts) { this.counts = counts; }
+
+    /**
+     * Growable column buffers, filled row by row from a result set
+     */
+    public static class Builder {
+        private final boolean rollup;
+        private int size;
+        private long[] timestamps = new long[256];
+        private double[] values = new double[256];
+        private double[] min;
+        private double[] max;
+        private long[] counts;
+
+        public Builder(boolean rollup) {
+            this.rollup = rollup;
+            if (rollup) {
+                min = new double[256];
+                max = new double[256];
+                counts = new long[256];
+            }
+        }
+
+        public void addRaw(long timestamp, double value) {
+            ensureCapacity();
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        public void addBucket(long timestamp, long count, double sum, double bucketMin, double bucketMax) {
+            ensureCapacity();
+            timestamps[size] = timestamp;
+            values[size] = sum / count;
+            min[size] = bucketMin;
+            max[size] = bucketMax;
+            counts[size] = count;
+            size++;
+        }
+
+        private void ensureCapacity() {
+            if (size < timestamps.length) {
+                return;
+            }
+            int capacity = timestamps.length * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            values = Arrays.copyOf(values, capacity);
+            if (rollup) {
+                min = Arrays.copyOf(min, capacity);
+                max = Arrays.copyOf(max, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+        }
+
+        public SensorHistoryResponse build(String sensorId, String unit, String resolution) {
+            SensorHistoryResponse response = new SensorHistoryResponse();
+            response.setSensorId(sensorId);
+            response.setUnit(unit);
+            response.setResolution(resolution);
+            response.setTimestamps(Arrays.copyOf(timestamps, size));
+            response.setValues(Arrays.copyOf(values, size));
+            if (rollup) {
+                response.setMin(Arrays.copyOf(min, size));
+                response.setMax(Arrays.copyOf(max, size));
+                response.setCounts(Arrays.copyOf(counts, size));
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.bardiakz.iot_service.dto;
+
+import java.time.Instant;
+
+/**
+ * Single reading inside a batch ingest request; timestamp defaults to the time of ingest
+ */
+public class SensorReadingRequest {
+    private String sensorId;
+    private Double value;
+    private Instant timestamp;
+
+    public SensorReadingRequest() {}
+
+    public SensorReadingRequest(String sensorId, Double value, Instant timestamp) {
+        this.sensorId = sensorId;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    // Getters & Setters
+    public String getSensorId() { return sensorId; }
+    public void setSensorId(String sensorId) { this.sensorId = sensorId; }
+
+    public Double getValue() { return value; }
+    public void setValue(Double value) { this.value = value; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,68 @@
+package io.github.bardiakz.iot_service.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Alerting thresholds for one sensor
+ * Null bounds are not checked; a null anomalyThreshold (z-score) falls back to the global default
+ */
+@Entity
+@Table(name = "sensor_alert_rules")
+public class AlertRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sensor_id", unique = true, nullable = false)
+    private String sensorId;
+
+    @Column(name = "min_value")
+    private Double minValue;
+
+    @Column(name = "max_value")
+    private Double maxValue;
+
+    @Column(name = "anomaly_threshold")
+    private Double anomalyThreshold;
+
+    @Column(name = "cooldown_seconds")
+    private Integer cooldownSeconds;
+
+    private boolean enabled = true;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSensorId() { return sensorId; }
+    public void setSensorId(String sensorId) { this.sensorId = sensorId; }
+
+    public Double getMinValue() { return minValue; }
+    public void setMinValue(Double minValue) { this.minValue = minValue; }
+
+    public Double getMaxValue() { return maxValue; }
+    public void setMaxValue(Double maxValue) { this.maxValue = maxValue; }
+
+    public Double getAnomalyThreshold() { return anomalyThreshold; }
+    public void setAnomalyThreshold(Double anomalyThreshold) { this.anomalyThreshold = anomalyThreshold; }
+
+    public Integer getCooldownSeconds() { return cooldownSeconds; }
+    public void setCooldownSeconds(Integer cooldownSeconds) { this.cooldownSeconds = cooldownSeconds; }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
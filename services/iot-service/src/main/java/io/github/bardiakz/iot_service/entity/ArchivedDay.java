@@ -0,0 +1,27 @@
+package io.github.bardiakz.iot_service.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Retention bookkeeping for one UTC day of readings: the highest reading id already counted in its rollups
+ * Rows are maintained by ReadingRollupService, never written through JPA
+ */
+@Entity
+@Table(name = "sensor_archive_days")
+public class ArchivedDay {
+
+    @Id
+    @Column(name = "archive_day")
+    private LocalDate day;
+
+    @Column(name = "rolled_up_max_id", nullable = false)
+    private long rolledUpMaxId;
+
+    // Getters & Setters
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public long getRolledUpMaxId() { return rolledUpMaxId; }
+    public void setRolledUpMaxId(long rolledUpMaxId) { this.rolledUpMaxId = rolledUpMaxId; }
+}
@@ -0,0 +1,68 @@
+package io.github.bardiakz.iot_service.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Pre-aggregated readings for one sensor over one time bucket (1 minute or 1 hour)
+ * Rows are maintained by ReadingRollupService, never written through JPA
+ */
+@Entity
+@Table(name = "sensor_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_sensor_rollup_bucket", columnNames = {"sensor_id", "resolution_seconds", "bucket_start"})
+})
+public class SensorRollup {
+
+    public static final int MINUTE = 60;
+    public static final int HOUR = 3600;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sensor_id", nullable = false)
+    private String sensorId;
+
+    @Column(name = "resolution_seconds", nullable = false)
+    private int resolutionSeconds;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+
+    @Column(name = "value_sum", nullable = false)
+    private double valueSum;
+
+    @Column(name = "value_min", nullable = false)
+    private double valueMin;
+
+    @Column(name = "value_max", nullable = false)
+    private double valueMax;
+
+    // Getters & Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSensorId() { return sensorId; }
+    public void setSensorId(String sensorId) { this.sensorId = sensorId; }
+
+    public int getResolutionSeconds() { return resolutionSeconds; }
+    public void setResolutionSeconds(int resolutionSeconds) { this.resolutionSeconds = resolutionSeconds; }
+
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getSampleCount() { return sampleCount; }
+    public void setSampleCount(long sampleCount) { this.sampleCount = sampleCount; }
+
+    public double getValueSum() { return valueSum; }
+    public void setValueSum(double valueSum) { this.valueSum = valueSum; }
+
+    public double getValueMin() { return valueMin; }
+    public void setValueMin(double valueMin) { this.valueMin = valueMin; }
+
+    public double getValueMax() { return valueMax; }
+    public void setValueMax(double valueMax) { this.valueMax = valueMax; }
+}
@@ -0,0 +1,59 @@
+package io.github.bardiakz.iot_service.event;
+
+import java.time.Instant;
+
+/**
+ * Published to iot.events with routing key iot.sensor.alert
+ */
+public class SensorAlert {
+
+    public enum AlertType { ABOVE_MAX, BELOW_MIN, ANOMALY }
+
+    private String eventId;
+    private String sensorId;
+    private String sensorName;
+    private String location;
+    private String unit;
+    private AlertType alertType;
+    private Double value;
+    private Double threshold;
+    private Double baseline; // EWMA of recent readings
+    private Double anomalyScore; // z-score against the rolling window
+    private Instant timestamp;
+
+    public SensorAlert() {}
+
+    // Getters & Setters
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getSensorId() { return sensorId; }
+    public void setSensorId(String sensorId) { this.sensorId = sensorId; }
+
+    public String getSensorName() { return sensorName; }
+    public void setSensorName(String sensorName) { this.sensorName = sensorName; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public AlertType getAlertType() { return alertType; }
+    public void setAlertType(AlertType alertType) { this.alertType = alertType; }
+
+    public Double getValue() { return value; }
+    public void setValue(Double value) { this.value = value; }
+
+    public Double getThreshold() { return threshold; }
+    public void setThreshold(Double threshold) { this.threshold = threshold; }
+
+    public Double getBaseline() { return baseline; }
+    public void setBaseline(Double baseline) { this.baseline = baseline; }
+
+    public Double getAnomalyScore() { return anomalyScore; }
+    public void setAnomalyScore(Double anomalyScore) { this.anomalyScore = anomalyScore; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,9 @@
+package io.github.bardiakz.iot_service.repository;
+
+import io.github.bardiakz.iot_service.entity.AlertRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Optional;
+
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Long> {
+    Optional<AlertRule> findBySensorId(String sensorId);
+}
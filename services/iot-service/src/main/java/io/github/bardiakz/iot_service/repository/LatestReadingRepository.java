@@ -0,0 +1,42 @@
+package io.github.bardiakz.iot_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Reads the newest reading of every sensor in one round trip
+ */
+@Repository
+public class LatestReadingRepository {
+
+    // One index probe on (sensor_id, timestamp) per sensor instead of scanning all readings
+    private static final String LATEST_PER_SENSOR_SQL = """
+            SELECT s.id, r.value, r.timestamp
+            FROM sensors s
+            CROSS JOIN LATERAL (
+                SELECT value, timestamp FROM sensor_readings
+                WHERE sensor_id = s.sensor_id
+                ORDER BY timestamp DESC
+                LIMIT 1
+            ) r
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LatestReadingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void forEachLatest(LatestReadingConsumer consumer) {
+        jdbcTemplate.query(LATEST_PER_SENSOR_SQL, (RowCallbackHandler) rs ->
+                consumer.accept(rs.getLong(1), rs.getDouble(2), rs.getTimestamp(3).toInstant()));
+    }
+
+    @FunctionalInterface
+    public interface LatestReadingConsumer {
+        void accept(long sensorPk, double value, Instant timestamp);
+    }
+}
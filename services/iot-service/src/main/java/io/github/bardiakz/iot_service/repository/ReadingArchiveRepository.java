@@ -0,0 +1,113 @@
+package io.github.bardiakz.iot_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk reads and bounded deletes of raw readings for the retention job
+ *
+ * Reads and deletes are bounded by a reading id taken up front, so rows that
+ * arrive for the same day while it is being archived are left for the next run
+ * instead of being deleted without having been exported.
+ */
+@Repository
+public class ReadingArchiveRepository {
+
+    private static final String DELETE_BATCH_SQL = """
+            DELETE FROM sensor_readings WHERE id IN (
+                SELECT id FROM sensor_readings WHERE timestamp >= ? AND timestamp < ? AND id <= ? LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public ReadingArchiveRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Postgres only uses a server-side cursor with a fetch size inside a transaction
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(10_000);
+    }
+
+    /**
+     * Highest reading id in [from, to), or null when the range has no readings
+     */
+    public Long findMaxId(Instant from, Instant to) {
+        return jdbcTemplate.queryForObject(
+                "SELECT max(id) FROM sensor_readings WHERE timestamp >= ? AND timestamp < ?",
+                Long.class, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Sensors with readings in [from, to) up to {@code maxId}
+     */
+    public List<String> findSensorIds(Instant from, Instant to, long maxId) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT sensor_id FROM sensor_readings WHERE timestamp >= ? AND timestamp < ? AND id <= ?",
+                String.class, Timestamp.from(from), Timestamp.from(to), maxId);
+    }
+
+    /**
+     * Stream readings in [from, to) up to {@code maxId} ordered by sensor and time, without loading them all into memory
+     */
+    @Transactional(readOnly = true)
+    public void streamRange(Instant from, Instant to, long maxId, ArchivedReadingConsumer consumer) {
+        streamingJdbcTemplate.query(
+                "SELECT sensor_id, timestamp, value FROM sensor_readings "
+                        + "WHERE timestamp >= ? AND timestamp < ? AND id <= ? ORDER BY sensor_id, timestamp",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getTimestamp(2).getTime(), rs.getDouble(3)),
+                Timestamp.from(from), Timestamp.from(to), maxId);
+    }
+
+    /**
+     * Stream one sensor's readings in [from, to) up to {@code maxId} in time order
+     */
+    @Transactional(readOnly = true)
+    public void streamSensorRange(String sensorId, Instant from, Instant to, long maxId,
+                                  ArchivedReadingConsumer consumer) {
+        streamingJdbcTemplate.query(
+                "SELECT sensor_id, timestamp, value FROM sensor_readings "
+                        + "WHERE sensor_id = ? AND timestamp >= ? AND timestamp < ? AND id <= ? ORDER BY timestamp",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getTimestamp(2).getTime(), rs.getDouble(3)),
+                sensorId, Timestamp.from(from), Timestamp.from(to), maxId);
+    }
+
+    /**
+     * Delete at most {@code limit} readings in [from, to) up to {@code maxId}; each call is its own short transaction
+     */
+    public int deleteBatch(Instant from, Instant to, long maxId, int limit) {
+        return jdbcTemplate.update(DELETE_BATCH_SQL, Timestamp.from(from), Timestamp.from(to), maxId, limit);
+    }
+
+    /**
+     * Highest reading id of the day already counted in its rollups, or null if the day was never
+     * rolled up for retention; locks the row until the end of the transaction
+     */
+    public Long findRolledUpMaxIdForUpdate(LocalDate day) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT rolled_up_max_id FROM sensor_archive_days WHERE archive_day = ? FOR UPDATE",
+                Long.class, Date.valueOf(day));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    public void saveRolledUpMaxId(LocalDate day, long maxId) {
+        jdbcTemplate.update("""
+                INSERT INTO sensor_archive_days (archive_day, rolled_up_max_id) VALUES (?, ?)
+                ON CONFLICT (archive_day) DO UPDATE SET rolled_up_max_id = EXCLUDED.rolled_up_max_id
+                """, Date.valueOf(day), maxId);
+    }
+
+    @FunctionalInterface
+    public interface ArchivedReadingConsumer {
+        void accept(String sensorId, long timestamp, double value);
+    }
+}
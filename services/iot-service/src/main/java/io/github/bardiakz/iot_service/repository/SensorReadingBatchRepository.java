@@ -0,0 +1,40 @@
+package io.github.bardiakz.iot_service.repository;
+
+import io.github.bardiakz.iot_service.entity.SensorReading;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Bulk insert path for sensor readings
+ *
+ * Hibernate silently disables JDBC batching for IDENTITY ids, so bulk ingest
+ * goes through JdbcTemplate instead. With reWriteBatchedInserts enabled on
+ * the Postgres driver each batch is sent as multi-row INSERT statements.
+ */
+@Repository
+public class SensorReadingBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sensor_readings (sensor_id, value, timestamp) VALUES (?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SensorReadingBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<SensorReading> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, readings, BATCH_SIZE, (ps, reading) -> {
+            ps.setString(1, reading.getSensorId());
+            ps.setDouble(2, reading.getValue());
+            ps.setTimestamp(3, Timestamp.from(reading.getTimestamp()));
+        });
+    }
+}
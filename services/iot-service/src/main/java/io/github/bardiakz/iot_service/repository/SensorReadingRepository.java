@@ -9,8 +9,6 @@ import java.util.Optional;
 
 public interface SensorReadingRepository extends JpaRepository<SensorReading, Long> {
     
-    List<SensorReading> findBySensorIdOrderByTimestampDesc(String sensorId);
-    
     List<SensorReading> findBySensorIdAndTimestampBetween(
         String sensorId, Instant start, Instant end
     );
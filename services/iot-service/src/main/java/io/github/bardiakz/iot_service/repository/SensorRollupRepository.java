@@ -0,0 +1,223 @@
+package io.github.bardiakz.iot_service.repository;
+
+import io.github.bardiakz.iot_service.dto.SensorHistoryResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maintenance and range reads for the sensor_rollups table
+ *
+ * Buckets are aligned with date_bin on a fixed UTC origin, and rollups are
+ * recomputed (upserted) rather than incremented, so re-running a range is
+ * always safe. The one exception is mergeMinutes, which adds readings to
+ * buckets whose other raw readings may already be pruned; the retention job
+ * guards it with a per-day watermark.
+ */
+@Repository
+public class SensorRollupRepository {
+
+    private static final String ROLLUP_MINUTES_SQL = """
+            INSERT INTO sensor_rollups (sensor_id, resolution_seconds, bucket_start, sample_count, value_sum, value_min, value_max)
+            SELECT sensor_id, 60, date_bin('1 minute', timestamp, TIMESTAMPTZ '2000-01-01 00:00:00+00'),
+                   count(*), sum(value), min(value), max(value)
+            FROM sensor_readings
+            WHERE timestamp >= ? AND timestamp < ?
+            GROUP BY sensor_id, 3
+            ON CONFLICT (sensor_id, resolution_seconds, bucket_start) DO UPDATE SET
+                sample_count = EXCLUDED.sample_count,
+                value_sum = EXCLUDED.value_sum,
+                value_min = EXCLUDED.value_min,
+                value_max = EXCLUDED.value_max
+            """;
+
+    private static final String ROLLUP_MINUTES_UP_TO_ID_SQL = """
+            INSERT INTO sensor_rollups (sensor_id, resolution_seconds, bucket_start, sample_count, value_sum, value_min, value_max)
+            SELECT sensor_id, 60, date_bin('1 minute', timestamp, TIMESTAMPTZ '2000-01-01 00:00:00+00'),
+                   count(*), sum(value), min(value), max(value)
+            FROM sensor_readings
+            WHERE timestamp >= ? AND timestamp < ? AND id <= ?
+            GROUP BY sensor_id, 3
+            ON CONFLICT (sensor_id, resolution_seconds, bucket_start) DO UPDATE SET
+                sample_count = EXCLUDED.sample_count,
+                value_sum = EXCLUDED.value_sum,
+                value_min = EXCLUDED.value_min,
+                value_max = EXCLUDED.value_max
+            """;
+
+    private static final String MERGE_MINUTES_SQL = """
+            INSERT INTO sensor_rollups (sensor_id, resolution_seconds, bucket_start, sample_count, value_sum, value_min, value_max)
+            SELECT sensor_id, 60, date_bin('1 minute', timestamp, TIMESTAMPTZ '2000-01-01 00:00:00+00'),
+                   count(*), sum(value), min(value), max(value)
+            FROM sensor_readings
+            WHERE timestamp >= ? AND timestamp < ? AND id > ? AND id <= ?
+            GROUP BY sensor_id, 3
+            ON CONFLICT (sensor_id, resolution_seconds, bucket_start) DO UPDATE SET
+                sample_count = sensor_rollups.sample_count + EXCLUDED.sample_count,
+                value_sum = sensor_rollups.value_sum + EXCLUDED.value_sum,
+                value_min = least(sensor_rollups.value_min, EXCLUDED.value_min),
+                value_max = greatest(sensor_rollups.value_max, EXCLUDED.value_max)
+            """;
+
+    private static final String ROLLUP_HOURS_SQL = """
+            INSERT INTO sensor_rollups (sensor_id, resolution_seconds, bucket_start, sample_count, value_sum, value_min, value_max)
+            SELECT sensor_id, 3600, date_bin('1 hour', bucket_start, TIMESTAMPTZ '2000-01-01 00:00:00+00'),
+                   sum(sample_count), sum(value_sum), min(value_min), max(value_max)
+            FROM sensor_rollups
+            WHERE resolution_seconds = 60 AND bucket_start >= ? AND bucket_start < ?
+            GROUP BY sensor_id, 3
+            ON CONFLICT (sensor_id, resolution_seconds, bucket_start) DO UPDATE SET
+                sample_count = EXCLUDED.sample_count,
+                value_sum = EXCLUDED.value_sum,
+                value_min = EXCLUDED.value_min,
+                value_max = EXCLUDED.value_max
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SensorRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recompute 1-minute buckets from raw readings in [from, to) (both minute aligned)
+     */
+    public int rollupMinutes(Instant from, Instant to) {
+        return jdbcTemplate.update(ROLLUP_MINUTES_SQL, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Recompute 1-minute buckets in [from, to) from raw readings up to {@code maxId} only
+     */
+    public int rollupMinutes(Instant from, Instant to, long maxId) {
+        return jdbcTemplate.update(ROLLUP_MINUTES_UP_TO_ID_SQL, Timestamp.from(from), Timestamp.from(to), maxId);
+    }
+
+    /**
+     * Add raw readings in [from, to) with ids in (afterId, maxId] to the existing 1-minute buckets
+     */
+    public int mergeMinutes(Instant from, Instant to, long afterId, long maxId) {
+        return jdbcTemplate.update(MERGE_MINUTES_SQL, Timestamp.from(from), Timestamp.from(to), afterId, maxId);
+    }
+
+    /**
+     * Recompute 1-hour buckets from minute buckets in [from, to) (both hour aligned)
+     */
+    public int rollupHours(Instant from, Instant to) {
+        return jdbcTemplate.update(ROLLUP_HOURS_SQL, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Start of the newest minute bucket, or null when nothing was rolled up yet
+     */
+    public Instant findLatestMinuteBucket() {
+        Timestamp latest = jdbcTemplate.queryForObject(
+                "SELECT max(bucket_start) FROM sensor_rollups WHERE resolution_seconds = 60", Timestamp.class);
+        return latest != null ? latest.toInstant() : null;
+    }
+
+    public Instant findEarliestReading() {
+        Timestamp earliest = jdbcTemplate.queryForObject(
+                "SELECT min(timestamp) FROM sensor_readings", Timestamp.class);
+        return earliest != null ? earliest.toInstant() : null;
+    }
+
+    public void readRaw(String sensorId, Instant from, Instant to, SensorHistoryResponse.Builder builder) {
+        jdbcTemplate.query(
+                "SELECT timestamp, value FROM sensor_readings WHERE sensor_id = ? AND timestamp >= ? AND timestamp < ? ORDER BY timestamp",
+                (RowCallbackHandler) rs -> builder.addRaw(rs.getTimestamp(1).getTime(), rs.getDouble(2)),
+                sensorId, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    public void readBuckets(String sensorId, int resolutionSeconds, Instant from, Instant to,
+                            SensorHistoryResponse.Builder builder) {
+        jdbcTemplate.query(
+                "SELECT bucket_start, sample_count, value_sum, value_min, value_max FROM sensor_rollups "
+                        + "WHERE sensor_id = ? AND resolution_seconds = ? AND bucket_start >= ? AND bucket_start < ? "
+                        + "ORDER BY bucket_start",
+                (RowCallbackHandler) rs -> builder.addBucket(rs.getTimestamp(1).getTime(), rs.getLong(2),
+                        rs.getDouble(3), rs.getDouble(4), rs.getDouble(5)),
+                sensorId, resolutionSeconds, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Stream raw readings of several sensors in one pass (unordered)
+     */
+    public void streamRaw(List<String> sensorIds, Instant from, Instant to, RawReadingConsumer consumer) {
+        List<Object> args = new ArrayList<>(sensorIds);
+        args.add(Timestamp.from(from));
+        args.add(Timestamp.from(to));
+        jdbcTemplate.query(
+                "SELECT sensor_id, timestamp, value FROM sensor_readings WHERE sensor_id IN (" + placeholders(sensorIds.size())
+                        + ") AND timestamp >= ? AND timestamp < ?",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getTimestamp(2).getTime(), rs.getDouble(3)),
+                args.toArray());
+    }
+
+    /**
+     * Nearest-rank percentile per sensor and bucket, computed by Postgres (which spills to
+     * disk for large groups) so no samples have to be held in memory here
+     *
+     * Buckets are aligned to the UTC epoch, same as the aggregation API.
+     */
+    public void streamPercentiles(List<String> sensorIds, Instant from, Instant to, long bucketMillis,
+                                  double fraction, PercentileConsumer consumer) {
+        List<Object> args = new ArrayList<>();
+        args.add(bucketMillis);
+        args.add(fraction);
+        args.addAll(sensorIds);
+        args.add(Timestamp.from(from));
+        args.add(Timestamp.from(to));
+        jdbcTemplate.query(
+                "SELECT sensor_id, date_bin(? * INTERVAL '1 millisecond', timestamp, TIMESTAMPTZ '1970-01-01 00:00:00+00'), "
+                        + "count(*), percentile_disc(?) WITHIN GROUP (ORDER BY value) FROM sensor_readings "
+                        + "WHERE sensor_id IN (" + placeholders(sensorIds.size()) + ") AND timestamp >= ? AND timestamp < ? "
+                        + "GROUP BY 1, 2",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getTimestamp(2).getTime(),
+                        rs.getLong(3), rs.getDouble(4)),
+                args.toArray());
+    }
+
+    /**
+     * Stream rollup buckets of several sensors in one pass (unordered)
+     */
+    public void streamBuckets(List<String> sensorIds, int resolutionSeconds, Instant from, Instant to,
+                              BucketConsumer consumer) {
+        List<Object> args = new ArrayList<>(sensorIds);
+        args.add(resolutionSeconds);
+        args.add(Timestamp.from(from));
+        args.add(Timestamp.from(to));
+        jdbcTemplate.query(
+                "SELECT sensor_id, bucket_start, sample_count, value_sum, value_min, value_max FROM sensor_rollups "
+                        + "WHERE sensor_id IN (" + placeholders(sensorIds.size()) + ") "
+                        + "AND resolution_seconds = ? AND bucket_start >= ? AND bucket_start < ?",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getTimestamp(2).getTime(),
+                        rs.getLong(3), rs.getDouble(4), rs.getDouble(5), rs.getDouble(6)),
+                args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    @FunctionalInterface
+    public interface RawReadingConsumer {
+        void accept(String sensorId, long timestamp, double value);
+    }
+
+    @FunctionalInterface
+    public interface PercentileConsumer {
+        void accept(String sensorId, long bucketStart, long count, double percentile);
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(String sensorId, long bucketStart, long count, double sum, double min, double max);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.repository.LatestReadingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of the latest reading per sensor, keyed by the sensor's primary key
+ *
+ * Updated on every ingest and seeded once at startup, so sensor listings
+ * never have to query sensor_readings.
+ */
+@Component
+public class LatestReadingTable {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestReadingTable.class);
+
+    private final LatestReadingRepository latestReadingRepository;
+    private final ConcurrentHashMap<Long, LatestReading> latest = new ConcurrentHashMap<>();
+
+    public LatestReadingTable(LatestReadingRepository latestReadingRepository) {
+        this.latestReadingRepository = latestReadingRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        latestReadingRepository.forEachLatest(this::update);
+        log.info("Latest reading table seeded with {} sensors", latest.size());
+    }
+
+    /**
+     * Record a reading, ignoring it if a newer one is already known (out-of-order batch ingest)
+     */
+    public void update(long sensorPk, double value, Instant timestamp) {
+        LatestReading reading = new LatestReading(value, timestamp);
+        latest.merge(sensorPk, reading,
+                (current, candidate) -> candidate.timestamp().isBefore(current.timestamp()) ? current : candidate);
+    }
+
+    public LatestReading get(long sensorPk) {
+        return latest.get(sensorPk);
+    }
+
+    public record LatestReading(double value, Instant timestamp) {}
+}
@@ -0,0 +1,197 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.SensorReadingRequest;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscribes to device readings on an MQTT broker and feeds them into the ingest buffer
+ *
+ * The sensorId is taken from one level of the topic (by default
+ * campus/sensors/{sensorId}/reading). Payloads are either a bare number or
+ * JSON {"value": 21.5, "timestamp": "..."}. Uses a persistent session with
+ * QoS 1 and manual acknowledgements: a reading is only PUBACKed once the
+ * batch it was flushed in has been committed, so anything still in memory
+ * when the service dies is redelivered by the broker. While the ingest buffer
+ * is full the callback blocks, which stops the broker from sending more than
+ * the in-flight window.
+ *
+ * Every replica gets its own client id (base id + instance id) so persistent
+ * sessions don't take each other over, and replicas subscribe through a
+ * shared subscription so each reading is ingested by only one of them.
+ */
+@Component
+@ConditionalOnProperty(name = "iot.mqtt.enabled", havingValue = "true")
+public class MqttIngestBridge implements MqttCallbackExtended {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttIngestBridge.class);
+
+    private final ReadingIngestBuffer ingestBuffer;
+    private final ObjectMapper objectMapper;
+    private final String topicFilter;
+    private final int sensorIdLevel;
+    private final MqttClient client;
+    private final MqttConnectOptions connectOptions;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+
+    public MqttIngestBridge(ReadingIngestBuffer ingestBuffer,
+                            ObjectMapper objectMapper,
+                            @Value("${iot.mqtt.broker-url:tcp://localhost:1883}") String brokerUrl,
+                            @Value("${iot.mqtt.client-id:iot-service}") String clientId,
+                            @Value("${iot.mqtt.instance-id:}") String instanceId,
+                            @Value("${iot.mqtt.shared-group:}") String sharedGroup,
+                            @Value("${iot.mqtt.username:}") String username,
+                            @Value("${iot.mqtt.password:}") String password,
+                            @Value("${iot.mqtt.topic-filter:campus/sensors/+/reading}") String topicFilter,
+                            @Value("${iot.mqtt.sensor-id-level:2}") int sensorIdLevel) throws MqttException {
+        this.ingestBuffer = ingestBuffer;
+        this.objectMapper = objectMapper;
+        this.topicFilter = sharedGroup.isBlank() ? topicFilter : "$share/" + sharedGroup + "/" + topicFilter;
+        this.sensorIdLevel = sensorIdLevel;
+
+        String instanceClientId = instanceId.isBlank() ? clientId : clientId + "-" + instanceId;
+        this.client = new MqttClient(brokerUrl, instanceClientId, new MemoryPersistence());
+        this.client.setManualAcks(true);
+
+        this.connectOptions = new MqttConnectOptions();
+        this.connectOptions.setCleanSession(false);
+        this.connectOptions.setAutomaticReconnect(true);
+        this.connectOptions.setMaxInflight(1000);
+        if (!username.isBlank()) {
+            this.connectOptions.setUserName(username);
+            this.connectOptions.setPassword(password.toCharArray());
+        }
+    }
+
+    @PostConstruct
+    public void registerCallback() {
+        client.setCallback(this);
+    }
+
+    /**
+     * Initial connect (and retries until the broker is reachable); later drops use Paho's automatic reconnect
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${iot.mqtt.connect-retry-ms:10000}")
+    public void ensureConnected() {
+        if (client.isConnected()) {
+            return;
+        }
+        try {
+            client.connect(connectOptions);
+        } catch (MqttException e) {
+            if (e.getReasonCode() != MqttException.REASON_CODE_CLIENT_CONNECTED
+                    && e.getReasonCode() != MqttException.REASON_CODE_CONNECT_IN_PROGRESS) {
+                log.warn("MQTT broker {} unavailable: {}", client.getServerURI(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void connectComplete(boolean reconnect, String serverURI) {
+        try {
+            client.subscribe(topicFilter, 1);
+            log.info("MQTT {} to {}, subscribed to {}", reconnect ? "reconnected" : "connected", serverURI, topicFilter);
+        } catch (MqttException e) {
+            log.error("Failed to subscribe to {}: {}", topicFilter, e.getMessage());
+        }
+    }
+
+    @Override
+    public void connectionLost(Throwable cause) {
+        log.warn("MQTT connection lost: {}", cause.getMessage());
+    }
+
+    @Override
+    public void messageArrived(String topic, MqttMessage message) {
+        received.incrementAndGet();
+        int messageId = message.getId();
+        int qos = message.getQos();
+        String[] levels = topic.split("/");
+        if (sensorIdLevel >= levels.length) {
+            malformed.incrementAndGet();
+            acknowledge(messageId, qos);
+            return;
+        }
+
+        SensorReadingRequest reading = parse(new String(message.getPayload(), StandardCharsets.UTF_8).trim());
+        if (reading == null || reading.getValue() == null) {
+            malformed.incrementAndGet();
+            log.debug("Ignoring malformed MQTT payload on {}", topic);
+            acknowledge(messageId, qos);
+            return;
+        }
+        reading.setSensorId(levels[sensorIdLevel]);
+        if (reading.getTimestamp() == null) {
+            reading.setTimestamp(Instant.now());
+        }
+
+        try {
+            ingestBuffer.put(reading, () -> acknowledge(messageId, qos));
+        } catch (InterruptedException e) {
+            // Shutting down: left unacknowledged, so the broker redelivers it
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acknowledge(int messageId, int qos) {
+        try {
+            client.messageArrivedComplete(messageId, qos);
+        } catch (MqttException e) {
+            // Not acked: the broker redelivers it on the next session and it is stored again
+            log.debug("Could not acknowledge MQTT message {}: {}", messageId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void deliveryComplete(IMqttDeliveryToken token) {
+        // Subscribe-only client
+    }
+
+    private SensorReadingRequest parse(String payload) {
+        try {
+            if (payload.startsWith("{")) {
+                return objectMapper.readValue(payload, SensorReadingRequest.class);
+            }
+            return new SensorReadingRequest(null, Double.parseDouble(payload), null);
+        } catch (JacksonException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getReceived() { return received.get(); }
+
+    public long getMalformed() { return malformed.get(); }
+
+    @PreDestroy
+    public void disconnect() {
+        try {
+            if (client.isConnected()) {
+                client.disconnect();
+            }
+            client.close();
+        } catch (MqttException e) {
+            log.warn("Error closing MQTT client: {}", e.getMessage());
+        }
+    }
+}
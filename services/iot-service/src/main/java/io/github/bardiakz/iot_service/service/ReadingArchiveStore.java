@@ -0,0 +1,399 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.SensorHistoryResponse;
+import io.github.bardiakz.iot_service.repository.ReadingArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for pruned raw readings: one gzip file per UTC day
+ *
+ * File layout ({archive-dir}/{yyyy}/{yyyy-MM-dd}.readings.gz):
+ *
+ *   int magic "SRA1"
+ *   per sensor: true, UTF sensorId, varint count, long first timestamp (epoch ms),
+ *               count-1 varint timestamp deltas, count doubles
+ *   false
+ *
+ * Days are archived oldest first without gaps, so everything before
+ * {@link #getArchivedUntil()} lives in files and everything after in the database.
+ */
+@Component
+public class ReadingArchiveStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingArchiveStore.class);
+
+    private static final int MAGIC = 0x53524131; // "SRA1"
+    private static final String SUFFIX = ".readings.gz";
+
+    private final Path archiveDir;
+    private volatile Instant archivedUntil;
+
+    public ReadingArchiveStore(@Value("${iot.retention.archive-dir:./data/sensor-archive}") String archiveDir) {
+        this.archiveDir = Paths.get(archiveDir);
+        this.archivedUntil = scanArchivedUntil();
+        if (archivedUntil != null) {
+            log.info("Sensor reading archive in {} covers readings before {}", this.archiveDir, archivedUntil);
+        }
+    }
+
+    /**
+     * End of the newest archived day, or null when nothing is archived
+     */
+    public Instant getArchivedUntil() {
+        return archivedUntil;
+    }
+
+    public boolean exists(LocalDate day) {
+        return Files.exists(dayFile(day));
+    }
+
+    /**
+     * Write one day of readings; {@code source} must emit them ordered by sensor and time
+     *
+     * @return number of readings archived
+     */
+    public long writeDay(LocalDate day, Consumer<ReadingArchiveRepository.ArchivedReadingConsumer> source) throws IOException {
+        return write(day, source::accept);
+    }
+
+    /**
+     * Rewrite an existing day file with additional readings merged in (late arrivals,
+     * or rows left behind by an interrupted delete)
+     *
+     * Readings already in the file with the same timestamp and value are not duplicated.
+     * Only one sensor's readings are held in memory at a time.
+     *
+     * @param sensorIds sensors that have readings to merge
+     * @param source    emits one sensor's readings in time order
+     * @return number of readings in the rewritten file
+     */
+    public long mergeDay(LocalDate day, Collection<String> sensorIds, SensorReadingSource source) throws IOException {
+        Path existing = dayFile(day);
+        Set<String> remaining = new TreeSet<>(sensorIds);
+        return write(day, writer -> {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new GZIPInputStream(Files.newInputStream(existing), 65536)))) {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a sensor reading archive: " + existing);
+                }
+                while (in.readBoolean()) {
+                    Series archived = Series.read(in);
+                    Series extra = new Series(archived.sensorId);
+                    if (remaining.remove(archived.sensorId)) {
+                        source.stream(archived.sensorId, extra);
+                    }
+                    archived.mergeInto(extra, writer);
+                }
+            }
+            for (String sensorId : remaining) {
+                source.stream(sensorId, writer);
+            }
+        });
+    }
+
+    private long write(LocalDate day, ArchiveBody body) throws IOException {
+        Path target = dayFile(day);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), day.toString(), ".tmp");
+
+        long count;
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(file, 65536)))) {
+            BlockWriter writer = new BlockWriter(out);
+            out.writeInt(MAGIC);
+            try {
+                body.write(writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            count = writer.finish();
+            out.flush();
+            file.getFD().sync();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Instant dayEnd = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        if (archivedUntil == null || dayEnd.isAfter(archivedUntil)) {
+            archivedUntil = dayEnd;
+        }
+        return count;
+    }
+
+    /**
+     * Append archived readings of one sensor in [from, to) to a history response, in time order
+     */
+    public void readRange(String sensorId, Instant from, Instant to, SensorHistoryResponse.Builder builder) {
+        LocalDate last = to.minusMillis(1).atZone(ZoneOffset.UTC).toLocalDate();
+        for (LocalDate day = from.atZone(ZoneOffset.UTC).toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            Path file = dayFile(day);
+            if (Files.exists(file)) {
+                try {
+                    readDay(file, sensorId, from.toEpochMilli(), to.toEpochMilli(), builder);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read archive " + file, e);
+                }
+            }
+        }
+    }
+
+    private static void readDay(Path file, String sensorId, long from, long to,
+                                SensorHistoryResponse.Builder builder) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 65536)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a sensor reading archive: " + file);
+            }
+            while (in.readBoolean()) {
+                String blockSensorId = in.readUTF();
+                int count = (int) readVarLong(in);
+                boolean match = blockSensorId.equals(sensorId);
+
+                long[] timestamps = match ? new long[count] : null;
+                long timestamp = in.readLong();
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        timestamp += readVarLong(in);
+                    }
+                    if (match) {
+                        timestamps[i] = timestamp;
+                    }
+                }
+                if (!match) {
+                    in.skipNBytes(8L * count);
+                    continue;
+                }
+                for (int i = 0; i < count; i++) {
+                    double value = in.readDouble();
+                    if (timestamps[i] >= from && timestamps[i] < to) {
+                        builder.addRaw(timestamps[i], value);
+                    }
+                }
+                // One block per sensor per file
+                return;
+            }
+        }
+    }
+
+    private Path dayFile(LocalDate day) {
+        return archiveDir.resolve(String.valueOf(day.getYear())).resolve(day + SUFFIX);
+    }
+
+    private Instant scanArchivedUntil() {
+        if (!Files.isDirectory(archiveDir)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.find(archiveDir, 2,
+                (path, attributes) -> attributes.isRegularFile() && path.getFileName().toString().endsWith(SUFFIX))) {
+            return files
+                    .map(path -> parseDay(path.getFileName().toString()))
+                    .filter(day -> day != null)
+                    .max(LocalDate::compareTo)
+                    .map(day -> day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant())
+                    .orElse(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan archive directory " + archiveDir, e);
+        }
+    }
+
+    private static LocalDate parseDay(String fileName) {
+        try {
+            return LocalDate.parse(fileName.substring(0, fileName.length() - SUFFIX.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    @FunctionalInterface
+    public interface SensorReadingSource {
+        void stream(String sensorId, ReadingArchiveRepository.ArchivedReadingConsumer sink);
+    }
+
+    @FunctionalInterface
+    private interface ArchiveBody {
+        void write(BlockWriter writer) throws IOException;
+    }
+
+    /**
+     * One sensor's readings for a day, in time order
+     */
+    private static class Series implements ReadingArchiveRepository.ArchivedReadingConsumer {
+        private final String sensorId;
+        private long[] timestamps;
+        private double[] values;
+        private int size;
+
+        Series(String sensorId) {
+            this(sensorId, 16);
+        }
+
+        private Series(String sensorId, int capacity) {
+            this.sensorId = sensorId;
+            this.timestamps = new long[Math.max(capacity, 1)];
+            this.values = new double[Math.max(capacity, 1)];
+        }
+
+        static Series read(DataInput in) throws IOException {
+            String sensorId = in.readUTF();
+            int count = (int) readVarLong(in);
+            Series series = new Series(sensorId, count);
+            long timestamp = in.readLong();
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    timestamp += readVarLong(in);
+                }
+                series.timestamps[i] = timestamp;
+            }
+            for (int i = 0; i < count; i++) {
+                series.values[i] = in.readDouble();
+            }
+            series.size = count;
+            return series;
+        }
+
+        @Override
+        public void accept(String readingSensorId, long timestamp, double value) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        /**
+         * Emit this series merged with {@code other} in time order, dropping exact duplicates
+         */
+        void mergeInto(Series other, ReadingArchiveRepository.ArchivedReadingConsumer sink) {
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && timestamps[i] < other.timestamps[j])) {
+                    sink.accept(sensorId, timestamps[i], values[i]);
+                    i++;
+                } else if (i == size || other.timestamps[j] < timestamps[i]) {
+                    sink.accept(sensorId, other.timestamps[j], other.values[j]);
+                    j++;
+                } else if (Double.compare(values[i], other.values[j]) == 0) {
+                    sink.accept(sensorId, timestamps[i], values[i]);
+                    i++;
+                    j++;
+                } else {
+                    sink.accept(sensorId, timestamps[i], values[i]);
+                    i++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffers one sensor's readings at a time and writes them as a delta-encoded block
+     */
+    private static class BlockWriter implements ReadingArchiveRepository.ArchivedReadingConsumer {
+        private final DataOutputStream out;
+        private String sensorId;
+        private long[] timestamps = new long[1024];
+        private double[] values = new double[1024];
+        private int size;
+        private long total;
+
+        BlockWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(String readingSensorId, long timestamp, double value) {
+            if (!readingSensorId.equals(sensorId)) {
+                writeBlock();
+                sensorId = readingSensorId;
+            }
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        long finish() throws IOException {
+            writeBlock();
+            out.writeBoolean(false);
+            return total;
+        }
+
+        private void writeBlock() {
+            if (size == 0) {
+                return;
+            }
+            try {
+                out.writeBoolean(true);
+                out.writeUTF(sensorId);
+                writeVarLong(out, size);
+                out.writeLong(timestamps[0]);
+                for (int i = 1; i < size; i++) {
+                    writeVarLong(out, timestamps[i] - timestamps[i - 1]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeDouble(values[i]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            total += size;
+            size = 0;
+        }
+    }
+}
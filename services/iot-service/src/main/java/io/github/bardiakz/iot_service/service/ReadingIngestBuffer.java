@@ -0,0 +1,177 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.BatchIngestResponse;
+import io.github.bardiakz.iot_service.dto.SensorReadingRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded hand-off between high-rate ingest sources (MQTT, simulator) and batched persistence
+ *
+ * Best-effort producers (the simulator) use offer() and have readings dropped
+ * and counted when the buffer is full. Producers that need every reading (the
+ * MQTT bridge) use put(), which blocks while the buffer is full and runs the
+ * given callback only once the reading's batch has been committed.
+ *
+ * A scheduled flush drains the buffer through SensorService.recordReadings,
+ * the same path as the HTTP batch endpoint. A batch that fails is kept and
+ * retried on the next flush; after a few failures it is persisted reading by
+ * reading so that a single bad reading can't hold everything else back.
+ */
+@Service
+public class ReadingIngestBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingIngestBuffer.class);
+
+    private static final Runnable NO_CALLBACK = () -> { };
+
+    private final SensorService sensorService;
+    private final BlockingQueue<Entry> queue;
+    private final int maxBatchSize;
+    private final int attemptsBeforeIsolating;
+
+    // Batch that failed to persist, retried before anything newer (only touched by flush)
+    private volatile List<Entry> retryBatch = List.of();
+    private int failedAttempts;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ReadingIngestBuffer(SensorService sensorService,
+                               @Value("${iot.ingest.buffer-capacity:100000}") int capacity,
+                               @Value("${iot.ingest.max-batch-size:5000}") int maxBatchSize,
+                               @Value("${iot.ingest.attempts-before-isolating:3}") int attemptsBeforeIsolating) {
+        this.sensorService = sensorService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.attemptsBeforeIsolating = attemptsBeforeIsolating;
+    }
+
+    /**
+     * @return false when the buffer is full and the reading was dropped
+     */
+    public boolean offer(SensorReadingRequest reading) {
+        if (queue.offer(new Entry(reading, NO_CALLBACK))) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Enqueue a reading, waiting for space while the buffer is full
+     *
+     * @param onPersisted run on the flush thread once the reading has been stored
+     *                    (or permanently rejected), never if it is still pending
+     * @throws InterruptedException if interrupted while waiting; the reading was not enqueued
+     */
+    public void put(SensorReadingRequest reading, Runnable onPersisted) throws InterruptedException {
+        queue.put(new Entry(reading, onPersisted));
+    }
+
+    @Scheduled(fixedDelayString = "${iot.ingest.flush-interval-ms:200}")
+    public void flush() {
+        if (!retryBatch.isEmpty()) {
+            if (!persist(retryBatch)) {
+                return;
+            }
+            retryBatch = List.of();
+        }
+
+        List<Entry> batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            if (!persist(batch)) {
+                retryBatch = batch;
+                return;
+            }
+            batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+        }
+    }
+
+    /**
+     * @return false when the batch is still unpersisted and has to be retried
+     */
+    private boolean persist(List<Entry> batch) {
+        try {
+            record(batch);
+            failedAttempts = 0;
+            return true;
+        } catch (RuntimeException e) {
+            failedAttempts++;
+            log.error("Failed to persist {} buffered readings (attempt {}): {}",
+                    batch.size(), failedAttempts, e.getMessage());
+        }
+        if (failedAttempts < attemptsBeforeIsolating || batch.size() == 1) {
+            return false;
+        }
+        return persistIndividually(batch);
+    }
+
+    /**
+     * Store readings one at a time; readings that still fail are rejected, unless all of
+     * them fail (then the database is the problem, not the data, and the batch is kept)
+     */
+    private boolean persistIndividually(List<Entry> batch) {
+        List<Entry> failed = new ArrayList<>();
+        for (Entry entry : batch) {
+            try {
+                record(List.of(entry));
+            } catch (RuntimeException e) {
+                failed.add(entry);
+            }
+        }
+        if (failed.size() == batch.size()) {
+            return false;
+        }
+        for (Entry entry : failed) {
+            log.warn("Rejected unstorable reading for sensor {} at {}",
+                    entry.reading().getSensorId(), entry.reading().getTimestamp());
+            rejected.incrementAndGet();
+            entry.onPersisted().run();
+        }
+        failedAttempts = 0;
+        return true;
+    }
+
+    private void record(List<Entry> batch) {
+        List<SensorReadingRequest> readings = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            readings.add(entry.reading());
+        }
+        BatchIngestResponse response = sensorService.recordReadings(readings);
+        accepted.addAndGet(response.getAccepted());
+        rejected.addAndGet(response.getRejected());
+        if (!response.getUnknownSensors().isEmpty()) {
+            log.debug("Buffered readings for unknown sensors: {}", response.getUnknownSensors());
+        }
+        for (Entry entry : batch) {
+            try {
+                entry.onPersisted().run();
+            } catch (RuntimeException e) {
+                log.warn("Persisted-reading callback failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    public int pending() {
+        return queue.size() + retryBatch.size();
+    }
+
+    public long getAccepted() { return accepted.get(); }
+
+    public long getDropped() { return dropped.get(); }
+
+    public long getRejected() { return rejected.get(); }
+
+    private record Entry(SensorReadingRequest reading, Runnable onPersisted) {}
+}
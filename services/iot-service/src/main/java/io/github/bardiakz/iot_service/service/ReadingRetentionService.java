@@ -0,0 +1,113 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.repository.ReadingArchiveRepository;
+import io.github.bardiakz.iot_service.repository.SensorRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Nightly retention for raw sensor readings
+ *
+ * Each whole UTC day older than iot.retention.raw-days is rolled up one last
+ * time, exported to the file archive and then deleted in bounded batches.
+ * Rollups are kept, and raw history reads fall back to the archive.
+ * If a day's file already exists (a previous run was interrupted while
+ * deleting, or readings for that day arrived late) the remaining rows are
+ * merged into the file, and those not yet counted are added to the existing
+ * rollups, before they are deleted. Only rows up to the highest
+ * id seen at the start are exported and deleted, so readings landing during
+ * the run stay for the next one.
+ */
+@Service
+public class ReadingRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingRetentionService.class);
+
+    private final ReadingArchiveRepository archiveRepository;
+    private final SensorRollupRepository rollupRepository;
+    private final ReadingRollupService rollupService;
+    private final ReadingArchiveStore archiveStore;
+
+    private final boolean enabled;
+    private final int rawDays;
+    private final int deleteBatchSize;
+
+    public ReadingRetentionService(ReadingArchiveRepository archiveRepository,
+                                   SensorRollupRepository rollupRepository,
+                                   ReadingRollupService rollupService,
+                                   ReadingArchiveStore archiveStore,
+                                   @Value("${iot.retention.enabled:true}") boolean enabled,
+                                   @Value("${iot.retention.raw-days:30}") int rawDays,
+                                   @Value("${iot.retention.delete-batch-size:10000}") int deleteBatchSize) {
+        this.archiveRepository = archiveRepository;
+        this.rollupRepository = rollupRepository;
+        this.rollupService = rollupService;
+        this.archiveStore = archiveStore;
+        this.enabled = enabled;
+        this.rawDays = rawDays;
+        this.deleteBatchSize = deleteBatchSize;
+    }
+
+    @Scheduled(cron = "${iot.retention.cron:0 30 3 * * *}", zone = "UTC")
+    public void applyRetention() {
+        if (!enabled) {
+            return;
+        }
+        Instant earliest = rollupRepository.findEarliestReading();
+        if (earliest == null) {
+            return;
+        }
+
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(rawDays);
+        for (LocalDate day = earliest.atZone(ZoneOffset.UTC).toLocalDate(); day.isBefore(cutoff); day = day.plusDays(1)) {
+            try {
+                archiveDay(day);
+            } catch (IOException | RuntimeException e) {
+                // Stop here so the archive stays contiguous; the next run retries this day
+                log.error("Retention stopped at {}: {}", day, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void archiveDay(LocalDate day) throws IOException {
+        Instant start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        long started = System.nanoTime();
+
+        Long maxId = archiveRepository.findMaxId(start, end);
+        if (maxId == null) {
+            return;
+        }
+
+        boolean exists = archiveStore.exists(day);
+        rollupService.rollupArchivedDay(day, maxId, exists);
+        long archived;
+        if (!exists) {
+            archived = archiveStore.writeDay(day, sink -> archiveRepository.streamRange(start, end, maxId, sink));
+        } else {
+            List<String> sensorIds = archiveRepository.findSensorIds(start, end, maxId);
+            archived = archiveStore.mergeDay(day, sensorIds,
+                    (sensorId, sink) -> archiveRepository.streamSensorRange(sensorId, start, end, maxId, sink));
+        }
+
+        long deleted = 0;
+        int batch;
+        do {
+            batch = archiveRepository.deleteBatch(start, end, maxId, deleteBatchSize);
+            deleted += batch;
+        } while (batch == deleteBatchSize);
+
+        log.info("Retention for {}: archived {} and deleted {} readings in {} ms",
+                day, archived, deleted, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.repository.ReadingArchiveRepository;
+import io.github.bardiakz.iot_service.repository.SensorRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Continuously maintains 1-minute and 1-hour rollups of sensor readings
+ *
+ * Ingest marks the earliest timestamp it touched; each run recomputes minute
+ * buckets from there (plus a short lookback for late commits) and hour
+ * buckets from the minute buckets, so only recently changed data is scanned.
+ * Minute buckets of archived days are never recomputed from raw readings, as
+ * most of those readings have been pruned.
+ */
+@Service
+public class ReadingRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingRollupService.class);
+
+    private final SensorRollupRepository rollupRepository;
+    private final ReadingArchiveRepository archiveRepository;
+    private final ReadingArchiveStore archiveStore;
+    private final Duration lookback;
+
+    // Earliest reading timestamp (epoch millis) not yet rolled up, Long.MAX_VALUE when clean
+    private final AtomicLong dirtyFrom = new AtomicLong(Long.MAX_VALUE);
+
+    public ReadingRollupService(SensorRollupRepository rollupRepository,
+                                ReadingArchiveRepository archiveRepository,
+                                ReadingArchiveStore archiveStore,
+                                @Value("${iot.rollup.lookback-seconds:120}") long lookbackSeconds) {
+        this.rollupRepository = rollupRepository;
+        this.archiveRepository = archiveRepository;
+        this.archiveStore = archiveStore;
+        this.lookback = Duration.ofSeconds(lookbackSeconds);
+    }
+
+    /**
+     * Catch up on readings stored since the last rollup before shutdown
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeFromLastRollup() {
+        Instant latest = rollupRepository.findLatestMinuteBucket();
+        Instant from = latest != null ? latest : rollupRepository.findEarliestReading();
+        if (from != null) {
+            markDirty(from);
+            log.info("Sensor rollups will resume from {}", from);
+        }
+    }
+
+    public void markDirty(Instant timestamp) {
+        dirtyFrom.accumulateAndGet(timestamp.toEpochMilli(), Math::min);
+    }
+
+    @Scheduled(fixedDelayString = "${iot.rollup.interval-ms:30000}")
+    public void rollup() {
+        long dirty = dirtyFrom.getAndSet(Long.MAX_VALUE);
+        Instant from = Instant.now().minus(lookback);
+        if (dirty < from.toEpochMilli()) {
+            from = Instant.ofEpochMilli(dirty);
+        }
+
+        try {
+            long started = System.nanoTime();
+            // Open-ended in practice: also covers readings stamped slightly in the future
+            Instant to = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+            Instant minutesFrom = from.truncatedTo(ChronoUnit.MINUTES);
+            Instant archivedUntil = archiveStore.getArchivedUntil();
+            if (archivedUntil != null && minutesFrom.isBefore(archivedUntil)) {
+                minutesFrom = archivedUntil;
+            }
+            int minutes = rollupRepository.rollupMinutes(minutesFrom, to);
+            int hours = rollupRepository.rollupHours(from.truncatedTo(ChronoUnit.HOURS), to);
+            log.debug("Rolled up {} minute and {} hour buckets from {} in {} ms",
+                    minutes, hours, from, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Retry the same range on the next run
+            markDirty(from);
+            log.error("Sensor rollup from {} failed: {}", from, e.getMessage());
+        }
+    }
+
+    /**
+     * Bring the rollups of a whole UTC day up to date with its readings up to {@code maxId}
+     * before they are pruned
+     *
+     * The first time, the day is recomputed from raw readings. After that (the archive was
+     * interrupted, or readings arrived late) only readings above the recorded watermark are
+     * added to the existing buckets, so pruned readings are not lost and none are counted
+     * twice. Days archived before the watermark was recorded keep their rollups as they are.
+     *
+     * @param archived whether the day already has an archive file
+     */
+    @Transactional
+    public void rollupArchivedDay(LocalDate day, long maxId, boolean archived) {
+        Instant start = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        Long rolledUp = archiveRepository.findRolledUpMaxIdForUpdate(day);
+        if (rolledUp == null) {
+            if (!archived) {
+                rollupRepository.rollupMinutes(start, end, maxId);
+            }
+        } else if (rolledUp < maxId) {
+            rollupRepository.mergeMinutes(start, end, rolledUp, maxId);
+        }
+        rollupRepository.rollupHours(start, end);
+        archiveRepository.saveRolledUpMaxId(day, rolledUp != null ? Math.max(rolledUp, maxId) : maxId);
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.SensorAggregateResponse;
+import io.github.bardiakz.iot_service.entity.SensorRollup;
+import io.github.bardiakz.iot_service.repository.SensorRollupRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Server-side windowed aggregation over one or more sensors
+ *
+ * avg/min/max/sum/count over minute-multiple buckets are combined from the
+ * rollup tables; sub-minute buckets fall back to a single streaming pass over
+ * raw readings. Percentiles are computed by Postgres (percentile_disc per
+ * bucket) so only one value per bucket comes back. Either way each row is
+ * folded into a fixed set of per-bucket accumulators as it arrives.
+ */
+@Service
+public class SensorAggregationService {
+
+    private static final int MAX_SENSORS = 50;
+    private static final int MAX_BUCKETS = 10_000;
+    private static final Duration MAX_RAW_SPAN = Duration.ofDays(7);
+    private static final Pattern BUCKET_PATTERN = Pattern.compile("(\\d+)([smhd])");
+
+    public enum Function { AVG, MIN, MAX, SUM, COUNT, PERCENTILE }
+
+    private final SensorCatalog sensorCatalog;
+    private final SensorRollupRepository rollupRepository;
+
+    public SensorAggregationService(SensorCatalog sensorCatalog, SensorRollupRepository rollupRepository) {
+        this.sensorCatalog = sensorCatalog;
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * @param bucket     bucket size such as 30s, 5m, 1h or 1d (buckets are aligned to UTC epoch)
+     * @param function   avg, min, max, sum, count or percentile
+     * @param percentile percentile to compute when function is percentile (0-100]
+     */
+    public SensorAggregateResponse aggregate(List<String> sensorIds, Instant from, Instant to,
+                                             String bucket, String function, double percentile) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(sensorIds));
+        if (ids.isEmpty() || ids.size() > MAX_SENSORS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SENSORS + " sensor ids are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Function fn = parseFunction(function);
+        if (fn == Function.PERCENTILE && (percentile <= 0 || percentile > 100)) {
+            throw new IllegalArgumentException("percentile must be in (0, 100]");
+        }
+
+        long bucketMillis = parseBucket(bucket).toMillis();
+        long start = Math.floorDiv(from.toEpochMilli(), bucketMillis) * bucketMillis;
+        long bucketCount = (to.toEpochMilli() - start + bucketMillis - 1) / bucketMillis;
+        if (bucketCount > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Too many buckets (" + bucketCount + "), use a larger bucket size");
+        }
+
+        List<SensorInfo> sensors = ids.stream().map(sensorCatalog::find).toList();
+        Map<String, Accumulator> accumulators = new HashMap<>();
+        for (String id : ids) {
+            accumulators.put(id, new Accumulator((int) bucketCount));
+        }
+
+        String source;
+        long bucketSeconds = bucketMillis / 1000;
+        if (fn != Function.PERCENTILE && bucketSeconds % SensorRollup.MINUTE == 0) {
+            int resolution = bucketSeconds % SensorRollup.HOUR == 0 ? SensorRollup.HOUR : SensorRollup.MINUTE;
+            source = resolution == SensorRollup.HOUR ? "rollup-1h" : "rollup-1m";
+            rollupRepository.streamBuckets(ids, resolution, Instant.ofEpochMilli(start), to,
+                    (sensorId, bucketStart, count, sum, min, max) -> accumulators.get(sensorId)
+                            .addBucket(bucketIndex(bucketStart, start, bucketMillis), count, sum, min, max));
+        } else {
+            if (Duration.between(from, to).compareTo(MAX_RAW_SPAN) > 0) {
+                throw new IllegalArgumentException("Range too large for raw aggregation (max "
+                        + MAX_RAW_SPAN.toDays() + " days)");
+            }
+            source = "raw";
+            if (fn == Function.PERCENTILE) {
+                rollupRepository.streamPercentiles(ids, from, to, bucketMillis, percentile / 100.0,
+                        (sensorId, bucketStart, count, value) -> accumulators.get(sensorId)
+                                .setPercentile(bucketIndex(bucketStart, start, bucketMillis), count, value));
+            } else {
+                rollupRepository.streamRaw(ids, from, to,
+                        (sensorId, timestamp, value) -> accumulators.get(sensorId)
+                                .addValue(bucketIndex(timestamp, start, bucketMillis), value));
+            }
+        }
+
+        long[] timestamps = new long[(int) bucketCount];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = start + i * bucketMillis;
+        }
+        List<SensorAggregateResponse.Series> series = new ArrayList<>(sensors.size());
+        for (SensorInfo sensor : sensors) {
+            series.add(new SensorAggregateResponse.Series(sensor.sensorId(), sensor.unit(),
+                    accumulators.get(sensor.sensorId()).result(fn)));
+        }
+        return new SensorAggregateResponse(fn.name().toLowerCase(Locale.ROOT), bucketSeconds, source,
+                timestamps, series);
+    }
+
+    private static int bucketIndex(long timestamp, long start, long bucketMillis) {
+        return (int) ((timestamp - start) / bucketMillis);
+    }
+
+    private static Function parseFunction(String function) {
+        try {
+            return Function.valueOf(function.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown aggregate function: " + function);
+        }
+    }
+
+    private static Duration parseBucket(String bucket) {
+        Matcher matcher = BUCKET_PATTERN.matcher(bucket);
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) == 0) {
+            throw new IllegalArgumentException("Invalid bucket size: " + bucket + " (expected e.g. 30s, 5m, 1h, 1d)");
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+    }
+
+    /**
+     * Per-bucket running aggregates for one sensor
+     */
+    private static class Accumulator {
+        private final long[] count;
+        private final double[] sum;
+        private final double[] min;
+        private final double[] max;
+        private double[] percentiles;
+
+        Accumulator(int buckets) {
+            count = new long[buckets];
+            sum = new double[buckets];
+            min = new double[buckets];
+            max = new double[buckets];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void addValue(int bucket, double value) {
+            if (bucket < 0 || bucket >= count.length) {
+                return;
+            }
+            count[bucket]++;
+            sum[bucket] += value;
+            min[bucket] = Math.min(min[bucket], value);
+            max[bucket] = Math.max(max[bucket], value);
+        }
+
+        void setPercentile(int bucket, long bucketCount, double value) {
+            if (bucket < 0 || bucket >= count.length) {
+                return;
+            }
+            if (percentiles == null) {
+                percentiles = new double[count.length];
+            }
+            count[bucket] = bucketCount;
+            percentiles[bucket] = value;
+        }
+
+        void addBucket(int bucket, long bucketCount, double bucketSum, double bucketMin, double bucketMax) {
+            if (bucket < 0 || bucket >= count.length) {
+                return;
+            }
+            count[bucket] += bucketCount;
+            sum[bucket] += bucketSum;
+            min[bucket] = Math.min(min[bucket], bucketMin);
+            max[bucket] = Math.max(max[bucket], bucketMax);
+        }
+
+        Double[] result(Function fn) {
+            Double[] values = new Double[count.length];
+            for (int i = 0; i < values.length; i++) {
+                if (count[i] == 0) {
+                    continue;
+                }
+                values[i] = switch (fn) {
+                    case AVG -> sum[i] / count[i];
+                    case MIN -> min[i];
+                    case MAX -> max[i];
+                    case SUM -> sum[i];
+                    case COUNT -> (double) count[i];
+                    case PERCENTILE -> percentiles[i];
+                };
+            }
+            return values;
+        }
+    }
+}
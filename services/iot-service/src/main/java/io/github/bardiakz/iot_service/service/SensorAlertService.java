@@ -0,0 +1,280 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.config.RabbitMQConfig;
+import io.github.bardiakz.iot_service.dto.AlertRuleDTO;
+import io.github.bardiakz.iot_service.dto.AlertRuleRequest;
+import io.github.bardiakz.iot_service.entity.AlertRule;
+import io.github.bardiakz.iot_service.event.SensorAlert;
+import io.github.bardiakz.iot_service.repository.AlertRuleRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Threshold and anomaly alerting over incoming sensor readings
+ *
+ * Rules live in memory and every sensor keeps a small ring buffer of recent
+ * values, so evaluating a reading never touches the database. An alert fires
+ * once when a condition starts; it re-arms only after the condition clears
+ * and the cooldown has passed, so a flapping sensor can't flood the queue.
+ * Alerts are handed to a single publisher thread so a slow or unreachable
+ * broker never stalls ingestion.
+ */
+@Service
+public class SensorAlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorAlertService.class);
+
+    private final AlertRuleRepository ruleRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    private final int windowSize;
+    private final double ewmaAlpha;
+    private final Thresholds defaults;
+
+    private final ConcurrentHashMap<String, Thresholds> rules = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SensorWindow> windows = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor publisher;
+
+    public SensorAlertService(AlertRuleRepository ruleRepository,
+                              RabbitTemplate rabbitTemplate,
+                              @Value("${iot.alerts.window-size:60}") int windowSize,
+                              @Value("${iot.alerts.ewma-alpha:0.1}") double ewmaAlpha,
+                              @Value("${iot.alerts.anomaly-threshold:4.0}") double anomalyThreshold,
+                              @Value("${iot.alerts.cooldown-seconds:300}") int cooldownSeconds,
+                              @Value("${iot.alerts.publish-queue-capacity:1000}") int publishQueueCapacity) {
+        this.ruleRepository = ruleRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.windowSize = windowSize;
+        this.ewmaAlpha = ewmaAlpha;
+        this.defaults = new Thresholds(null, null, anomalyThreshold, cooldownSeconds * 1000L, true);
+        this.publisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(publishQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sensor-alert-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> log.error("Sensor alert publish queue full, dropping alert"));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        publisher.shutdown();
+        publisher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRules() {
+        ruleRepository.findAll().forEach(rule -> rules.put(rule.getSensorId(), toThresholds(rule)));
+        log.info("Loaded {} sensor alert rules", rules.size());
+    }
+
+    /**
+     * Evaluate one reading; called on the ingest path
+     */
+    public void evaluate(SensorInfo sensor, double value, Instant timestamp) {
+        Thresholds thresholds = rules.getOrDefault(sensor.sensorId(), defaults);
+        if (!thresholds.enabled()) {
+            return;
+        }
+
+        SensorWindow window = windows.computeIfAbsent(sensor.sensorId(), id -> new SensorWindow(windowSize));
+        List<SensorAlert> alerts = new ArrayList<>(1);
+        long now = System.currentTimeMillis();
+
+        synchronized (window) {
+            double zScore = window.zScore(value);
+            double baseline = window.ewma;
+
+            boolean aboveMax = thresholds.max() != null && value > thresholds.max();
+            boolean belowMin = thresholds.min() != null && value < thresholds.min();
+            boolean anomaly = thresholds.anomaly() > 0 && !Double.isNaN(zScore)
+                    && Math.abs(zScore) > thresholds.anomaly();
+
+            if (window.shouldFire(SensorAlert.AlertType.ABOVE_MAX, aboveMax, now, thresholds.cooldownMillis())) {
+                alerts.add(alert(sensor, SensorAlert.AlertType.ABOVE_MAX, value, thresholds.max(), baseline, zScore, timestamp));
+            }
+            if (window.shouldFire(SensorAlert.AlertType.BELOW_MIN, belowMin, now, thresholds.cooldownMillis())) {
+                alerts.add(alert(sensor, SensorAlert.AlertType.BELOW_MIN, value, thresholds.min(), baseline, zScore, timestamp));
+            }
+            if (window.shouldFire(SensorAlert.AlertType.ANOMALY, anomaly, now, thresholds.cooldownMillis())) {
+                alerts.add(alert(sensor, SensorAlert.AlertType.ANOMALY, value, thresholds.anomaly(), baseline, zScore, timestamp));
+            }
+
+            window.add(value, ewmaAlpha);
+        }
+
+        for (SensorAlert alert : alerts) {
+            log.warn("Sensor alert {} for {}: value {} (threshold {})",
+                    alert.getAlertType(), alert.getSensorId(), alert.getValue(), alert.getThreshold());
+            publisher.execute(() -> publish(alert));
+        }
+    }
+
+    public AlertRuleDTO getRule(String sensorId) {
+        return ruleRepository.findBySensorId(sensorId)
+                .map(this::mapToDTO)
+                .orElseThrow(() -> new RuntimeException("No alert rule for sensor: " + sensorId));
+    }
+
+    @Transactional
+    public AlertRuleDTO saveRule(String sensorId, AlertRuleRequest request) {
+        if (request.getMinValue() != null && request.getMaxValue() != null
+                && request.getMinValue() > request.getMaxValue()) {
+            throw new IllegalArgumentException("minValue must not be greater than maxValue");
+        }
+
+        AlertRule rule = ruleRepository.findBySensorId(sensorId).orElseGet(() -> {
+            AlertRule created = new AlertRule();
+            created.setSensorId(sensorId);
+            return created;
+        });
+        rule.setMinValue(request.getMinValue());
+        rule.setMaxValue(request.getMaxValue());
+        rule.setAnomalyThreshold(request.getAnomalyThreshold());
+        rule.setCooldownSeconds(request.getCooldownSeconds());
+        if (request.getEnabled() != null) rule.setEnabled(request.getEnabled());
+
+        AlertRule saved = ruleRepository.save(rule);
+        rules.put(sensorId, toThresholds(saved));
+        log.info("Saved alert rule for sensor {}", sensorId);
+        return mapToDTO(saved);
+    }
+
+    @Transactional
+    public void deleteRule(String sensorId) {
+        ruleRepository.findBySensorId(sensorId).ifPresent(ruleRepository::delete);
+        rules.remove(sensorId);
+    }
+
+    private void publish(SensorAlert alert) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE, RabbitMQConfig.ROUTING_KEY_SENSOR_ALERT, alert);
+        } catch (AmqpException e) {
+            log.error("Failed to publish sensor alert for {}: {}", alert.getSensorId(), e.getMessage());
+        }
+    }
+
+    private static SensorAlert alert(SensorInfo sensor, SensorAlert.AlertType type, double value, Double threshold,
+                                     double baseline, double zScore, Instant timestamp) {
+        SensorAlert alert = new SensorAlert();
+        alert.setEventId(UUID.randomUUID().toString());
+        alert.setSensorId(sensor.sensorId());
+        alert.setSensorName(sensor.name());
+        alert.setLocation(sensor.location());
+        alert.setUnit(sensor.unit());
+        alert.setAlertType(type);
+        alert.setValue(value);
+        alert.setThreshold(threshold);
+        alert.setBaseline(Double.isNaN(baseline) ? null : baseline);
+        alert.setAnomalyScore(Double.isNaN(zScore) ? null : zScore);
+        alert.setTimestamp(timestamp);
+        return alert;
+    }
+
+    private Thresholds toThresholds(AlertRule rule) {
+        return new Thresholds(
+                rule.getMinValue(),
+                rule.getMaxValue(),
+                rule.getAnomalyThreshold() != null ? rule.getAnomalyThreshold() : defaults.anomaly(),
+                rule.getCooldownSeconds() != null ? rule.getCooldownSeconds() * 1000L : defaults.cooldownMillis(),
+                rule.isEnabled()
+        );
+    }
+
+    private AlertRuleDTO mapToDTO(AlertRule rule) {
+        AlertRuleDTO dto = new AlertRuleDTO();
+        dto.setSensorId(rule.getSensorId());
+        dto.setMinValue(rule.getMinValue());
+        dto.setMaxValue(rule.getMaxValue());
+        dto.setAnomalyThreshold(rule.getAnomalyThreshold());
+        dto.setCooldownSeconds(rule.getCooldownSeconds());
+        dto.setEnabled(rule.isEnabled());
+        return dto;
+    }
+
+    private record Thresholds(Double min, Double max, double anomaly, long cooldownMillis, boolean enabled) {}
+
+    /**
+     * Ring buffer of recent values with running sums, EWMA baseline and per-alert-type debounce state
+     * Guarded by synchronizing on the instance
+     */
+    private static class SensorWindow {
+        private final double[] values;
+        private int next;
+        private int size;
+        private double sum;
+        private double sumOfSquares;
+        private double ewma = Double.NaN;
+
+        private final boolean[] active = new boolean[SensorAlert.AlertType.values().length];
+        private final long[] lastFired = new long[SensorAlert.AlertType.values().length];
+
+        SensorWindow(int capacity) {
+            values = new double[capacity];
+        }
+
+        /**
+         * z-score of a value against the window, NaN until the window is half full or flat
+         */
+        double zScore(double value) {
+            if (size < values.length / 2 || size < 2) {
+                return Double.NaN;
+            }
+            double mean = sum / size;
+            double variance = Math.max(0, sumOfSquares / size - mean * mean);
+            double stdDev = Math.sqrt(variance);
+            return stdDev < 1e-9 ? Double.NaN : (value - mean) / stdDev;
+        }
+
+        void add(double value, double alpha) {
+            if (size == values.length) {
+                double evicted = values[next];
+                sum -= evicted;
+                sumOfSquares -= evicted * evicted;
+            } else {
+                size++;
+            }
+            values[next] = value;
+            next = (next + 1) % values.length;
+            sum += value;
+            sumOfSquares += value * value;
+            ewma = Double.isNaN(ewma) ? value : alpha * value + (1 - alpha) * ewma;
+        }
+
+        boolean shouldFire(SensorAlert.AlertType type, boolean breached, long now, long cooldownMillis) {
+            int i = type.ordinal();
+            if (!breached) {
+                active[i] = false;
+                return false;
+            }
+            if (active[i]) {
+                return false;
+            }
+            // Still cooling down: stay un-armed so the alert fires once the cooldown has passed
+            if (lastFired[i] != 0 && now - lastFired[i] < cooldownMillis) {
+                return false;
+            }
+            active[i] = true;
+            lastFired[i] = now;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.repository.SensorRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cached sensor metadata lookups
+ *
+ * Kept as a separate bean so calls from SensorService go through the cache
+ * proxy (a @Cacheable method invoked on {@code this} is never cached).
+ */
+@Component
+public class SensorCatalog {
+
+    private final SensorRepository sensorRepository;
+
+    public SensorCatalog(SensorRepository sensorRepository) {
+        this.sensorRepository = sensorRepository;
+    }
+
+    @Cacheable(value = "sensors", key = "#sensorId")
+    public SensorInfo find(String sensorId) {
+        return sensorRepository.findBySensorId(sensorId)
+                .map(SensorInfo::from)
+                .orElseThrow(() -> new RuntimeException("Sensor not found: " + sensorId));
+    }
+}
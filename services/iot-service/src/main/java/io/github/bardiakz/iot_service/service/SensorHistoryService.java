@@ -0,0 +1,101 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.SensorHistoryResponse;
+import io.github.bardiakz.iot_service.entity.SensorRollup;
+import io.github.bardiakz.iot_service.repository.SensorRollupRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Range queries over sensor history, served from raw readings or rollups depending on the span
+ */
+@Service
+public class SensorHistoryService {
+
+    private static final Duration MAX_RAW_SPAN = Duration.ofDays(1);
+    private static final Duration MAX_MINUTE_SPAN = Duration.ofDays(31);
+
+    // Spans up to these use the finer resolution when "auto" is requested
+    private static final Duration AUTO_RAW_SPAN = Duration.ofHours(6);
+    private static final Duration AUTO_MINUTE_SPAN = Duration.ofDays(2);
+
+    private final SensorCatalog sensorCatalog;
+    private final SensorRollupRepository rollupRepository;
+    private final ReadingArchiveStore archiveStore;
+
+    public SensorHistoryService(SensorCatalog sensorCatalog,
+                                SensorRollupRepository rollupRepository,
+                                ReadingArchiveStore archiveStore) {
+        this.sensorCatalog = sensorCatalog;
+        this.rollupRepository = rollupRepository;
+        this.archiveStore = archiveStore;
+    }
+
+    /**
+     * @param resolution auto, raw, 1m or 1h
+     */
+    public SensorHistoryResponse getHistory(String sensorId, Instant from, Instant to, String resolution) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        SensorInfo sensor = sensorCatalog.find(sensorId);
+
+        Duration span = Duration.between(from, to);
+        String resolved = "auto".equals(resolution) ? autoResolution(span) : resolution;
+
+        switch (resolved) {
+            case "raw" -> {
+                requireSpan(span, MAX_RAW_SPAN, resolved);
+                SensorHistoryResponse.Builder builder = new SensorHistoryResponse.Builder(false);
+                readRaw(sensorId, from, to, builder);
+                return builder.build(sensorId, sensor.unit(), resolved);
+            }
+            case "1m" -> {
+                requireSpan(span, MAX_MINUTE_SPAN, resolved);
+                return readBuckets(sensor, SensorRollup.MINUTE, from, to, resolved);
+            }
+            case "1h" -> {
+                return readBuckets(sensor, SensorRollup.HOUR, from, to, resolved);
+            }
+            default -> throw new IllegalArgumentException("Unknown resolution: " + resolution);
+        }
+    }
+
+    /**
+     * Raw readings from the file archive for pruned days, then from the database
+     */
+    private void readRaw(String sensorId, Instant from, Instant to, SensorHistoryResponse.Builder builder) {
+        Instant archivedUntil = archiveStore.getArchivedUntil();
+        Instant databaseFrom = from;
+        if (archivedUntil != null && from.isBefore(archivedUntil)) {
+            archiveStore.readRange(sensorId, from, to.isBefore(archivedUntil) ? to : archivedUntil, builder);
+            databaseFrom = archivedUntil;
+        }
+        if (databaseFrom.isBefore(to)) {
+            rollupRepository.readRaw(sensorId, databaseFrom, to, builder);
+        }
+    }
+
+    private SensorHistoryResponse readBuckets(SensorInfo sensor, int resolutionSeconds, Instant from, Instant to,
+                                              String resolution) {
+        SensorHistoryResponse.Builder builder = new SensorHistoryResponse.Builder(true);
+        rollupRepository.readBuckets(sensor.sensorId(), resolutionSeconds, from, to, builder);
+        return builder.build(sensor.sensorId(), sensor.unit(), resolution);
+    }
+
+    private static String autoResolution(Duration span) {
+        if (span.compareTo(AUTO_RAW_SPAN) <= 0) {
+            return "raw";
+        }
+        return span.compareTo(AUTO_MINUTE_SPAN) <= 0 ? "1m" : "1h";
+    }
+
+    private static void requireSpan(Duration span, Duration max, String resolution) {
+        if (span.compareTo(max) > 0) {
+            throw new IllegalArgumentException(
+                    "Range too large for resolution " + resolution + " (max " + max.toHours() + " hours)");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.entity.Sensor;
+import io.github.bardiakz.iot_service.entity.SensorType;
+
+/**
+ * Immutable snapshot of sensor metadata, safe to share from the cache across threads
+ */
+public record SensorInfo(
+        Long id,
+        String sensorId,
+        String name,
+        SensorType type,
+        String location,
+        String unit,
+        boolean active
+) {
+    public static SensorInfo from(Sensor sensor) {
+        return new SensorInfo(
+                sensor.getId(),
+                sensor.getSensorId(),
+                sensor.getName(),
+                sensor.getType(),
+                sensor.getLocation(),
+                sensor.getUnit(),
+                sensor.isActive()
+        );
+    }
+}
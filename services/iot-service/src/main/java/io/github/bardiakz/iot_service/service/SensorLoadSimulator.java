@@ -0,0 +1,259 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.SensorReadingRequest;
+import io.github.bardiakz.iot_service.entity.Sensor;
+import io.github.bardiakz.iot_service.entity.SensorType;
+import io.github.bardiakz.iot_service.repository.SensorRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Load-test simulator: thousands of virtual sensors feeding the buffered ingest path
+ *
+ * Enabled with iot.simulator.mode=load (the default "demo" mode keeps the two
+ * VirtualSensorSimulator sensors). Sensors SIM-{TYPE}-{n} are registered on
+ * startup, spread over iot.simulator.locations buildings, and all of them are
+ * driven from one shared scheduler that checks which sensors are due every
+ * tick. Every reporting interval it logs generated/persisted throughput,
+ * drops and ingest-to-push latency (the iot.push.latency timer).
+ */
+@Service
+@ConditionalOnProperty(name = "iot.simulator.mode", havingValue = "load")
+public class SensorLoadSimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorLoadSimulator.class);
+    private static final long TICK_MILLIS = 50;
+
+    public enum Distribution { UNIFORM, GAUSSIAN, RANDOM_WALK }
+
+    private final SensorRepository sensorRepository;
+    private final ReadingIngestBuffer ingestBuffer;
+    private final SensorPushService pushService;
+
+    private final int sensorCount;
+    private final double readingsPerSecond;
+    private final List<SensorType> types;
+    private final Distribution distribution;
+    private final int locations;
+    private final int threads;
+    private final long reportIntervalSeconds;
+
+    private final AtomicLong generated = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    // Per simulated sensor, indexed 0..sensorCount-1
+    private String[] sensorIds;
+    private SensorType[] sensorTypes;
+    private double[] lastValues;
+    private long[] nextDueNanos;
+
+    public SensorLoadSimulator(SensorRepository sensorRepository,
+                               ReadingIngestBuffer ingestBuffer,
+                               SensorPushService pushService,
+                               @Value("${iot.simulator.sensors:1000}") int sensorCount,
+                               @Value("${iot.simulator.readings-per-second:0.2}") double readingsPerSecond,
+                               @Value("${iot.simulator.types:}") String types,
+                               @Value("${iot.simulator.distribution:random_walk}") String distribution,
+                               @Value("${iot.simulator.locations:20}") int locations,
+                               @Value("${iot.simulator.threads:2}") int threads,
+                               @Value("${iot.simulator.report-interval-seconds:10}") long reportIntervalSeconds) {
+        if (readingsPerSecond <= 0) {
+            throw new IllegalArgumentException("iot.simulator.readings-per-second must be positive");
+        }
+        this.sensorRepository = sensorRepository;
+        this.ingestBuffer = ingestBuffer;
+        this.pushService = pushService;
+        this.sensorCount = sensorCount;
+        this.readingsPerSecond = readingsPerSecond;
+        this.types = types.isBlank()
+                ? List.of(SensorType.values())
+                : Arrays.stream(types.split(","))
+                        .map(type -> SensorType.valueOf(type.trim().toUpperCase(Locale.ROOT)))
+                        .toList();
+        this.distribution = Distribution.valueOf(distribution.trim().toUpperCase(Locale.ROOT));
+        this.locations = Math.max(1, locations);
+        this.threads = Math.max(1, threads);
+        this.reportIntervalSeconds = reportIntervalSeconds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        registerSensors();
+
+        long periodNanos = (long) (1_000_000_000L / readingsPerSecond);
+        long now = System.nanoTime();
+        for (int i = 0; i < sensorCount; i++) {
+            // Spread first readings over one period so sensors don't fire in lockstep
+            nextDueNanos[i] = now + ThreadLocalRandom.current().nextLong(periodNanos);
+            lastValues[i] = Double.NaN;
+        }
+
+        scheduler = Executors.newScheduledThreadPool(threads + 1);
+        int sliceSize = (sensorCount + threads - 1) / threads;
+        for (int t = 0; t < threads; t++) {
+            int from = t * sliceSize;
+            int to = Math.min(sensorCount, from + sliceSize);
+            scheduler.scheduleAtFixedRate(() -> tick(from, to, periodNanos), 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleAtFixedRate(new Reporter(), reportIntervalSeconds, reportIntervalSeconds, TimeUnit.SECONDS);
+
+        log.info("Load simulator started: {} sensors ({}) @ {}/s each, {} distribution, {} locations",
+                sensorCount, types, readingsPerSecond, distribution, locations);
+    }
+
+    private void registerSensors() {
+        sensorIds = new String[sensorCount];
+        sensorTypes = new SensorType[sensorCount];
+        lastValues = new double[sensorCount];
+        nextDueNanos = new long[sensorCount];
+        for (int i = 0; i < sensorCount; i++) {
+            sensorTypes[i] = types.get(i % types.size());
+            sensorIds[i] = "SIM-" + sensorTypes[i] + "-" + (i + 1);
+        }
+
+        Set<String> existing = sensorRepository.findBySensorIdIn(Arrays.asList(sensorIds)).stream()
+                .map(Sensor::getSensorId)
+                .collect(Collectors.toCollection(HashSet::new));
+        List<Sensor> missing = new ArrayList<>();
+        for (int i = 0; i < sensorCount; i++) {
+            if (existing.contains(sensorIds[i])) {
+                continue;
+            }
+            Sensor sensor = new Sensor();
+            sensor.setSensorId(sensorIds[i]);
+            sensor.setName("Simulated " + sensorTypes[i].name().toLowerCase(Locale.ROOT) + " " + (i + 1));
+            sensor.setType(sensorTypes[i]);
+            sensor.setLocation("Sim Building " + (i % locations + 1));
+            sensor.setUnit(ValueModel.of(sensorTypes[i]).unit);
+            missing.add(sensor);
+        }
+        sensorRepository.saveAll(missing);
+        log.info("Registered {} simulated sensors ({} already existed)", missing.size(), existing.size());
+    }
+
+    private void tick(int from, int to, long periodNanos) {
+        long now = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = from; i < to; i++) {
+            if (nextDueNanos[i] > now) {
+                continue;
+            }
+            nextDueNanos[i] += periodNanos;
+            if (nextDueNanos[i] < now) {
+                // Fell behind (e.g. GC pause): skip missed readings instead of bursting
+                nextDueNanos[i] = now + periodNanos;
+            }
+            lastValues[i] = ValueModel.of(sensorTypes[i]).next(distribution, lastValues[i], random);
+            generated.incrementAndGet();
+            ingestBuffer.offer(new SensorReadingRequest(sensorIds[i], lastValues[i], Instant.now()));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Periodic throughput / latency report
+     */
+    private class Reporter implements Runnable {
+        private long lastGenerated;
+        private long lastAccepted;
+        private long lastDropped;
+
+        @Override
+        public void run() {
+            long generatedNow = generated.get();
+            long acceptedNow = ingestBuffer.getAccepted();
+            long droppedNow = ingestBuffer.getDropped();
+
+            Timer latency = pushService.getPushLatency();
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            StringBuilder percentiles = new StringBuilder();
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                percentiles.append(String.format(Locale.ROOT, " p%.0f=%.1fms",
+                        percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS)));
+            }
+
+            log.info("Simulator: generated {}/s, persisted {}/s, dropped {}, buffered {}, push latency mean={}ms max={}ms{}",
+                    (generatedNow - lastGenerated) / reportIntervalSeconds,
+                    (acceptedNow - lastAccepted) / reportIntervalSeconds,
+                    droppedNow - lastDropped,
+                    ingestBuffer.pending(),
+                    String.format(Locale.ROOT, "%.1f", snapshot.mean(TimeUnit.MILLISECONDS)),
+                    String.format(Locale.ROOT, "%.1f", snapshot.max(TimeUnit.MILLISECONDS)),
+                    percentiles);
+
+            lastGenerated = generatedNow;
+            lastAccepted = acceptedNow;
+            lastDropped = droppedNow;
+        }
+    }
+
+    /**
+     * Plausible value ranges per sensor type
+     */
+    private enum ValueModel {
+        TEMPERATURE("°C", 18, 28),
+        HUMIDITY("%", 35, 70),
+        CO2("ppm", 400, 1500),
+        LIGHT("lux", 0, 800),
+        MOTION("", 0, 1),
+        OCCUPANCY("people", 0, 60);
+
+        private final String unit;
+        private final double min;
+        private final double max;
+
+        ValueModel(String unit, double min, double max) {
+            this.unit = unit;
+            this.min = min;
+            this.max = max;
+        }
+
+        static ValueModel of(SensorType type) {
+            return valueOf(type.name());
+        }
+
+        double next(Distribution distribution, double previous, ThreadLocalRandom random) {
+            if (this == MOTION) {
+                return random.nextDouble() < 0.2 ? 1 : 0;
+            }
+            double mean = (min + max) / 2;
+            double spread = (max - min) / 6;
+            double value = switch (distribution) {
+                case UNIFORM -> min + random.nextDouble() * (max - min);
+                case GAUSSIAN -> mean + random.nextGaussian() * spread;
+                case RANDOM_WALK -> (Double.isNaN(previous) ? mean : previous) + random.nextGaussian() * spread * 0.05;
+            };
+            value = Math.max(min, Math.min(max, value));
+            return this == OCCUPANCY ? Math.round(value) : value;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.SensorReadingDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalescing WebSocket push for sensor readings
+ *
+ * Readings are collected per tick (latest per sensor wins) and each one is
+ * serialized exactly once. The same bytes go to the per-sensor topic and are
+ * spliced into batched frames:
+ *
+ *   /topic/sensors/{sensorId}                  single reading (unchanged format)
+ *   /topic/sensor-batches/all                  every sensor that changed this tick
+ *   /topic/sensor-batches/location/{location}  sensors at one location (slugified)
+ *   /topic/sensor-batches/type/{TYPE}          sensors of one SensorType
+ *
+ * The simple broker matches subscriptions as Ant patterns, so a wall dashboard
+ * can subscribe once to e.g. /topic/sensor-batches/location/building-a*.
+ */
+@Service
+public class SensorPushService {
+
+    public static final String BATCH_TOPIC_ALL = "/topic/sensor-batches/all";
+    public static final String BATCH_TOPIC_LOCATION = "/topic/sensor-batches/location/";
+    public static final String BATCH_TOPIC_TYPE = "/topic/sensor-batches/type/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final Timer pushLatency;
+
+    private final ConcurrentHashMap<String, PendingReading> pending = new ConcurrentHashMap<>();
+
+    public SensorPushService(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.pushLatency = Timer.builder("iot.push.latency")
+                .description("Time from reading timestamp to WebSocket push")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a reading for the next tick
+     */
+    public void publish(SensorInfo sensor, SensorReadingDTO reading) {
+        pending.merge(sensor.sensorId(), new PendingReading(sensor, reading),
+                (current, candidate) -> candidate.reading().getTimestamp().isBefore(current.reading().getTimestamp())
+                        ? current : candidate);
+    }
+
+    @Scheduled(fixedDelayString = "${iot.push.interval-ms:250}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> all = new ArrayList<>(pending.size());
+        Map<String, List<byte[]>> byLocation = new HashMap<>();
+        Map<String, List<byte[]>> byType = new HashMap<>();
+        Instant now = Instant.now();
+
+        for (String sensorId : pending.keySet()) {
+            // Removing key by key keeps readings that arrive mid-flush for the next tick
+            PendingReading next = pending.remove(sensorId);
+            if (next == null) {
+                continue;
+            }
+            byte[] json = objectMapper.writeValueAsBytes(next.reading());
+            send("/topic/sensors/" + sensorId, json);
+            pushLatency.record(Duration.between(next.reading().getTimestamp(), now));
+
+            all.add(json);
+            byLocation.computeIfAbsent(slug(next.sensor().location()), k -> new ArrayList<>()).add(json);
+            byType.computeIfAbsent(next.sensor().type().name(), k -> new ArrayList<>()).add(json);
+        }
+
+        send(BATCH_TOPIC_ALL, frame(all));
+        byLocation.forEach((location, readings) -> send(BATCH_TOPIC_LOCATION + location, frame(readings)));
+        byType.forEach((type, readings) -> send(BATCH_TOPIC_TYPE + type, frame(readings)));
+    }
+
+    public Timer getPushLatency() {
+        return pushLatency;
+    }
+
+    private void send(String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+        messagingTemplate.send(destination, message);
+    }
+
+    // JSON array built from already serialized readings
+    private static byte[] frame(List<byte[]> readings) {
+        int size = 2 + readings.size();
+        for (byte[] reading : readings) {
+            size += reading.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < readings.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(readings.get(i));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static String slug(String location) {
+        String slug = location.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        return slug.replaceAll("^-+|-+$", "");
+    }
+
+    private record PendingReading(SensorInfo sensor, SensorReadingDTO reading) {}
+}
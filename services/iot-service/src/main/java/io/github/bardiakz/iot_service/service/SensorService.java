@@ -1,22 +1,32 @@
 package io.github.bardiakz.iot_service.service;
 
+import io.github.bardiakz.iot_service.dto.BatchIngestResponse;
 import io.github.bardiakz.iot_service.dto.SensorDTO;
 import io.github.bardiakz.iot_service.dto.SensorReadingDTO;
+import io.github.bardiakz.iot_service.dto.SensorReadingRequest;
 import io.github.bardiakz.iot_service.dto.SensorRegisterRequest;
 import io.github.bardiakz.iot_service.dto.SensorUpdateRequest;
 import io.github.bardiakz.iot_service.entity.Sensor;
 import io.github.bardiakz.iot_service.entity.SensorReading;
+import io.github.bardiakz.iot_service.repository.SensorReadingBatchRepository;
 import io.github.bardiakz.iot_service.repository.SensorReadingRepository;
 import io.github.bardiakz.iot_service.repository.SensorRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,14 +36,35 @@ public class SensorService {
 
     private final SensorRepository sensorRepository;
     private final SensorReadingRepository readingRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final SensorReadingBatchRepository batchRepository;
+    private final SensorCatalog sensorCatalog;
+    private final ReadingRollupService rollupService;
+    private final LatestReadingTable latestReadings;
+    private final SensorAlertService alertService;
+    private final SensorPushService pushService;
+    private final Duration maxReadingAge;
+    private final Duration maxClockSkew;
 
     public SensorService(SensorRepository sensorRepository,
                          SensorReadingRepository readingRepository,
-                         SimpMessagingTemplate messagingTemplate) {
+                         SensorReadingBatchRepository batchRepository,
+                         SensorCatalog sensorCatalog,
+                         ReadingRollupService rollupService,
+                         LatestReadingTable latestReadings,
+                         SensorAlertService alertService,
+                         SensorPushService pushService,
+                         @Value("${iot.retention.raw-days:30}") int rawDays,
+                         @Value("${iot.ingest.max-clock-skew-seconds:300}") long maxClockSkewSeconds) {
         this.sensorRepository = sensorRepository;
         this.readingRepository = readingRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.batchRepository = batchRepository;
+        this.sensorCatalog = sensorCatalog;
+        this.rollupService = rollupService;
+        this.latestReadings = latestReadings;
+        this.alertService = alertService;
+        this.pushService = pushService;
+        this.maxReadingAge = Duration.ofDays(rawDays);
+        this.maxClockSkew = Duration.ofSeconds(maxClockSkewSeconds);
     }
 
     @Transactional
@@ -51,7 +82,7 @@ public class SensorService {
         sensor.setUnit(request.getUnit());
 
         Sensor saved = sensorRepository.save(sensor);
-        return mapToDTO(saved);
+        return mapToDTO(SensorInfo.from(saved));
     }
 
     @Transactional
@@ -67,12 +98,12 @@ public class SensorService {
         if (request.getActive() != null) sensor.setActive(request.getActive());
 
         Sensor saved = sensorRepository.save(sensor);
-        return mapToDTO(saved);
+        return mapToDTO(SensorInfo.from(saved));
     }
 
     @Transactional
     public void recordReading(String sensorId, Double value) {
-        Sensor sensor = findSensorCached(sensorId);
+        SensorInfo sensor = sensorCatalog.find(sensorId);
 
         SensorReading reading = new SensorReading();
         reading.setSensorId(sensorId);
@@ -80,56 +111,133 @@ public class SensorService {
         reading.setTimestamp(Instant.now());
 
         readingRepository.save(reading);
-
-        // Broadcast to WebSocket clients
-        SensorReadingDTO dto = new SensorReadingDTO(
-                sensorId, value, reading.getTimestamp(), sensor.getUnit()
-        );
-        messagingTemplate.convertAndSend("/topic/sensors/" + sensorId, dto);
-
-        log.info("Recorded reading for sensor {}: {} {}", sensorId, value, sensor.getUnit());
+        afterCommit(() -> {
+            rollupService.markDirty(reading.getTimestamp());
+            latestReadings.update(sensor.id(), value, reading.getTimestamp());
+            alertService.evaluate(sensor, value, reading.getTimestamp());
+
+            // Broadcast to WebSocket clients
+            SensorReadingDTO dto = new SensorReadingDTO(
+                    sensorId, value, reading.getTimestamp(), sensor.unit()
+            );
+            pushService.publish(sensor, dto);
+        });
+
+        log.debug("Recorded reading for sensor {}: {} {}", sensorId, value, sensor.unit());
     }
 
-    @Cacheable(value = "sensors", key = "#sensorId")
-    public Sensor findSensorCached(String sensorId) {
-        return sensorRepository.findBySensorId(sensorId)
-                .orElseThrow(() -> new RuntimeException("Sensor not found: " + sensorId));
+    /**
+     * Bulk ingest: one sensor lookup query and multi-row inserts for the whole batch
+     * Readings for unknown sensors, without a value, or stamped outside the accepted window
+     * (older than raw retention, or further ahead than the allowed clock skew) are rejected,
+     * the rest are stored. Caches, rollups, alerts and pushes only see them once committed.
+     */
+    @Transactional
+    public BatchIngestResponse recordReadings(List<SensorReadingRequest> requests) {
+        Set<String> sensorIds = requests.stream()
+                .map(SensorReadingRequest::getSensorId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<String, SensorInfo> sensors = sensorRepository.findBySensorIdIn(sensorIds).stream()
+                .map(SensorInfo::from)
+                .collect(Collectors.toMap(SensorInfo::sensorId, Function.identity()));
+
+        Instant now = Instant.now();
+        Instant earliest = now.minus(maxReadingAge);
+        Instant latest = now.plus(maxClockSkew);
+        List<SensorReading> readings = new ArrayList<>(requests.size());
+        Set<String> unknownSensors = new TreeSet<>();
+        int rejected = 0;
+
+        for (SensorReadingRequest request : requests) {
+            if (request.getSensorId() == null || request.getValue() == null) {
+                rejected++;
+                continue;
+            }
+            if (!sensors.containsKey(request.getSensorId())) {
+                unknownSensors.add(request.getSensorId());
+                rejected++;
+                continue;
+            }
+            Instant timestamp = request.getTimestamp() != null ? request.getTimestamp() : now;
+            if (timestamp.isBefore(earliest) || timestamp.isAfter(latest)) {
+                rejected++;
+                continue;
+            }
+            SensorReading reading = new SensorReading();
+            reading.setSensorId(request.getSensorId());
+            reading.setValue(request.getValue());
+            reading.setTimestamp(timestamp);
+            readings.add(reading);
+        }
+
+        batchRepository.insertAll(readings);
+
+        afterCommit(() -> {
+            // Latest values, rollups, alerting and broadcast to WebSocket clients
+            for (SensorReading reading : readings) {
+                SensorInfo sensor = sensors.get(reading.getSensorId());
+                rollupService.markDirty(reading.getTimestamp());
+                latestReadings.update(sensor.id(), reading.getValue(), reading.getTimestamp());
+                alertService.evaluate(sensor, reading.getValue(), reading.getTimestamp());
+                SensorReadingDTO dto = new SensorReadingDTO(
+                        reading.getSensorId(), reading.getValue(), reading.getTimestamp(), sensor.unit()
+                );
+                pushService.publish(sensor, dto);
+            }
+        });
+
+        log.info("Recorded batch of {} readings across {} sensors ({} rejected)",
+                readings.size(), sensors.size(), rejected);
+        return new BatchIngestResponse(readings.size(), rejected, new ArrayList<>(unknownSensors));
     }
 
     public List<SensorDTO> getAllSensors() {
         return sensorRepository.findAll().stream()
-                .map(this::mapToDTO)
+                .map(sensor -> mapToDTO(SensorInfo.from(sensor)))
                 .collect(Collectors.toList());
     }
 
     public SensorDTO getSensor(String sensorId) {
-        Sensor sensor = findSensorCached(sensorId);
-        return mapToDTO(sensor);
+        return mapToDTO(sensorCatalog.find(sensorId));
     }
 
     public List<SensorReadingDTO> getRecentReadings(String sensorId, int limit) {
-        Sensor sensor = findSensorCached(sensorId);
+        SensorInfo sensor = sensorCatalog.find(sensorId);
 
         return readingRepository.findRecentBySensorId(sensorId, limit).stream()
-                .map(r -> new SensorReadingDTO(r.getSensorId(), r.getValue(), r.getTimestamp(), sensor.getUnit()))
+                .map(r -> new SensorReadingDTO(r.getSensorId(), r.getValue(), r.getTimestamp(), sensor.unit()))
                 .collect(Collectors.toList());
     }
 
-    private SensorDTO mapToDTO(Sensor sensor) {
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private SensorDTO mapToDTO(SensorInfo sensor) {
         SensorDTO dto = new SensorDTO();
-        dto.setId(sensor.getId());
-        dto.setSensorId(sensor.getSensorId());
-        dto.setName(sensor.getName());
-        dto.setType(sensor.getType());
-        dto.setLocation(sensor.getLocation());
-        dto.setUnit(sensor.getUnit());
-        dto.setActive(sensor.isActive());
-
-        readingRepository.findLatestBySensorId(sensor.getSensorId())
-                .ifPresent(reading -> {
-                    dto.setLastValue(reading.getValue());
-                    dto.setLastUpdate(reading.getTimestamp().toString());
-                });
+        dto.setId(sensor.id());
+        dto.setSensorId(sensor.sensorId());
+        dto.setName(sensor.name());
+        dto.setType(sensor.type());
+        dto.setLocation(sensor.location());
+        dto.setUnit(sensor.unit());
+        dto.setActive(sensor.active());
+
+        LatestReadingTable.LatestReading latest = latestReadings.get(sensor.id());
+        if (latest != null) {
+            dto.setLastValue(latest.value());
+            dto.setLastUpdate(latest.timestamp().toString());
+        }
 
         return dto;
     }
@@ -2,7 +2,7 @@ package io.github.bardiakz.iot_service.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.util.Random;
@@ -11,9 +11,10 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simulates virtual sensor data for demonstration
+ * (iot.simulator.mode=demo, the default; see SensorLoadSimulator for load testing)
  */
 @Service
-@EnableScheduling
+@ConditionalOnProperty(name = "iot.simulator.mode", havingValue = "demo", matchIfMissing = true)
 public class VirtualSensorSimulator {
 
     private static final Logger log = LoggerFactory.getLogger(VirtualSensorSimulator.class);
@@ -0,0 +1,164 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.BatchIngestResponse;
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * MQTT bridge against an embedded broker: readings are only acknowledged once persisted
+ */
+class MqttIngestBridgeTest {
+
+    private static final String TOPIC = "campus/sensors/temp-1/reading";
+
+    private Server broker;
+    private String brokerUrl;
+    private MqttClient publisher;
+
+    @BeforeEach
+    void startBroker() throws IOException, MqttException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Properties properties = new Properties();
+        properties.setProperty("host", "127.0.0.1");
+        properties.setProperty("port", String.valueOf(port));
+        properties.setProperty("allow_anonymous", "true");
+        properties.setProperty("persistence_enabled", "false");
+        broker = new Server();
+        broker.startServer(new MemoryConfig(properties));
+
+        brokerUrl = "tcp://127.0.0.1:" + port;
+        publisher = new MqttClient(brokerUrl, "test-publisher", new MemoryPersistence());
+        publisher.connect();
+    }
+
+    @AfterEach
+    void stopBroker() throws MqttException {
+        publisher.disconnect();
+        publisher.close();
+        broker.stopServer();
+    }
+
+    @Test
+    void unpersistedReadingsAreRedeliveredToTheNextSession() throws Exception {
+        SensorService sensorService = mock(SensorService.class);
+        when(sensorService.recordReadings(anyList())).thenReturn(new BatchIngestResponse(3, 0, List.of()));
+
+        ReadingIngestBuffer firstBuffer = new ReadingIngestBuffer(sensorService, 100, 100, 3);
+        MqttIngestBridge first = connectedBridge(firstBuffer);
+        publishReadings(3);
+        await(() -> firstBuffer.pending() == 3);
+        // Dies before the buffer is flushed
+        first.disconnect();
+
+        ReadingIngestBuffer secondBuffer = new ReadingIngestBuffer(sensorService, 100, 100, 3);
+        MqttIngestBridge second = bridge(secondBuffer);
+        second.ensureConnected();
+        await(() -> secondBuffer.pending() == 3);
+        secondBuffer.flush();
+        assertEquals(0, secondBuffer.pending());
+        second.disconnect();
+
+        // Everything was acknowledged after the flush, so nothing comes back a second time
+        ReadingIngestBuffer thirdBuffer = new ReadingIngestBuffer(sensorService, 100, 100, 3);
+        MqttIngestBridge third = connectedBridge(thirdBuffer);
+        assertEquals(0, thirdBuffer.pending());
+        third.disconnect();
+    }
+
+    @Test
+    void failedBatchIsKeptAndRetried() throws Exception {
+        SensorService sensorService = mock(SensorService.class);
+        when(sensorService.recordReadings(anyList()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(new BatchIngestResponse(2, 0, List.of()));
+
+        ReadingIngestBuffer buffer = new ReadingIngestBuffer(sensorService, 100, 100, 3);
+        MqttIngestBridge bridge = connectedBridge(buffer);
+        publishReadings(2);
+        await(() -> buffer.pending() == 2);
+
+        buffer.flush();
+        assertEquals(2, buffer.pending());
+        buffer.flush();
+        assertEquals(0, buffer.pending());
+        assertEquals(2, buffer.getAccepted());
+        bridge.disconnect();
+    }
+
+    @Test
+    void fullBufferBlocksInsteadOfDropping() throws Exception {
+        SensorService sensorService = mock(SensorService.class);
+        when(sensorService.recordReadings(anyList())).thenReturn(new BatchIngestResponse(1, 0, List.of()));
+
+        ReadingIngestBuffer buffer = new ReadingIngestBuffer(sensorService, 1, 100, 3);
+        MqttIngestBridge bridge = connectedBridge(buffer);
+        publishReadings(3);
+
+        int flushes = 0;
+        while (buffer.getAccepted() < 3 && flushes++ < 100) {
+            Thread.sleep(50);
+            buffer.flush();
+        }
+        assertEquals(3, buffer.getAccepted());
+        assertEquals(0, buffer.getDropped());
+        bridge.disconnect();
+    }
+
+    private MqttIngestBridge bridge(ReadingIngestBuffer buffer) throws MqttException {
+        MqttIngestBridge bridge = new MqttIngestBridge(buffer, new ObjectMapper(), brokerUrl,
+                "iot-service", "test", "", "", "", "campus/sensors/+/reading", 2);
+        bridge.registerCallback();
+        return bridge;
+    }
+
+    /**
+     * Bridge whose subscription is known to be active (a malformed probe has round-tripped)
+     */
+    private MqttIngestBridge connectedBridge(ReadingIngestBuffer buffer) throws Exception {
+        MqttIngestBridge bridge = bridge(buffer);
+        bridge.ensureConnected();
+        for (int i = 0; i < 100 && bridge.getMalformed() == 0; i++) {
+            publisher.publish(TOPIC, "probe".getBytes(StandardCharsets.UTF_8), 1, false);
+            Thread.sleep(50);
+        }
+        assertTrue(bridge.getMalformed() > 0, "bridge never subscribed");
+        return bridge;
+    }
+
+    private void publishReadings(int count) throws MqttException {
+        for (int i = 0; i < count; i++) {
+            publisher.publish(TOPIC, String.valueOf(20.0 + i).getBytes(StandardCharsets.UTF_8), 1, false);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(20);
+        }
+    }
+}
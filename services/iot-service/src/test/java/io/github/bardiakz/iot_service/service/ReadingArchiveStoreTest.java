@@ -0,0 +1,89 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.dto.SensorHistoryResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Day files written, merged and read back through the archive format
+ */
+class ReadingArchiveStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+    private static final long START = DAY.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void writtenDayReadsBackPerSensor() throws Exception {
+        ReadingArchiveStore store = new ReadingArchiveStore(archiveDir.toString());
+        assertNull(store.getArchivedUntil());
+        assertFalse(store.exists(DAY));
+
+        long archived = store.writeDay(DAY, sink -> {
+            sink.accept("TEMP-1", START + 1_000, 20.5);
+            sink.accept("TEMP-1", START + 61_000, 21.0);
+            sink.accept("TEMP-1", START + 3_600_000, -3.25);
+            sink.accept("HUM-1", START, 40.0);
+        });
+
+        assertEquals(4, archived);
+        assertTrue(store.exists(DAY));
+        assertEquals(Instant.ofEpochMilli(START).plusSeconds(86_400), store.getArchivedUntil());
+        assertReadings(store, "TEMP-1", new long[]{START + 1_000, START + 61_000, START + 3_600_000},
+                new double[]{20.5, 21.0, -3.25});
+        assertReadings(store, "HUM-1", new long[]{START}, new double[]{40.0});
+        assertReadings(store, "CO2-1", new long[0], new double[0]);
+
+        // A new store finds the archived range from the files on disk
+        assertEquals(store.getArchivedUntil(), new ReadingArchiveStore(archiveDir.toString()).getArchivedUntil());
+    }
+
+    @Test
+    void mergeAddsLateReadingsWithoutDuplicates() throws Exception {
+        ReadingArchiveStore store = new ReadingArchiveStore(archiveDir.toString());
+        store.writeDay(DAY, sink -> {
+            sink.accept("TEMP-1", START + 1_000, 20.5);
+            sink.accept("TEMP-1", START + 3_000, 21.5);
+            sink.accept("HUM-1", START, 40.0);
+        });
+
+        long total = store.mergeDay(DAY, List.of("TEMP-1", "CO2-1"), (sensorId, sink) -> {
+            if (sensorId.equals("TEMP-1")) {
+                // Left behind by an interrupted delete, plus one late reading in between
+                sink.accept(sensorId, START + 1_000, 20.5);
+                sink.accept(sensorId, START + 2_000, 21.0);
+                sink.accept(sensorId, START + 3_000, 21.5);
+            } else {
+                sink.accept(sensorId, START + 5_000, 415.0);
+            }
+        });
+
+        assertEquals(5, total);
+        assertReadings(store, "TEMP-1", new long[]{START + 1_000, START + 2_000, START + 3_000},
+                new double[]{20.5, 21.0, 21.5});
+        assertReadings(store, "HUM-1", new long[]{START}, new double[]{40.0});
+        assertReadings(store, "CO2-1", new long[]{START + 5_000}, new double[]{415.0});
+    }
+
+    private static void assertReadings(ReadingArchiveStore store, String sensorId, long[] timestamps, double[] values) {
+        SensorHistoryResponse.Builder builder = new SensorHistoryResponse.Builder(false);
+        store.readRange(sensorId, Instant.ofEpochMilli(START), Instant.ofEpochMilli(START).plusSeconds(86_400), builder);
+        SensorHistoryResponse response = builder.build(sensorId, "", "raw");
+        assertArrayEquals(timestamps, response.getTimestamps());
+        assertArrayEquals(values, response.getValues());
+    }
+}
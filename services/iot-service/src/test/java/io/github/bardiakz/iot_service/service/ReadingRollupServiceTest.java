@@ -0,0 +1,80 @@
+package io.github.bardiakz.iot_service.service;
+
+import io.github.bardiakz.iot_service.repository.ReadingArchiveRepository;
+import io.github.bardiakz.iot_service.repository.SensorRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Retention rollups of an archived day: recomputed once, then only merged above the watermark
+ */
+class ReadingRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+    private static final Instant START = Instant.parse("2025-03-14T00:00:00Z");
+    private static final Instant END = Instant.parse("2025-03-15T00:00:00Z");
+
+    private SensorRollupRepository rollupRepository;
+    private ReadingArchiveRepository archiveRepository;
+    private ReadingRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(SensorRollupRepository.class);
+        archiveRepository = mock(ReadingArchiveRepository.class);
+        // No watermark recorded yet (Mockito would default the Long to 0)
+        when(archiveRepository.findRolledUpMaxIdForUpdate(DAY)).thenReturn(null);
+        rollupService = new ReadingRollupService(rollupRepository, archiveRepository, mock(ReadingArchiveStore.class), 120);
+    }
+
+    @Test
+    void firstPassRecomputesTheDay() {
+        rollupService.rollupArchivedDay(DAY, 500, false);
+
+        verify(rollupRepository).rollupMinutes(START, END, 500);
+        verify(rollupRepository, never()).mergeMinutes(eq(START), eq(END), anyLong(), anyLong());
+        verify(rollupRepository).rollupHours(START, END);
+        verify(archiveRepository).saveRolledUpMaxId(DAY, 500);
+    }
+
+    @Test
+    void laterPassOnlyAddsReadingsAboveTheWatermark() {
+        when(archiveRepository.findRolledUpMaxIdForUpdate(DAY)).thenReturn(500L);
+
+        rollupService.rollupArchivedDay(DAY, 520, true);
+
+        verify(rollupRepository).mergeMinutes(START, END, 500, 520);
+        verify(rollupRepository, never()).rollupMinutes(eq(START), eq(END), anyLong());
+        verify(rollupRepository).rollupHours(START, END);
+        verify(archiveRepository).saveRolledUpMaxId(DAY, 520);
+    }
+
+    @Test
+    void interruptedDeleteAddsNothing() {
+        when(archiveRepository.findRolledUpMaxIdForUpdate(DAY)).thenReturn(500L);
+
+        rollupService.rollupArchivedDay(DAY, 500, true);
+
+        verify(rollupRepository, never()).mergeMinutes(eq(START), eq(END), anyLong(), anyLong());
+        verify(rollupRepository, never()).rollupMinutes(eq(START), eq(END), anyLong());
+    }
+
+    @Test
+    void dayArchivedWithoutWatermarkKeepsItsMinuteBuckets() {
+        rollupService.rollupArchivedDay(DAY, 500, true);
+
+        verify(rollupRepository, never()).rollupMinutes(eq(START), eq(END), anyLong());
+        verify(rollupRepository, never()).mergeMinutes(eq(START), eq(END), anyLong(), anyLong());
+        verify(archiveRepository).saveRolledUpMaxId(DAY, 500);
+    }
+}
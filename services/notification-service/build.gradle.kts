@@ -42,6 +42,7 @@ dependencies {
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.amqp:spring-rabbit-test")
+    testImplementation("com.icegreen:greenmail:2.1.3")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
@@ -37,6 +37,10 @@ public class Notification {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    // Last time the email was handed to the delivery queue (PENDING rows older than this are re-queued)
+    @Column(name = "queued_at")
+    private LocalDateTime queuedAt;
+
     @Column(name = "retry_count")
     private Integer retryCount = 0;
 
@@ -138,6 +142,14 @@ public class Notification {
         this.sentAt = sentAt;
     }
 
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(LocalDateTime queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
     public Integer getRetryCount() {
         return retryCount;
     }
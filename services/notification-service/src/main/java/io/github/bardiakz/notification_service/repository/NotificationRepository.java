@@ -3,8 +3,11 @@ package io.github.bardiakz.notification_service.repository;
 import io.github.bardiakz.notification_service.entity.Notification;
 import io.github.bardiakz.notification_service.entity.NotificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,4 +22,11 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByStatusAndRetryCountLessThan(NotificationStatus status, Integer maxRetries);
 
     Long countByStatus(NotificationStatus status);
+
+    /**
+     * PENDING notifications queued (or created, if never queued) before the given time
+     */
+    @Query("SELECT n FROM Notification n WHERE n.status = 'PENDING' " +
+            "AND COALESCE(n.queuedAt, n.createdAt) < :before ORDER BY n.id")
+    List<Notification> findStalePending(@Param("before") LocalDateTime before);
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.io.UnsupportedEncodingException;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -19,6 +20,7 @@ public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
     private final JavaMailSender mailSender;
+    private final MailDeliveryEngine deliveryEngine;
 
     @Value("${notification.from.email}")
     private String fromEmail;
@@ -26,8 +28,23 @@ public class EmailService {
     @Value("${notification.from.name}")
     private String fromName;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, MailDeliveryEngine deliveryEngine) {
         this.mailSender = mailSender;
+        this.deliveryEngine = deliveryEngine;
+    }
+
+    /**
+     * Queue an HTML email on the pooled SMTP connections; blocks while the delivery queue is full
+     *
+     * @return completes when the SMTP server accepted the message, or exceptionally with EmailDeliveryException
+     */
+    public CompletableFuture<Void> queueHtmlEmail(String to, String subject, String htmlBody) {
+        try {
+            return deliveryEngine.submit(createMessage(to, subject, htmlBody, true), to);
+        } catch (MessagingException | UnsupportedEncodingException e) {
+            logger.error("Failed to build email to {}: {}", to, e.getMessage());
+            throw new EmailDeliveryException("Failed to build email", e);
+        }
     }
 
     /**
@@ -49,13 +66,7 @@ public class EmailService {
      */
     public void sendEmail(String to, String subject, String body, boolean isHtml) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail, fromName);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, isHtml);
+            MimeMessage message = createMessage(to, subject, body, isHtml);
 
             mailSender.send(message);
             logger.info("Email sent successfully to: {}", to);
@@ -69,6 +80,18 @@ public class EmailService {
         }
     }
 
+    private MimeMessage createMessage(String to, String subject, String body, boolean isHtml)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(body, isHtml);
+        return message;
+    }
+
     /**
      * Send plain text email
      */
@@ -0,0 +1,304 @@
+package io.github.bardiakz.notification_service.service;
+
+import io.github.bardiakz.notification_service.exception.EmailDeliveryException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends mail over a fixed set of kept-alive SMTP connections
+ *
+ * Each worker owns one connection and sends batches of messages for a single recipient domain
+ * over it, instead of one SMTP handshake per message. At most {@code per-domain-concurrency}
+ * workers talk to the same domain at once. The queue is bounded: when it is full, submit()
+ * blocks the caller (the AMQP listener threads), which stops them taking more messages.
+ */
+@Component
+public class MailDeliveryEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDeliveryEngine.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final int connections;
+    private final int perDomainConcurrency;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMs;
+
+    private final Object lock = new Object();
+    // Pending jobs per recipient domain, in round-robin order
+    private final Map<String, Deque<MailJob>> queues = new LinkedHashMap<>();
+    private final Map<String, Integer> activeWorkers = new HashMap<>();
+    private int queued;
+    private volatile boolean running;
+
+    private final List<Thread> workers = new CopyOnWriteArrayList<>();
+
+    public MailDeliveryEngine(JavaMailSenderImpl mailSender,
+                              @Value("${notification.mail.connections:4}") int connections,
+                              @Value("${notification.mail.per-domain-concurrency:2}") int perDomainConcurrency,
+                              @Value("${notification.mail.queue-capacity:500}") int queueCapacity,
+                              @Value("${notification.mail.batch-size:20}") int batchSize,
+                              @Value("${notification.mail.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                              @Value("${notification.mail.idle-timeout-ms:30000}") long idleTimeoutMs) {
+        this.mailSender = mailSender;
+        this.connections = connections;
+        this.perDomainConcurrency = perDomainConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < connections; i++) {
+            startWorker("smtp-" + (i + 1));
+        }
+        logger.info("Mail delivery engine started with {} SMTP connections to {}:{}",
+                connections, mailSender.getHost(), mailSender.getPort());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        synchronized (lock) {
+            queues.values().forEach(queue -> queue.forEach(job -> job.result().completeExceptionally(
+                    new EmailDeliveryException("Mail delivery engine stopped"))));
+            queues.clear();
+            queued = 0;
+            lock.notifyAll();
+        }
+    }
+
+    private void startWorker(String name) {
+        Thread worker = new Thread(this::work, name);
+        worker.setDaemon(true);
+        worker.setUncaughtExceptionHandler((thread, error) -> {
+            workers.remove(thread);
+            logger.error("SMTP worker {} died, starting a replacement", thread.getName(), error);
+            if (running) {
+                startWorker(thread.getName());
+            }
+        });
+        workers.add(worker);
+        worker.start();
+    }
+
+    /**
+     * Queue a message for delivery, blocking while the queue is full
+     *
+     * @return completes when the message was accepted by the SMTP server
+     */
+    public CompletableFuture<Void> submit(MimeMessage message, String recipient) {
+        MailJob job = new MailJob(message, domainOf(recipient), new CompletableFuture<>());
+        synchronized (lock) {
+            while (queued >= queueCapacity && running) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new EmailDeliveryException("Interrupted while waiting for mail queue space");
+                }
+            }
+            if (!running) {
+                throw new EmailDeliveryException("Mail delivery engine stopped");
+            }
+            queues.computeIfAbsent(job.domain(), domain -> new ArrayDeque<>()).addLast(job);
+            queued++;
+            lock.notifyAll();
+        }
+        return job.result();
+    }
+
+    public int queuedMessages() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    private void work() {
+        Transport transport = null;
+        int sentOnConnection = 0;
+        try {
+            while (running) {
+                Batch batch;
+                try {
+                    batch = takeBatch();
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (batch == null) {
+                    // Idle: do not hold the connection open
+                    transport = close(transport);
+                    continue;
+                }
+
+                try {
+                    for (MailJob job : batch.jobs()) {
+                        if (transport != null && sentOnConnection >= maxMessagesPerConnection) {
+                            transport = close(transport);
+                        }
+                        boolean reused = transport != null;
+                        try {
+                            if (transport == null) {
+                                transport = connect();
+                                sentOnConnection = 0;
+                            }
+                            send(transport, job.message());
+                        } catch (SendFailedException e) {
+                            // Rejected recipients; the connection is still usable
+                            job.result().completeExceptionally(new EmailDeliveryException("Failed to send email", e));
+                            continue;
+                        } catch (RuntimeException e) {
+                            transport = close(transport);
+                            job.result().completeExceptionally(new EmailDeliveryException("Failed to send email", e));
+                            continue;
+                        } catch (MessagingException e) {
+                            transport = close(transport);
+                            if (!reused) {
+                                job.result().completeExceptionally(new EmailDeliveryException("Failed to send email", e));
+                                continue;
+                            }
+                            // The kept-alive connection may have been dropped by the server; retry once on a fresh one
+                            try {
+                                transport = connect();
+                                sentOnConnection = 0;
+                                send(transport, job.message());
+                            } catch (MessagingException retryFailure) {
+                                transport = close(transport);
+                                job.result().completeExceptionally(
+                                        new EmailDeliveryException("Failed to send email", retryFailure));
+                                continue;
+                            }
+                        }
+                        sentOnConnection++;
+                        job.result().complete(null);
+                    }
+                } finally {
+                    // Normally a no-op; if an Error kills this worker the callers must not wait forever
+                    for (MailJob job : batch.jobs()) {
+                        if (!job.result().isDone()) {
+                            job.result().completeExceptionally(new EmailDeliveryException("Mail worker failed"));
+                        }
+                    }
+                    release(batch.domain());
+                }
+            }
+        } finally {
+            close(transport);
+        }
+    }
+
+    /**
+     * Up to batchSize jobs of the next domain (round-robin) that is below its concurrency limit,
+     * or null after idleTimeoutMs without work
+     */
+    private Batch takeBatch() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        synchronized (lock) {
+            while (running) {
+                Iterator<Map.Entry<String, Deque<MailJob>>> domains = queues.entrySet().iterator();
+                while (domains.hasNext()) {
+                    Map.Entry<String, Deque<MailJob>> entry = domains.next();
+                    String domain = entry.getKey();
+                    if (activeWorkers.getOrDefault(domain, 0) >= perDomainConcurrency) {
+                        continue;
+                    }
+
+                    Deque<MailJob> queue = entry.getValue();
+                    List<MailJob> jobs = new ArrayList<>(Math.min(batchSize, queue.size()));
+                    while (jobs.size() < batchSize && !queue.isEmpty()) {
+                        jobs.add(queue.pollFirst());
+                    }
+                    // Move the domain to the back so other domains get the next turn
+                    domains.remove();
+                    if (!queue.isEmpty()) {
+                        queues.put(domain, queue);
+                    }
+                    activeWorkers.merge(domain, 1, Integer::sum);
+                    queued -= jobs.size();
+                    lock.notifyAll();
+                    return new Batch(domain, jobs);
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return null;
+        }
+    }
+
+    private void release(String domain) {
+        synchronized (lock) {
+            activeWorkers.computeIfPresent(domain, (key, count) -> count > 1 ? count - 1 : null);
+            lock.notifyAll();
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Session session = mailSender.getSession();
+        // Same fallback as JavaMailSenderImpl when no protocol is configured
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = session.getProperty("mail.transport.protocol");
+        }
+        Transport transport = session.getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        logger.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return transport;
+    }
+
+    private static void send(Transport transport, MimeMessage message) throws MessagingException {
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Error closing SMTP connection: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static String domainOf(String recipient) {
+        int at = recipient.lastIndexOf('@');
+        return at < 0 ? "" : recipient.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record MailJob(MimeMessage message, String domain, CompletableFuture<Void> result) {}
+
+    private record Batch(String domain, List<MailJob> jobs) {}
+}
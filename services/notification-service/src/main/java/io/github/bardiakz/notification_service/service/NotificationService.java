@@ -6,19 +6,27 @@ import io.github.bardiakz.notification_service.dto.NotificationResponse;
 import io.github.bardiakz.notification_service.entity.Notification;
 import io.github.bardiakz.notification_service.entity.NotificationStatus;
 import io.github.bardiakz.notification_service.entity.NotificationType;
-import io.github.bardiakz.notification_service.exception.EmailDeliveryException;
 import io.github.bardiakz.notification_service.exception.NotificationException;
 import io.github.bardiakz.notification_service.repository.NotificationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +40,10 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final EmailService emailService;
     private final TemplateService templateService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Notifications whose email sits in this instance's delivery queue
+    private final Set<Long> queuedLocally = ConcurrentHashMap.newKeySet();
 
     @Value("${notification.retry.max-attempts}")
     private Integer maxRetryAttempts;
@@ -39,16 +51,22 @@ public class NotificationService {
     @Value("${notification.retry.delay-ms}")
     private Long retryDelayMs;
 
+    // Queued email lives only in memory; PENDING rows older than this were lost (e.g. by a crash)
+    @Value("${notification.retry.stale-pending-seconds:600}")
+    private Long stalePendingSeconds;
+
     // NEW: Allow disabling email sending (default: true)
     @Value("${notification.email.enabled:true}")
     private boolean emailEnabled;
 
     public NotificationService(NotificationRepository notificationRepository,
                                EmailService emailService,
-                               TemplateService templateService) {
+                               TemplateService templateService,
+                               PlatformTransactionManager transactionManager) {
         this.notificationRepository = notificationRepository;
         this.emailService = emailService;
         this.templateService = templateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -84,7 +102,8 @@ public class NotificationService {
 
     /**
      * Send notification using email service
-     * UPDATED: Works even without SMTP configured
+     * Email is queued on the pooled SMTP connections once the notification is committed;
+     * the outcome is recorded when delivery completes
      */
     @Transactional
     public void sendNotification(Notification notification) {
@@ -99,38 +118,65 @@ public class NotificationService {
             return;
         }
 
-        // Email enabled - try to send
-        try {
-            emailService.sendHtmlEmail(
-                    notification.getRecipientEmail(),
-                    notification.getSubject(),
-                    notification.getBody()
-            );
+        // Email enabled - PENDING keeps the retry job away while the email is queued
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setQueuedAt(LocalDateTime.now());
+        notificationRepository.save(notification);
 
-            // Update status to SENT
-            notification.setStatus(NotificationStatus.SENT);
-            notification.setSentAt(LocalDateTime.now());
-            notificationRepository.save(notification);
+        Long notificationId = notification.getId();
+        String recipient = notification.getRecipientEmail();
+        String subject = notification.getSubject();
+        String body = notification.getBody();
+        afterCommit(() -> queueEmail(notificationId, recipient, subject, body));
+    }
 
-            logger.info("Notification {} sent successfully via email", notification.getId());
+    /**
+     * Blocks while the delivery queue is full, which holds back the calling AMQP listener
+     */
+    private void queueEmail(Long notificationId, String recipient, String subject, String body) {
+        queuedLocally.add(notificationId);
+        try {
+            emailService.queueHtmlEmail(recipient, subject, body)
+                    .whenComplete((ignored, error) -> {
+                        queuedLocally.remove(notificationId);
+                        recordDelivery(notificationId, error);
+                    });
+        } catch (RuntimeException e) {
+            queuedLocally.remove(notificationId);
+            recordDelivery(notificationId, e);
+        }
+    }
 
-        } catch (EmailDeliveryException e) {
-            // Email failed but notification is still in DB for in-app display
-            logger.warn("Email delivery failed for notification {}: {}",
-                    notification.getId(), e.getMessage());
-            handleSendFailure(notification, e);
-        } catch (Exception e) {
-            // SMTP not configured or other error
-            logger.warn("Email service unavailable for notification {}: {}. " +
-                            "Notification saved for in-app display only.",
-                    notification.getId(), e.getMessage());
+    private void recordDelivery(Long notificationId, Throwable error) {
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.findById(notificationId)
+                .ifPresent(notification -> {
+                    if (error == null) {
+                        notification.setStatus(NotificationStatus.SENT);
+                        notification.setSentAt(LocalDateTime.now());
+                        notificationRepository.save(notification);
+                        logger.info("Notification {} sent successfully via email", notificationId);
+                        return;
+                    }
+
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    // Email failed but notification is still in DB for in-app display
+                    logger.warn("Email delivery failed for notification {}: {}", notificationId, cause.getMessage());
+                    handleSendFailure(notification, cause);
+                }));
+    }
 
-            // Mark as sent anyway (user can see it in-app)
-            notification.setStatus(NotificationStatus.SENT);
-            notification.setSentAt(LocalDateTime.now());
-            notification.setErrorMessage("Email not sent: " + e.getMessage());
-            notificationRepository.save(notification);
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     /**
@@ -175,7 +221,7 @@ public class NotificationService {
     /**
      * Handle notification send failure
      */
-    private void handleSendFailure(Notification notification, Exception e) {
+    private void handleSendFailure(Notification notification, Throwable e) {
         notification.setRetryCount(notification.getRetryCount() + 1);
         notification.setErrorMessage(e.getMessage());
 
@@ -220,6 +266,33 @@ public class NotificationService {
                 }
             }
         }
+
+        requeueStalePending();
+    }
+
+    /**
+     * Hand email that was lost from the in-memory delivery queue (e.g. the service crashed)
+     * back to the retry job; email still waiting in this instance's queue is left alone
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void requeueStalePending() {
+        if (!emailEnabled) {
+            return;
+        }
+
+        List<Notification> stale = notificationRepository
+                .findStalePending(LocalDateTime.now().minusSeconds(stalePendingSeconds)).stream()
+                .filter(notification -> !queuedLocally.contains(notification.getId()))
+                .toList();
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        logger.warn("Returning {} notifications stuck in PENDING to the retry job", stale.size());
+        for (Notification notification : stale) {
+            handleSendFailure(notification, new IllegalStateException("Email was lost from the delivery queue"));
+        }
     }
 
     /**
@@ -0,0 +1,239 @@
+package io.github.bardiakz.notification_service.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Delivery engine against a fake SMTP server; connections are counted through a small TCP proxy
+ */
+class MailDeliveryEngineTest {
+
+    private GreenMail greenMail;
+    private CountingProxy proxy;
+    private MailDeliveryEngine engine;
+
+    // Sends in progress and the highest number seen at once, per recipient domain
+    private final Map<String, AtomicInteger> sending = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> maxSending = new ConcurrentHashMap<>();
+
+    private volatile CountDownLatch rendezvous;
+    private final AtomicBoolean rendezvousTimedOut = new AtomicBoolean();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+        proxy = new CountingProxy(greenMail.getSmtp().getPort());
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        if (engine != null) {
+            engine.stop();
+        }
+        proxy.close();
+        greenMail.stop();
+    }
+
+    @Test
+    void messagesShareOneConnection() throws Exception {
+        engine = engine(1, 1, 100);
+        sendAll("example.edu", 20);
+
+        assertEquals(20, greenMail.getReceivedMessages().length);
+        assertEquals(1, proxy.accepted.get());
+    }
+
+    @Test
+    void connectionIsReplacedAfterMaxMessages() throws Exception {
+        engine = engine(1, 1, 5);
+        sendAll("example.edu", 20);
+
+        assertEquals(20, greenMail.getReceivedMessages().length);
+        assertEquals(4, proxy.accepted.get());
+    }
+
+    @Test
+    void oneDomainNeverUsesMoreThanItsConcurrencyLimit() throws Exception {
+        engine = engine(4, 1, 100);
+        sendAll("example.edu", 40);
+
+        assertEquals(40, greenMail.getReceivedMessages().length);
+        assertEquals(1, maxSending.get("example.edu").get());
+    }
+
+    @Test
+    void differentDomainsAreSentInParallel() throws Exception {
+        engine = engine(4, 1, 100);
+        // The first send only gets past this once a send of the other domain has started too
+        rendezvous = new CountDownLatch(2);
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(submit("a.example.edu", i));
+            results.add(submit("b.example.edu", i));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture<?>[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertEquals(40, greenMail.getReceivedMessages().length);
+        assertFalse(rendezvousTimedOut.get(), "domains were not sent in parallel");
+        assertTrue(maxSending.get("a.example.edu").get() <= 1);
+        assertTrue(maxSending.get("b.example.edu").get() <= 1);
+    }
+
+    private MailDeliveryEngine engine(int connections, int perDomainConcurrency, int maxMessagesPerConnection) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(proxy.port());
+        MailDeliveryEngine engine = new MailDeliveryEngine(mailSender, connections, perDomainConcurrency,
+                500, 5, maxMessagesPerConnection, 30_000);
+        engine.start();
+        return engine;
+    }
+
+    private void sendAll(String domain, int count) throws Exception {
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(submit(domain, i));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture<?>[]::new)).get(30, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<Void> submit(String domain, int index) throws MessagingException {
+        String recipient = "student" + index + "@" + domain;
+        MimeMessage message = new TrackedMessage(domain);
+        message.setFrom(new InternetAddress("noreply@university.edu"));
+        message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress(recipient));
+        message.setSubject("Notification " + index);
+        message.setText("Hello");
+        return engine.submit(message, recipient);
+    }
+
+    /**
+     * Records how many messages of its domain are being sent at the same time (the engine calls saveChanges per send)
+     */
+    private class TrackedMessage extends MimeMessage {
+
+        private final String domain;
+
+        TrackedMessage(String domain) {
+            super((Session) null);
+            this.domain = domain;
+        }
+
+        @Override
+        public void saveChanges() throws MessagingException {
+            enter(domain);
+            try {
+                CountDownLatch latch = rendezvous;
+                if (latch != null) {
+                    latch.countDown();
+                    if (!latch.await(5, TimeUnit.SECONDS)) {
+                        rendezvousTimedOut.set(true);
+                    }
+                }
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                sending.get(domain).decrementAndGet();
+            }
+            super.saveChanges();
+        }
+
+        private void enter(String key) {
+            int now = sending.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            maxSending.computeIfAbsent(key, k -> new AtomicInteger()).accumulateAndGet(now, Math::max);
+        }
+    }
+
+    /**
+     * Forwards TCP connections to the SMTP server, counting how many were opened
+     */
+    private static class CountingProxy implements AutoCloseable {
+
+        private final ServerSocket server;
+        private final int targetPort;
+        private final AtomicInteger accepted = new AtomicInteger();
+
+        CountingProxy(int targetPort) throws IOException {
+            this.server = new ServerSocket(0);
+            this.targetPort = targetPort;
+            Thread acceptor = new Thread(this::acceptLoop, "smtp-proxy");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!server.isClosed()) {
+                try {
+                    Socket client = server.accept();
+                    Socket upstream = new Socket("127.0.0.1", targetPort);
+                    accepted.incrementAndGet();
+                    pump(client, upstream);
+                    pump(upstream, client);
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private static void pump(Socket from, Socket to) {
+            Thread thread = new Thread(() -> {
+                try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                    in.transferTo(out);
+                } catch (IOException ignored) {
+                    // Either side closed
+                } finally {
+                    closeQuietly(from);
+                    closeQuietly(to);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private static void closeQuietly(Socket socket) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
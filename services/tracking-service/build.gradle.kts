@@ -31,6 +31,9 @@ dependencies {
     // WebSocket support for real-time location updates
     implementation("org.springframework.boot:spring-boot-starter-websocket")
 
+    // TCP client for the STOMP broker relay (clustered WebSocket fan-out via RabbitMQ)
+    implementation("io.projectreactor.netty:reactor-netty")
+
     // PostgreSQL
     runtimeOnly("org.postgresql:postgresql")
 
@@ -53,3 +56,22 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Load-generation harness for GPS ingest and WebSocket fan-out (not part of the regular build)
+// Run with: ./gradlew loadTest -PloadTestArgs="--base-url=http://localhost:8090 --shuttles=200 --subscribers=2000"
+val loadTest: SourceSet by sourceSets.creating
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Simulates shuttles pinging and STOMP subscribers against a running tracking-service"
+    group = "verification"
+    classpath = loadTest.runtimeClasspath
+    mainClass = "io.github.bardiakz.tracking_service.loadtest.TrackingLoadGenerator"
+    args = (findProperty("loadTestArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
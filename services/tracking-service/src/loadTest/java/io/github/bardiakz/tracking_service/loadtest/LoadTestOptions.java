@@ -0,0 +1,72 @@
+package io.github.bardiakz.tracking_service.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options for the tracking load generator (--name=value)
+ */
+record LoadTestOptions(
+        String baseUrl,
+        String webSocketUrl,
+        int shuttles,
+        double pingsPerSecond,
+        int subscribers,
+        boolean subscribePerShuttle,
+        boolean relayTopics,
+        Duration duration,
+        Duration warmup
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String baseUrl = values.getOrDefault("base-url", "http://localhost:8090");
+        String webSocketUrl = values.getOrDefault("ws-url",
+                baseUrl.replaceFirst("^http", "ws") + "/ws/tracking/websocket");
+
+        return new LoadTestOptions(
+                baseUrl,
+                webSocketUrl,
+                Integer.parseInt(values.getOrDefault("shuttles", "200")),
+                Double.parseDouble(values.getOrDefault("rate", "1.0")),
+                Integer.parseInt(values.getOrDefault("subscribers", "1000")),
+                "shuttle".equals(values.getOrDefault("subscribe", "all")),
+                Boolean.parseBoolean(values.getOrDefault("relay-topics", "false")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5")))
+        );
+    }
+
+    // Mirrors TrackingDestinations: '.' separated topics when the service runs with the RabbitMQ relay
+    String allLocationsTopic() {
+        return "/topic/locations";
+    }
+
+    String shuttleTopic(long shuttleId) {
+        return "/topic/shuttle" + (relayTopics ? "." : "/") + shuttleId;
+    }
+
+    static String usage() {
+        return """
+                Options (all optional):
+                  --base-url=http://localhost:8090   tracking-service HTTP base URL
+                  --ws-url=ws://.../ws/tracking/websocket
+                  --shuttles=200                     simulated shuttles
+                  --rate=1.0                         pings per second per shuttle
+                  --subscribers=1000                 STOMP subscriber connections
+                  --subscribe=all|shuttle            /topic/locations, or one shuttle topic per subscriber
+                  --relay-topics=false               use '.' separated topics (broker relay mode)
+                  --duration=60                      measured run length in seconds
+                  --warmup=5                         seconds before measurements start
+                """;
+    }
+}
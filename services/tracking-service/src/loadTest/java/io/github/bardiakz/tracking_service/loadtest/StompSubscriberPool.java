@@ -0,0 +1,143 @@
+package io.github.bardiakz.tracking_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Opens many STOMP connections and records ingest-to-client latency for every location frame received
+ */
+class StompSubscriberPool {
+
+    private static final int CONNECT_BATCH_SIZE = 100;
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebSocketStompClient stompClient;
+    private final List<StompSession> sessions = new ArrayList<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+    private final AtomicLong failedConnections = new AtomicLong();
+
+    StompSubscriberPool(LoadTestOptions options) {
+        this.options = options;
+        this.stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        this.stompClient.setMessageConverter(new ByteArrayMessageConverter());
+        this.stompClient.setInboundMessageSizeLimit(1024 * 1024);
+    }
+
+    /**
+     * Connect all subscribers in batches
+     *
+     * @param shuttleIds  shuttles to spread per-shuttle subscriptions over
+     * @param sentAtNanos looks up when a location was sent (see TrackingLoadGenerator.latencyKey), or -1
+     * @param recordMicros receives each measured end-to-end latency
+     */
+    void connect(List<Long> shuttleIds, SentTimeLookup sentAtNanos, LongConsumer recordMicros) {
+
+        for (int start = 0; start < options.subscribers(); start += CONNECT_BATCH_SIZE) {
+            int end = Math.min(options.subscribers(), start + CONNECT_BATCH_SIZE);
+            List<CompletableFuture<StompSession>> batch = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                String topic = options.subscribePerShuttle()
+                        ? options.shuttleTopic(shuttleIds.get(i % shuttleIds.size()))
+                        : options.allLocationsTopic();
+                batch.add(connectOne(topic, sentAtNanos, recordMicros));
+            }
+            for (CompletableFuture<StompSession> future : batch) {
+                try {
+                    sessions.add(future.get(30, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    failedConnections.incrementAndGet();
+                }
+            }
+            System.out.printf("Connected %d/%d subscribers (%d failed)%n",
+                    sessions.size(), options.subscribers(), failedConnections.get());
+        }
+    }
+
+    private CompletableFuture<StompSession> connectOne(String topic, SentTimeLookup sentAtNanos,
+                                                       LongConsumer recordMicros) {
+        StompFrameHandler frameHandler = new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long arrivedAt = System.nanoTime();
+                received.incrementAndGet();
+                try {
+                    JsonNode location = objectMapper.readTree((byte[]) payload);
+                    long sentAt = sentAtNanos.sentAt(TrackingLoadGenerator.latencyKey(
+                            location.path("shuttleId").asLong(),
+                            location.path("latitude").asDouble(),
+                            location.path("longitude").asDouble()));
+                    if (sentAt < 0) {
+                        unmatched.incrementAndGet();
+                        return;
+                    }
+                    recordMicros.accept((arrivedAt - sentAt) / 1_000);
+                } catch (IOException e) {
+                    unmatched.incrementAndGet();
+                }
+            }
+        };
+
+        return stompClient.connectAsync(options.webSocketUrl(), new StompSessionHandlerAdapter() {
+            @Override
+            public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+                session.subscribe(topic, frameHandler);
+            }
+        });
+    }
+
+    long received() {
+        return received.get();
+    }
+
+    long unmatched() {
+        return unmatched.get();
+    }
+
+    int connected() {
+        return sessions.size();
+    }
+
+    long failedConnections() {
+        return failedConnections.get();
+    }
+
+    void close() {
+        sessions.forEach(session -> {
+            try {
+                session.disconnect();
+            } catch (Exception ignored) {
+                // Server may already be gone
+            }
+        });
+        stompClient.stop();
+    }
+
+    @FunctionalInterface
+    interface SentTimeLookup {
+        long sentAt(String key);
+    }
+}
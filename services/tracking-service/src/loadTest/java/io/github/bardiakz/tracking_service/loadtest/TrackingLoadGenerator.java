@@ -0,0 +1,242 @@
+package io.github.bardiakz.tracking_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for the tracking hot path
+ *
+ * Simulates many shuttles POSTing GPS pings to /api/tracking/location while
+ * many STOMP clients subscribe to location topics, and reports ingest
+ * throughput, HTTP ingest latency and end-to-end ingest-to-client latency.
+ *
+ * Targets tracking-service directly (not the gateway), so no JWT is needed.
+ */
+public class TrackingLoadGenerator {
+
+    // Campus loop center (see scripts/simulate_shuttle.py)
+    private static final double CENTER_LAT = 37.2825;
+    private static final double CENTER_LON = 49.5985;
+    private static final double LOOP_RADIUS_DEGREES = 0.003;
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final long SENT_TIME_RETENTION_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ConcurrentHistogram ingestLatency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final ConcurrentHistogram endToEndLatency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+
+    private final AtomicLong pingsSent = new AtomicLong();
+    private final AtomicLong pingsFailed = new AtomicLong();
+
+    // When each location was sent, keyed by latencyKey(...)
+    private final ConcurrentHashMap<String, Long> sentAt = new ConcurrentHashMap<>();
+
+    private volatile boolean measuring;
+
+    TrackingLoadGenerator(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && ("--help".equals(args[0]) || "-h".equals(args[0]))) {
+            System.out.println(LoadTestOptions.usage());
+            return;
+        }
+        new TrackingLoadGenerator(LoadTestOptions.parse(args)).run();
+    }
+
+    static String latencyKey(long shuttleId, double latitude, double longitude) {
+        return shuttleId + ":" + latitude + ":" + longitude;
+    }
+
+    void run() throws Exception {
+        System.out.printf("Target %s: %d shuttles @ %.2f pings/s, %d subscribers (%s)%n",
+                options.baseUrl(), options.shuttles(), options.pingsPerSecond(), options.subscribers(),
+                options.subscribePerShuttle() ? "per-shuttle topics" : "all locations");
+
+        List<Long> shuttleIds = registerShuttles();
+
+        StompSubscriberPool subscribers = new StompSubscriberPool(options);
+        subscribers.connect(shuttleIds, this::lookupSentAt, micros -> {
+            if (measuring) {
+                endToEndLatency.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            }
+        });
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        long periodMicros = (long) (1_000_000 / options.pingsPerSecond());
+        for (int i = 0; i < shuttleIds.size(); i++) {
+            long shuttleId = shuttleIds.get(i);
+            double phase = 2 * Math.PI * i / shuttleIds.size();
+            long[] step = {0};
+            long initialDelay = ThreadLocalRandom.current().nextLong(periodMicros);
+            scheduler.scheduleAtFixedRate(() -> ping(shuttleId, phase, step[0]++),
+                    initialDelay, periodMicros, TimeUnit.MICROSECONDS);
+        }
+        scheduler.scheduleAtFixedRate(this::expireSentTimes, 5, 5, TimeUnit.SECONDS);
+
+        System.out.printf("Warming up for %ds...%n", options.warmup().toSeconds());
+        Thread.sleep(options.warmup().toMillis());
+
+        ingestLatency.reset();
+        endToEndLatency.reset();
+        long sentBefore = pingsSent.get();
+        long failedBefore = pingsFailed.get();
+        long receivedBefore = subscribers.received();
+        measuring = true;
+        long startedAt = System.nanoTime();
+
+        long deadline = startedAt + options.duration().toNanos();
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(Math.min(5_000, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1));
+            System.out.printf("  sent=%d failed=%d received=%d ingest p99=%.1fms e2e p99=%.1fms%n",
+                    pingsSent.get() - sentBefore, pingsFailed.get() - failedBefore,
+                    subscribers.received() - receivedBefore,
+                    ingestLatency.getValueAtPercentile(99) / 1000.0,
+                    endToEndLatency.getValueAtPercentile(99) / 1000.0);
+        }
+
+        measuring = false;
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        scheduler.shutdownNow();
+        subscribers.close();
+
+        long sent = pingsSent.get() - sentBefore;
+        long received = subscribers.received() - receivedBefore;
+        System.out.println();
+        System.out.println("=== Tracking load test results ===");
+        System.out.printf("Duration:            %.1fs%n", seconds);
+        System.out.printf("Subscribers:         %d connected, %d failed%n",
+                subscribers.connected(), subscribers.failedConnections());
+        System.out.printf("Ingest throughput:   %.1f pings/s (%d sent, %d failed)%n",
+                sent / seconds, sent, pingsFailed.get() - failedBefore);
+        System.out.printf("Fan-out throughput:  %.1f msgs/s (%d received, %d unmatched)%n",
+                received / seconds, received, subscribers.unmatched());
+        printHistogram("Ingest latency (HTTP)", ingestLatency);
+        printHistogram("End-to-end latency (ingest -> client)", endToEndLatency);
+    }
+
+    /**
+     * Register (or reuse) LOAD-n shuttles and mark them ACTIVE
+     */
+    private List<Long> registerShuttles() throws Exception {
+        Map<String, Long> existing = new HashMap<>();
+        HttpResponse<String> listing = httpClient.send(
+                HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/tracking/shuttles")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        for (JsonNode shuttle : objectMapper.readTree(listing.body())) {
+            existing.put(shuttle.path("vehicleNumber").asText(), shuttle.path("id").asLong());
+        }
+
+        List<Long> ids = new ArrayList<>(options.shuttles());
+        for (int i = 1; i <= options.shuttles(); i++) {
+            String vehicleNumber = "LOAD-" + i;
+            Long id = existing.get(vehicleNumber);
+            if (id == null) {
+                String query = "?vehicleNumber=" + URLEncoder.encode(vehicleNumber, StandardCharsets.UTF_8)
+                        + "&routeName=" + URLEncoder.encode("Load Test Loop", StandardCharsets.UTF_8)
+                        + "&capacity=24";
+                HttpResponse<String> created = httpClient.send(
+                        HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/tracking/shuttles" + query))
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (created.statusCode() >= 300) {
+                    throw new IllegalStateException("Failed to register " + vehicleNumber + ": " + created.body());
+                }
+                id = objectMapper.readTree(created.body()).path("id").asLong();
+            }
+            httpClient.send(
+                    HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/tracking/shuttles/" + id + "/status?status=ACTIVE"))
+                            .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            ids.add(id);
+        }
+        System.out.printf("Using %d shuttles%n", ids.size());
+        return ids;
+    }
+
+    private void ping(long shuttleId, double phase, long step) {
+        double angle = phase + step * 0.01;
+        double latitude = CENTER_LAT + LOOP_RADIUS_DEGREES * Math.sin(angle);
+        double longitude = CENTER_LON + LOOP_RADIUS_DEGREES * Math.cos(angle);
+
+        String body = "{\"shuttleId\":" + shuttleId
+                + ",\"latitude\":" + latitude
+                + ",\"longitude\":" + longitude
+                + ",\"speed\":25.0,\"heading\":" + Math.toDegrees(angle) % 360 + "}";
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/tracking/location"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long start = System.nanoTime();
+        sentAt.put(latencyKey(shuttleId, latitude, longitude), start);
+        pingsSent.incrementAndGet();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() >= 300) {
+                        pingsFailed.incrementAndGet();
+                    } else if (measuring) {
+                        ingestLatency.recordValue(Math.min((System.nanoTime() - start) / 1_000, MAX_LATENCY_MICROS));
+                    }
+                });
+    }
+
+    private long lookupSentAt(String key) {
+        Long nanos = sentAt.get(key);
+        return nanos != null ? nanos : -1;
+    }
+
+    private void expireSentTimes() {
+        long cutoff = System.nanoTime() - SENT_TIME_RETENTION_NANOS;
+        sentAt.values().removeIf(nanos -> nanos < cutoff);
+    }
+
+    private static void printHistogram(String title, Histogram histogram) {
+        System.out.println(title + " (ms):");
+        if (histogram.getTotalCount() == 0) {
+            System.out.println("  no samples");
+            return;
+        }
+        System.out.printf("  count=%d mean=%.2f p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                histogram.getTotalCount(),
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
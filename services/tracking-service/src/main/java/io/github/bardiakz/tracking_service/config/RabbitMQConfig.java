@@ -18,6 +18,10 @@ public class RabbitMQConfig {
     public static final String LOCATION_UPDATED_QUEUE = "tracking.location.updated";
     public static final String LOCATION_UPDATED_ROUTING_KEY = "location.updated";
 
+    // Geofence transitions (published on the location exchange)
+    public static final String SHUTTLE_ARRIVED_ROUTING_KEY = "shuttle.arrived";
+    public static final String SHUTTLE_DEPARTED_ROUTING_KEY = "shuttle.departed";
+
     // Queue names for event listeners
     public static final String MAINTENANCE_QUEUE_NAME = "tracking.maintenance.queue";
     public static final String ALERT_QUEUE_NAME = "tracking.alert.queue";
@@ -1,50 +1,49 @@
 package io.github.bardiakz.tracking_service.config;
 
+import io.github.bardiakz.tracking_service.dto.ShuttleLocationResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
-import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 
 /**
- * Redis configuration for Spring Boot 4.0 with Jackson 3
- * Uses GenericJacksonJsonRedisSerializer (the Jackson 3 version)
- * instead of the deprecated GenericJackson2JsonRedisSerializer
+ * Redis configuration for live shuttle state
+ * All shuttles live in a single hash (field = shuttle id) and values use a
+ * compact binary serializer instead of default-typed JSON, so no class names
+ * are embedded in every value
  */
 @Configuration
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(
+    public RedisTemplate<String, ShuttleLocationResponse> shuttleStateRedisTemplate(
             RedisConnectionFactory connectionFactory) {
 
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        RedisTemplate<String, ShuttleLocationResponse> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // String serializer for keys
+        // String serializer for keys and hash fields (shuttle ids)
         StringRedisSerializer stringSerializer = new StringRedisSerializer();
-
-        // Create a PolymorphicTypeValidator that allows all types
-        // In production, you should restrict this to your specific packages
-        var typeValidator = BasicPolymorphicTypeValidator.builder()
-                .allowIfBaseType(Object.class)
-                .build();
-
-        // GenericJacksonJsonRedisSerializer for Jackson 3 (Spring Boot 4.0)
-        // Must use builder pattern with PolymorphicTypeValidator
-        GenericJacksonJsonRedisSerializer jsonSerializer =
-                GenericJacksonJsonRedisSerializer.builder()
-                        .enableDefaultTyping(typeValidator)  // Requires PolymorphicTypeValidator
-                        .build();
+        ShuttleLocationRedisSerializer valueSerializer = new ShuttleLocationRedisSerializer();
 
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * Pub/sub listener container (geofence index invalidation between replicas)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
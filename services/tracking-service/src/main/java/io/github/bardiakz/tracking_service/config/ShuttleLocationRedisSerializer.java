@@ -0,0 +1,101 @@
+package io.github.bardiakz.tracking_service.config;
+
+import io.github.bardiakz.tracking_service.dto.ShuttleLocationResponse;
+import io.github.bardiakz.tracking_service.model.ShuttleStatus;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary serializer for live shuttle state stored in Redis
+ * Fixed field order, no field names and no embedded class names
+ * (roughly a fifth of the size of the default-typed JSON value)
+ */
+public class ShuttleLocationRedisSerializer implements RedisSerializer<ShuttleLocationResponse> {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte HAS_LATITUDE = 1;
+    private static final byte HAS_LONGITUDE = 1 << 1;
+    private static final byte HAS_LAST_UPDATE = 1 << 2;
+
+    @Override
+    public byte[] serialize(ShuttleLocationResponse value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            byte flags = 0;
+            if (value.latitude() != null) flags |= HAS_LATITUDE;
+            if (value.longitude() != null) flags |= HAS_LONGITUDE;
+            if (value.lastUpdate() != null) flags |= HAS_LAST_UPDATE;
+
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(flags);
+            out.writeLong(value.shuttleId());
+            out.writeUTF(nullToEmpty(value.vehicleNumber()));
+            out.writeUTF(nullToEmpty(value.routeName()));
+            out.writeUTF(value.status() != null ? value.status().name() : "");
+            if (value.latitude() != null) out.writeDouble(value.latitude());
+            if (value.longitude() != null) out.writeDouble(value.longitude());
+            if (value.lastUpdate() != null) {
+                out.writeLong(value.lastUpdate().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(value.lastUpdate().getNano());
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize shuttle location", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public ShuttleLocationResponse deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new SerializationException("Unsupported shuttle location format version: " + version);
+            }
+            byte flags = in.readByte();
+            long shuttleId = in.readLong();
+            String vehicleNumber = emptyToNull(in.readUTF());
+            String routeName = emptyToNull(in.readUTF());
+            String status = in.readUTF();
+            Double latitude = (flags & HAS_LATITUDE) != 0 ? in.readDouble() : null;
+            Double longitude = (flags & HAS_LONGITUDE) != 0 ? in.readDouble() : null;
+            LocalDateTime lastUpdate = (flags & HAS_LAST_UPDATE) != 0
+                    ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)
+                    : null;
+
+            return new ShuttleLocationResponse(
+                    shuttleId,
+                    vehicleNumber,
+                    routeName,
+                    status.isEmpty() ? null : ShuttleStatus.valueOf(status),
+                    latitude,
+                    longitude,
+                    lastUpdate
+            );
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Could not deserialize shuttle location", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.bardiakz.tracking_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the STOMP destinations used for tracking broadcasts
+ *
+ * The simple broker uses '/' separated topics (/topic/shuttle/1/status).
+ * RabbitMQ's STOMP plugin rejects '/' inside a topic name, so in relay mode
+ * the same topics are '.' separated (/topic/shuttle.1.status), which also
+ * lets clients use AMQP wildcards such as /topic/shuttle.*.status.
+ */
+@Component
+public class TrackingDestinations {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final String separator;
+
+    public TrackingDestinations(@Value("${tracking.websocket.relay.enabled:false}") boolean relayEnabled) {
+        this.separator = relayEnabled ? "." : "/";
+    }
+
+    // All location updates
+    public String allLocations() {
+        return TOPIC_PREFIX + "locations";
+    }
+
+    // Snapshot of all active shuttles
+    public String activeShuttles() {
+        return TOPIC_PREFIX + "shuttles" + separator + "active";
+    }
+
+    // Location updates for a single shuttle
+    public String shuttle(Long shuttleId) {
+        return TOPIC_PREFIX + "shuttle" + separator + shuttleId;
+    }
+
+    // Arrivals/departures at all stops
+    public String allStopEvents() {
+        return TOPIC_PREFIX + "stops";
+    }
+
+    // Arrivals/departures at a single stop
+    public String stopEvents(Long stopId) {
+        return TOPIC_PREFIX + "stop" + separator + stopId;
+    }
+
+    // Status changes for a single shuttle
+    public String shuttleStatus(Long shuttleId) {
+        return shuttle(shuttleId) + separator + "status";
+    }
+}
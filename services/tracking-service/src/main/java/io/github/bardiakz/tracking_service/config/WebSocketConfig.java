@@ -1,5 +1,6 @@
 package io.github.bardiakz.tracking_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -9,16 +10,52 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 /**
  * WebSocket configuration for real-time shuttle tracking
  * Uses STOMP protocol over WebSocket
+ *
+ * By default an in-memory simple broker is used, which only reaches clients
+ * connected to this instance. With tracking.websocket.relay.enabled=true the
+ * broker is replaced by a STOMP relay to RabbitMQ, so updates processed on any
+ * replica reach subscribers on every replica.
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${tracking.websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${tracking.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${tracking.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${tracking.websocket.relay.virtual-host:/}")
+    private String relayVirtualHost;
+
+    @Value("${tracking.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${tracking.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable simple in-memory message broker
-        // Clients subscribe to /topic/{destination}
-        config.enableSimpleBroker("/topic");
+        if (relayEnabled) {
+            // Relay to RabbitMQ's STOMP plugin - clients subscribe to /topic/{destination}
+            // RabbitMQ topic destinations can't contain '/', see TrackingDestinations
+            config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setVirtualHost(relayVirtualHost)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            // Enable simple in-memory message broker
+            // Clients subscribe to /topic/{destination}
+            config.enableSimpleBroker("/topic");
+        }
 
         // Prefix for messages from clients
         config.setApplicationDestinationPrefixes("/app");
@@ -31,4 +68,4 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*") // Allow all origins (configure properly in production)
                 .withSockJS(); // SockJS fallback for browsers without WebSocket support
     }
-}
\ No newline at end of file
+}
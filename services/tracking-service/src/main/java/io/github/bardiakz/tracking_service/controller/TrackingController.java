@@ -1,15 +1,27 @@
 package io.github.bardiakz.tracking_service.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bardiakz.tracking_service.dto.LocationUpdateRequest;
 import io.github.bardiakz.tracking_service.dto.ShuttleLocationResponse;
 import io.github.bardiakz.tracking_service.dto.ShuttleResponse;
+import io.github.bardiakz.tracking_service.dto.StopRequest;
+import io.github.bardiakz.tracking_service.dto.StopResponse;
 import io.github.bardiakz.tracking_service.model.ShuttleStatus;
+import io.github.bardiakz.tracking_service.service.GeofenceService;
+import io.github.bardiakz.tracking_service.service.LocationHistoryService;
 import io.github.bardiakz.tracking_service.service.TrackingService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,10 +32,21 @@ import java.util.List;
 @CrossOrigin(origins = "*") // Configure properly in production
 public class TrackingController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final TrackingService trackingService;
+    private final LocationHistoryService historyService;
+    private final GeofenceService geofenceService;
+    private final ObjectMapper objectMapper;
 
-    public TrackingController(TrackingService trackingService) {
+    public TrackingController(TrackingService trackingService,
+                              LocationHistoryService historyService,
+                              GeofenceService geofenceService,
+                              ObjectMapper objectMapper) {
         this.trackingService = trackingService;
+        this.historyService = historyService;
+        this.geofenceService = geofenceService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -58,6 +81,36 @@ public class TrackingController {
         return ResponseEntity.ok(location);
     }
 
+    /**
+     * Stream a shuttle's location history as NDJSON (one point per line)
+     * Optional tolerance (meters) enables Douglas-Peucker simplification
+     * GET /api/tracking/shuttles/{id}/history?from=...&to=...&tolerance=...
+     */
+    @GetMapping(value = "/shuttles/{id}/history", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> getShuttleHistory(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double tolerance) {
+
+        historyService.validateHistoryRequest(id, from, to, tolerance);
+
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream, 16 * 1024);
+            historyService.streamHistory(id, from, to, tolerance, point -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(point));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     /**
      * Get all shuttles (admin)
      * GET /api/tracking/shuttles
@@ -94,4 +147,33 @@ public class TrackingController {
         trackingService.updateShuttleStatus(id, status);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Get all stops (geofences)
+     * GET /api/tracking/stops
+     */
+    @GetMapping("/stops")
+    public ResponseEntity<List<StopResponse>> getAllStops() {
+        return ResponseEntity.ok(geofenceService.getAllStops());
+    }
+
+    /**
+     * Create a stop geofence (admin)
+     * POST /api/tracking/stops
+     */
+    @PostMapping("/stops")
+    public ResponseEntity<StopResponse> createStop(@Valid @RequestBody StopRequest request) {
+        StopResponse stop = geofenceService.createStop(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(stop);
+    }
+
+    /**
+     * Delete a stop geofence (admin)
+     * DELETE /api/tracking/stops/{id}
+     */
+    @DeleteMapping("/stops/{id}")
+    public ResponseEntity<Void> deleteStop(@PathVariable Long id) {
+        geofenceService.deleteStop(id);
+        return ResponseEntity.noContent().build();
+    }
 }
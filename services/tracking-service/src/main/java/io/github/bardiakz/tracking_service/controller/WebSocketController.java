@@ -1,16 +1,13 @@
 package io.github.bardiakz.tracking_service.controller;
 
-import io.github.bardiakz.tracking_service.dto.ShuttleLocationResponse;
+import io.github.bardiakz.tracking_service.service.LocationBroadcastService;
 import io.github.bardiakz.tracking_service.service.TrackingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.stereotype.Controller;
 
-import java.util.List;
-
 /**
  * WebSocket message handling controller
  * Handles incoming WebSocket messages from clients
@@ -21,32 +18,33 @@ public class WebSocketController {
     private static final Logger log = LoggerFactory.getLogger(WebSocketController.class);
 
     private final TrackingService trackingService;
+    private final LocationBroadcastService broadcastService;
 
-    public WebSocketController(TrackingService trackingService) {
+    public WebSocketController(TrackingService trackingService,
+                               LocationBroadcastService broadcastService) {
         this.trackingService = trackingService;
+        this.broadcastService = broadcastService;
     }
 
     /**
      * Client requests all active shuttle locations
      * Client sends to: /app/shuttles/active
-     * Response sent to: /topic/shuttles/active
+     * Response sent to: /topic/shuttles/active (/topic/shuttles.active in relay mode)
      */
     @MessageMapping("/shuttles/active")
-    @SendTo("/topic/shuttles/active")
-    public List<ShuttleLocationResponse> requestActiveShuttles() {
+    public void requestActiveShuttles() {
         log.debug("WebSocket client requested active shuttles");
-        return trackingService.getActiveShuttleLocations();
+        broadcastService.sendActiveShuttles(trackingService.getActiveShuttleLocations());
     }
 
     /**
      * Client requests specific shuttle location
      * Client sends to: /app/shuttle/{id}
-     * Response sent to: /topic/shuttle/{id}
+     * Response sent to: /topic/shuttle/{id} (/topic/shuttle.{id} in relay mode)
      */
     @MessageMapping("/shuttle/{id}")
-    @SendTo("/topic/shuttle/{id}")
-    public ShuttleLocationResponse requestShuttleLocation(@DestinationVariable Long id) {
+    public void requestShuttleLocation(@DestinationVariable Long id) {
         log.debug("WebSocket client requested shuttle location: {}", id);
-        return trackingService.getShuttleLocation(id);
+        broadcastService.sendShuttleLocation(trackingService.getShuttleLocation(id));
     }
 }
\ No newline at end of file
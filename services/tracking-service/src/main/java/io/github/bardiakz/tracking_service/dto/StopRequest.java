@@ -0,0 +1,20 @@
+package io.github.bardiakz.tracking_service.dto;
+
+import io.github.bardiakz.tracking_service.model.StopShape;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+/**
+ * Stop definition; CIRCLE needs radiusMeters, POLYGON needs at least 3 vertices ([lat, lon] pairs)
+ */
+public record StopRequest(
+        @NotBlank String name,
+        @NotNull StopShape shape,
+        @NotNull Double latitude,
+        @NotNull Double longitude,
+        @Positive Double radiusMeters,
+        List<double[]> vertices
+) {}
@@ -0,0 +1,26 @@
+package io.github.bardiakz.tracking_service.dto;
+
+import io.github.bardiakz.tracking_service.model.Stop;
+import io.github.bardiakz.tracking_service.model.StopShape;
+
+public record StopResponse(
+        Long id,
+        String name,
+        StopShape shape,
+        Double latitude,
+        Double longitude,
+        Double radiusMeters,
+        String vertices
+) {
+    public static StopResponse from(Stop stop) {
+        return new StopResponse(
+                stop.getId(),
+                stop.getName(),
+                stop.getShape(),
+                stop.getLatitude(),
+                stop.getLongitude(),
+                stop.getRadiusMeters(),
+                stop.getVertices()
+        );
+    }
+}
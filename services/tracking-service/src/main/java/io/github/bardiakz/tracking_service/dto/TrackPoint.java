@@ -0,0 +1,15 @@
+package io.github.bardiakz.tracking_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a historical Location row
+ * Used for route replay / trajectory export without hydrating entities
+ */
+public record TrackPoint(
+        Double latitude,
+        Double longitude,
+        LocalDateTime timestamp,
+        Double speed,
+        Double heading
+) {}
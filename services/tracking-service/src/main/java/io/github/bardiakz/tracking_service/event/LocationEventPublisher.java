@@ -44,6 +44,32 @@ public class LocationEventPublisher {
         );
     }
 
+    /**
+     * Publish ShuttleArrived event when a shuttle enters a stop geofence
+     */
+    public void publishShuttleArrived(ShuttleArrivedEvent event) {
+        log.debug("Publishing ShuttleArrived event for shuttle {} at stop {}", event.shuttleId(), event.stopId());
+
+        rabbitTemplate.convertAndSend(
+                RabbitMQConfig.LOCATION_EXCHANGE,
+                RabbitMQConfig.SHUTTLE_ARRIVED_ROUTING_KEY,
+                event
+        );
+    }
+
+    /**
+     * Publish ShuttleDeparted event when a shuttle leaves a stop geofence
+     */
+    public void publishShuttleDeparted(ShuttleDepartedEvent event) {
+        log.debug("Publishing ShuttleDeparted event for shuttle {} from stop {}", event.shuttleId(), event.stopId());
+
+        rabbitTemplate.convertAndSend(
+                RabbitMQConfig.LOCATION_EXCHANGE,
+                RabbitMQConfig.SHUTTLE_DEPARTED_ROUTING_KEY,
+                event
+        );
+    }
+
     /**
      * Event payload for location updates
      */
@@ -54,4 +80,30 @@ public class LocationEventPublisher {
             Double longitude,
             LocalDateTime timestamp
     ) {}
+
+    /**
+     * Event payload for stop arrivals
+     */
+    public record ShuttleArrivedEvent(
+            Long shuttleId,
+            String vehicleNumber,
+            Long stopId,
+            String stopName,
+            Double latitude,
+            Double longitude,
+            LocalDateTime timestamp
+    ) {}
+
+    /**
+     * Event payload for stop departures
+     */
+    public record ShuttleDepartedEvent(
+            Long shuttleId,
+            String vehicleNumber,
+            Long stopId,
+            String stopName,
+            Double latitude,
+            Double longitude,
+            LocalDateTime timestamp
+    ) {}
 }
@@ -0,0 +1,6 @@
+package io.github.bardiakz.tracking_service.model;
+
+public enum StopShape {
+    CIRCLE,  // Center point + radius
+    POLYGON  // Closed ring of vertices
+}
@@ -0,0 +1,40 @@
+package io.github.bardiakz.tracking_service.repository;
+
+import io.github.bardiakz.tracking_service.dto.TrackPoint;
+import io.github.bardiakz.tracking_service.model.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    /**
+     * Stream a shuttle's location history in chronological order.
+     * Rows are fetched from the cursor in chunks, so callers must consume
+     * (and close) the stream inside a transaction.
+     */
+    @Query("""
+            SELECT new io.github.bardiakz.tracking_service.dto.TrackPoint(
+                l.latitude, l.longitude, l.timestamp, l.speed, l.heading)
+            FROM Location l
+            WHERE l.shuttle.id = :shuttleId
+              AND l.timestamp >= :from
+              AND l.timestamp < :to
+            ORDER BY l.timestamp ASC
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TrackPoint> streamTrack(@Param("shuttleId") Long shuttleId,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+}
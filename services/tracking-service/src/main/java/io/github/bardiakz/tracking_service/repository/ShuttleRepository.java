@@ -19,4 +19,7 @@ public interface ShuttleRepository extends JpaRepository<Shuttle, Long> {
 
     // Find shuttles that have recently updated locations (active)
     List<Shuttle> findByStatusAndLastLocationUpdateIsNotNull(ShuttleStatus status);
+
+    // All shuttles that have reported at least one location (used to seed the state cache)
+    List<Shuttle> findByLastLocationUpdateIsNotNull();
 }
\ No newline at end of file
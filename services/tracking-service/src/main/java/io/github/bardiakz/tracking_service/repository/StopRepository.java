@@ -0,0 +1,13 @@
+package io.github.bardiakz.tracking_service.repository;
+
+import io.github.bardiakz.tracking_service.model.Stop;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StopRepository extends JpaRepository<Stop, Long> {
+
+    Optional<Stop> findByName(String name);
+}
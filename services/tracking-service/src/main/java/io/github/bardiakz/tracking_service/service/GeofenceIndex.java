@@ -0,0 +1,186 @@
+package io.github.bardiakz.tracking_service.service;
+
+import io.github.bardiakz.tracking_service.model.Stop;
+import io.github.bardiakz.tracking_service.model.StopShape;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable uniform-grid spatial index over stop geofences
+ *
+ * Each fence is registered in every grid cell its bounding box overlaps, so a
+ * lookup only runs exact containment tests against the handful of fences in
+ * the point's cell instead of against every stop. Rebuilt (and swapped
+ * atomically by GeofenceService) whenever stops change.
+ */
+public final class GeofenceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GeofenceIndex.class);
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+    private static final double METERS_PER_DEGREE_LAT = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+    // ~1.1 km cells: a campus fits in a few cells, and stops rarely span more than one
+    private static final double CELL_SIZE_DEGREES = 0.01;
+
+    public static final GeofenceIndex EMPTY = new GeofenceIndex(List.of());
+
+    private final Map<Long, List<Fence>> cells = new HashMap<>();
+    private final Map<Long, Fence> byStopId = new HashMap<>();
+
+    public GeofenceIndex(Collection<Stop> stops) {
+        for (Stop stop : stops) {
+            Fence fence;
+            try {
+                fence = Fence.of(stop);
+            } catch (RuntimeException e) {
+                // One malformed row must not take every other geofence down with it
+                log.warn("Skipping stop {} with invalid geofence: {}", stop.getId(), e.getMessage());
+                continue;
+            }
+            byStopId.put(fence.stopId, fence);
+            long minX = cell(fence.minLon), maxX = cell(fence.maxLon);
+            long minY = cell(fence.minLat), maxY = cell(fence.maxLat);
+            for (long x = minX; x <= maxX; x++) {
+                for (long y = minY; y <= maxY; y++) {
+                    cells.computeIfAbsent(key(x, y), k -> new ArrayList<>(2)).add(fence);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return byStopId.size();
+    }
+
+    /**
+     * Fence for a stop, or null if the stop no longer exists
+     */
+    public Fence fence(long stopId) {
+        return byStopId.get(stopId);
+    }
+
+    /**
+     * Fences that could contain the point (same grid cell)
+     */
+    public List<Fence> candidates(double latitude, double longitude) {
+        return cells.getOrDefault(key(cell(longitude), cell(latitude)), List.of());
+    }
+
+    private static long cell(double degrees) {
+        return (long) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) ^ (y & 0xffffffffL);
+    }
+
+    /**
+     * Precomputed geometry for one stop
+     */
+    public static final class Fence {
+
+        final long stopId;
+        final String stopName;
+        private final StopShape shape;
+        private final double centerLat;
+        private final double centerLon;
+        private final double radiusMeters;
+        private final double[] lats;
+        private final double[] lons;
+        final double minLat, maxLat, minLon, maxLon;
+
+        private Fence(Stop stop, double[] lats, double[] lons) {
+            this.stopId = stop.getId();
+            this.stopName = stop.getName();
+            this.shape = stop.getShape();
+            this.centerLat = stop.getLatitude();
+            this.centerLon = stop.getLongitude();
+            this.radiusMeters = stop.getRadiusMeters() != null ? stop.getRadiusMeters() : 0;
+            this.lats = lats;
+            this.lons = lons;
+
+            if (shape == StopShape.POLYGON) {
+                double loLat = Double.MAX_VALUE, hiLat = -Double.MAX_VALUE;
+                double loLon = Double.MAX_VALUE, hiLon = -Double.MAX_VALUE;
+                for (int i = 0; i < lats.length; i++) {
+                    loLat = Math.min(loLat, lats[i]);
+                    hiLat = Math.max(hiLat, lats[i]);
+                    loLon = Math.min(loLon, lons[i]);
+                    hiLon = Math.max(hiLon, lons[i]);
+                }
+                minLat = loLat;
+                maxLat = hiLat;
+                minLon = loLon;
+                maxLon = hiLon;
+            } else {
+                double dLat = radiusMeters / METERS_PER_DEGREE_LAT;
+                double dLon = dLat / Math.max(Math.cos(Math.toRadians(centerLat)), 1e-6);
+                minLat = centerLat - dLat;
+                maxLat = centerLat + dLat;
+                minLon = centerLon - dLon;
+                maxLon = centerLon + dLon;
+            }
+        }
+
+        static Fence of(Stop stop) {
+            if (stop.getLatitude() == null || stop.getLongitude() == null) {
+                throw new IllegalArgumentException("missing position");
+            }
+            if (stop.getShape() != StopShape.POLYGON) {
+                return new Fence(stop, null, null);
+            }
+            if (stop.getVertices() == null || stop.getVertices().isBlank()) {
+                throw new IllegalArgumentException("polygon without vertices");
+            }
+            String[] points = stop.getVertices().split(";");
+            if (points.length < 3) {
+                throw new IllegalArgumentException("polygon needs at least 3 vertices");
+            }
+            double[] lats = new double[points.length];
+            double[] lons = new double[points.length];
+            for (int i = 0; i < points.length; i++) {
+                String[] latLon = points[i].split(",");
+                lats[i] = Double.parseDouble(latLon[0].trim());
+                lons[i] = Double.parseDouble(latLon[1].trim());
+            }
+            return new Fence(stop, lats, lons);
+        }
+
+        /**
+         * Containment test; marginMeters widens circles (used as exit hysteresis)
+         */
+        boolean contains(double latitude, double longitude, double marginMeters) {
+            if (shape == StopShape.POLYGON) {
+                return latitude >= minLat && latitude <= maxLat
+                        && longitude >= minLon && longitude <= maxLon
+                        && polygonContains(latitude, longitude);
+            }
+            return distanceMeters(latitude, longitude) <= radiusMeters + marginMeters;
+        }
+
+        private double distanceMeters(double latitude, double longitude) {
+            double x = Math.toRadians(longitude - centerLon) * Math.cos(Math.toRadians(centerLat));
+            double y = Math.toRadians(latitude - centerLat);
+            return Math.hypot(x, y) * EARTH_RADIUS_METERS;
+        }
+
+        // Even-odd ray casting (planar lat/lon is fine at stop scale)
+        private boolean polygonContains(double latitude, double longitude) {
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > latitude) != (lats[j] > latitude)
+                        && longitude < (lons[j] - lons[i]) * (latitude - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+}
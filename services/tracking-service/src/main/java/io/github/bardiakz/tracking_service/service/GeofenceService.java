@@ -0,0 +1,267 @@
+package io.github.bardiakz.tracking_service.service;
+
+import io.github.bardiakz.tracking_service.dto.StopRequest;
+import io.github.bardiakz.tracking_service.dto.StopResponse;
+import io.github.bardiakz.tracking_service.event.LocationEventPublisher;
+import io.github.bardiakz.tracking_service.model.Stop;
+import io.github.bardiakz.tracking_service.model.StopShape;
+import io.github.bardiakz.tracking_service.repository.StopRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Geofence engine for shuttle stops
+ *
+ * Every ingested location is checked against the stop index and only the
+ * transitions (arrived/departed) are published, so consumers get a few
+ * meaningful events instead of the raw location stream.
+ *
+ * Occupancy lives in Redis (StopOccupancyStore) so every replica sees the same
+ * state. Each replica keeps its own copy of the stop index; stop changes are
+ * announced over Redis pub/sub and the index is also reloaded periodically.
+ */
+@Service
+public class GeofenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeofenceService.class);
+
+    static final String STOPS_CHANGED_CHANNEL = "tracking:stops:changed";
+
+    // Concurrent updates for one shuttle are rare, so a few compare-and-set rounds are plenty
+    private static final int MAX_OCCUPANCY_ATTEMPTS = 5;
+
+    private final StopRepository stopRepository;
+    private final LocationEventPublisher eventPublisher;
+    private final LocationBroadcastService broadcastService;
+    private final StopOccupancyStore occupancyStore;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // Circles must be left by this much before a departure fires (GPS jitter)
+    private final double exitMarginMeters;
+
+    private volatile GeofenceIndex index = GeofenceIndex.EMPTY;
+
+    public GeofenceService(StopRepository stopRepository,
+                           LocationEventPublisher eventPublisher,
+                           LocationBroadcastService broadcastService,
+                           StopOccupancyStore occupancyStore,
+                           StringRedisTemplate redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${tracking.geofence.exit-margin-meters:15}") double exitMarginMeters) {
+        this.stopRepository = stopRepository;
+        this.eventPublisher = eventPublisher;
+        this.broadcastService = broadcastService;
+        this.occupancyStore = occupancyStore;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.exitMarginMeters = exitMarginMeters;
+    }
+
+    /**
+     * Build the spatial index on startup and rebuild it whenever any replica changes stops
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStops() {
+        listenerContainer.addMessageListener((message, pattern) -> rebuildIndex(),
+                new ChannelTopic(STOPS_CHANGED_CHANNEL));
+        rebuildIndex();
+        log.info("Geofence index loaded with {} stops", index.size());
+    }
+
+    /**
+     * Safety net for missed pub/sub notifications (e.g. while Redis was unreachable)
+     */
+    @Scheduled(fixedDelayString = "${tracking.geofence.reload-interval-ms:60000}",
+            initialDelayString = "${tracking.geofence.reload-interval-ms:60000}")
+    public void reloadStops() {
+        rebuildIndex();
+    }
+
+    /**
+     * Evaluate a location against all stops and emit arrival/departure events on transitions
+     */
+    public void evaluate(Long shuttleId, String vehicleNumber, double latitude, double longitude) {
+        for (int attempt = 0; attempt < MAX_OCCUPANCY_ATTEMPTS; attempt++) {
+            GeofenceIndex current = index;
+            Set<Long> previous = occupancyStore.get(shuttleId);
+            if (current.size() == 0 && previous.isEmpty()) {
+                return;
+            }
+
+            Set<Long> inside = stopsContaining(current, previous, latitude, longitude);
+            if (inside.equals(previous)) {
+                return;
+            }
+            // Only the replica whose update wins publishes the transitions
+            if (occupancyStore.compareAndSet(shuttleId, previous, inside)) {
+                publishTransitions(current, shuttleId, vehicleNumber, previous, inside, latitude, longitude);
+                return;
+            }
+        }
+        log.warn("Gave up updating stop occupancy of shuttle {} after {} concurrent updates",
+                shuttleId, MAX_OCCUPANCY_ATTEMPTS);
+    }
+
+    private Set<Long> stopsContaining(GeofenceIndex current, Set<Long> previous, double latitude, double longitude) {
+        Set<Long> inside = new HashSet<>();
+        for (GeofenceIndex.Fence fence : current.candidates(latitude, longitude)) {
+            if (!previous.contains(fence.stopId) && fence.contains(latitude, longitude, 0)) {
+                inside.add(fence.stopId);
+            }
+        }
+        // Stops already occupied are checked directly (with hysteresis), even outside the point's cell
+        for (Long stopId : previous) {
+            GeofenceIndex.Fence fence = current.fence(stopId);
+            if (fence != null && fence.contains(latitude, longitude, exitMarginMeters)) {
+                inside.add(stopId);
+            }
+        }
+        return inside;
+    }
+
+    private void publishTransitions(GeofenceIndex current, Long shuttleId, String vehicleNumber,
+                                    Set<Long> previous, Set<Long> inside, double latitude, double longitude) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long stopId : inside) {
+            if (!previous.contains(stopId)) {
+                var event = new LocationEventPublisher.ShuttleArrivedEvent(
+                        shuttleId, vehicleNumber, stopId, stopName(current, stopId), latitude, longitude, now);
+                log.info("Shuttle {} arrived at stop {}", shuttleId, stopId);
+                eventPublisher.publishShuttleArrived(event);
+                broadcastService.broadcastStopEvent(stopId, event);
+            }
+        }
+        for (Long stopId : previous) {
+            if (!inside.contains(stopId)) {
+                var event = new LocationEventPublisher.ShuttleDepartedEvent(
+                        shuttleId, vehicleNumber, stopId, stopName(current, stopId), latitude, longitude, now);
+                log.info("Shuttle {} departed from stop {}", shuttleId, stopId);
+                eventPublisher.publishShuttleDeparted(event);
+                broadcastService.broadcastStopEvent(stopId, event);
+            }
+        }
+    }
+
+    /**
+     * Stops the shuttle is currently inside
+     */
+    public Set<Long> getOccupiedStops(Long shuttleId) {
+        return occupancyStore.get(shuttleId);
+    }
+
+    public List<StopResponse> getAllStops() {
+        return stopRepository.findAll().stream()
+                .map(StopResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public StopResponse createStop(StopRequest request) {
+        log.info("Creating stop: {}", request.name());
+
+        if (stopRepository.findByName(request.name()).isPresent()) {
+            throw new IllegalArgumentException("Stop already exists with name: " + request.name());
+        }
+
+        requireCoordinate(request.latitude(), request.longitude());
+
+        Stop stop = new Stop();
+        stop.setName(request.name());
+        stop.setShape(request.shape());
+        stop.setLatitude(request.latitude());
+        stop.setLongitude(request.longitude());
+
+        if (request.shape() == StopShape.CIRCLE) {
+            if (request.radiusMeters() == null || !(request.radiusMeters() > 0)) {
+                throw new IllegalArgumentException("Circle stops require a positive radiusMeters");
+            }
+            stop.setRadiusMeters(request.radiusMeters());
+        } else {
+            if (request.vertices() == null || request.vertices().size() < 3) {
+                throw new IllegalArgumentException("Polygon stops require at least 3 vertices");
+            }
+            stop.setVertices(request.vertices().stream()
+                    .map(vertex -> {
+                        if (vertex == null || vertex.length != 2) {
+                            throw new IllegalArgumentException("Each vertex must be a [latitude, longitude] pair");
+                        }
+                        requireCoordinate(vertex[0], vertex[1]);
+                        return vertex[0] + "," + vertex[1];
+                    })
+                    .collect(Collectors.joining(";")));
+            if (stop.getVertices().length() > 4000) {
+                throw new IllegalArgumentException("Polygon has too many vertices");
+            }
+        }
+
+        stop = stopRepository.save(stop);
+        rebuildIndex();
+        announceStopsChanged();
+
+        log.info("Stop created successfully with ID: {}", stop.getId());
+        return StopResponse.from(stop);
+    }
+
+    @Transactional
+    public void deleteStop(Long stopId) {
+        log.info("Deleting stop {}", stopId);
+
+        if (!stopRepository.existsById(stopId)) {
+            throw new IllegalArgumentException("Stop not found: " + stopId);
+        }
+        stopRepository.deleteById(stopId);
+        rebuildIndex();
+        announceStopsChanged();
+    }
+
+    private synchronized void rebuildIndex() {
+        index = new GeofenceIndex(stopRepository.findAll());
+    }
+
+    /**
+     * Tell the other replicas to reload their index once the change is committed
+     */
+    private void announceStopsChanged() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    redisTemplate.convertAndSend(STOPS_CHANGED_CHANNEL, "changed");
+                } catch (Exception e) {
+                    log.warn("Failed to announce stop change, other replicas reload on their next interval: {}",
+                            e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static void requireCoordinate(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null
+                || !(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Invalid coordinate: [" + latitude + ", " + longitude + "]");
+        }
+    }
+
+    private static String stopName(GeofenceIndex index, Long stopId) {
+        GeofenceIndex.Fence fence = index.fence(stopId);
+        return fence != null ? fence.stopName : null;
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.bardiakz.tracking_service.service;
 
+import io.github.bardiakz.tracking_service.config.TrackingDestinations;
 import io.github.bardiakz.tracking_service.dto.ShuttleLocationResponse;
 import io.github.bardiakz.tracking_service.model.ShuttleStatus;
 import org.slf4j.Logger;
@@ -7,6 +8,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Broadcasts location updates to WebSocket clients
  */
@@ -16,9 +19,12 @@ public class LocationBroadcastService {
     private static final Logger log = LoggerFactory.getLogger(LocationBroadcastService.class);
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final TrackingDestinations destinations;
 
-    public LocationBroadcastService(SimpMessagingTemplate messagingTemplate) {
+    public LocationBroadcastService(SimpMessagingTemplate messagingTemplate,
+                                    TrackingDestinations destinations) {
         this.messagingTemplate = messagingTemplate;
+        this.destinations = destinations;
     }
 
     /**
@@ -28,10 +34,34 @@ public class LocationBroadcastService {
         log.debug("Broadcasting location update for shuttle {}", location.shuttleId());
 
         // Send to topic /topic/locations - all clients receive all updates
-        messagingTemplate.convertAndSend("/topic/locations", location);
+        messagingTemplate.convertAndSend(destinations.allLocations(), location);
 
         // Also send to specific shuttle topic /topic/shuttle/{id}
-        messagingTemplate.convertAndSend("/topic/shuttle/" + location.shuttleId(), location);
+        sendShuttleLocation(location);
+    }
+
+    /**
+     * Send a shuttle's location to its own topic only
+     */
+    public void sendShuttleLocation(ShuttleLocationResponse location) {
+        messagingTemplate.convertAndSend(destinations.shuttle(location.shuttleId()), location);
+    }
+
+    /**
+     * Send the current snapshot of active shuttles
+     */
+    public void sendActiveShuttles(List<ShuttleLocationResponse> shuttles) {
+        messagingTemplate.convertAndSend(destinations.activeShuttles(), shuttles);
+    }
+
+    /**
+     * Broadcast a stop arrival/departure to /topic/stops and /topic/stop/{id}
+     */
+    public void broadcastStopEvent(Long stopId, Object event) {
+        log.debug("Broadcasting stop event for stop {}", stopId);
+
+        messagingTemplate.convertAndSend(destinations.allStopEvents(), event);
+        messagingTemplate.convertAndSend(destinations.stopEvents(stopId), event);
     }
 
     /**
@@ -41,7 +71,7 @@ public class LocationBroadcastService {
         log.debug("Broadcasting status change for shuttle {}: {}", shuttleId, status);
 
         var statusUpdate = new StatusChangeMessage(shuttleId, status);
-        messagingTemplate.convertAndSend("/topic/shuttle/" + shuttleId + "/status", statusUpdate);
+        messagingTemplate.convertAndSend(destinations.shuttleStatus(shuttleId), statusUpdate);
     }
 
     private record StatusChangeMessage(Long shuttleId, ShuttleStatus newStatus) {}
@@ -0,0 +1,81 @@
+package io.github.bardiakz.tracking_service.service;
+
+import io.github.bardiakz.tracking_service.dto.TrackPoint;
+import io.github.bardiakz.tracking_service.repository.LocationRepository;
+import io.github.bardiakz.tracking_service.repository.ShuttleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Route replay / trajectory export over the persisted Location history
+ * Points are streamed from a DB cursor straight to the caller, never collected in memory
+ */
+@Service
+public class LocationHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationHistoryService.class);
+    private static final Duration MAX_RANGE = Duration.ofDays(7);
+
+    private final LocationRepository locationRepository;
+    private final ShuttleRepository shuttleRepository;
+
+    public LocationHistoryService(LocationRepository locationRepository,
+                                  ShuttleRepository shuttleRepository) {
+        this.locationRepository = locationRepository;
+        this.shuttleRepository = shuttleRepository;
+    }
+
+    /**
+     * Validate a history request up front, before the response is committed
+     */
+    public void validateHistoryRequest(Long shuttleId, LocalDateTime from, LocalDateTime to, Double toleranceMeters) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalArgumentException("History range must not exceed " + MAX_RANGE.toDays() + " days");
+        }
+        if (toleranceMeters != null && toleranceMeters < 0) {
+            throw new IllegalArgumentException("Tolerance must not be negative");
+        }
+        if (!shuttleRepository.existsById(shuttleId)) {
+            throw new IllegalArgumentException("Shuttle not found: " + shuttleId);
+        }
+    }
+
+    /**
+     * Stream a shuttle's track in chronological order to the given sink,
+     * optionally simplified with Douglas-Peucker at the given tolerance (meters)
+     *
+     * @return number of points emitted
+     */
+    @Transactional(readOnly = true)
+    public long streamHistory(Long shuttleId, LocalDateTime from, LocalDateTime to,
+                              Double toleranceMeters, Consumer<TrackPoint> sink) {
+        log.debug("Streaming history for shuttle {} from {} to {} (tolerance={}m)",
+                shuttleId, from, to, toleranceMeters);
+
+        try (Stream<TrackPoint> points = locationRepository.streamTrack(shuttleId, from, to)) {
+            if (toleranceMeters == null || toleranceMeters == 0) {
+                long[] count = {0};
+                points.forEach(point -> {
+                    count[0]++;
+                    sink.accept(point);
+                });
+                return count[0];
+            }
+
+            TrajectorySimplifier simplifier = new TrajectorySimplifier(toleranceMeters, sink);
+            points.forEach(simplifier);
+            simplifier.finish();
+            return simplifier.getEmittedCount();
+        }
+    }
+}
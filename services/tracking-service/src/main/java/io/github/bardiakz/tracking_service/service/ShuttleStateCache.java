@@ -0,0 +1,271 @@
+package io.github.bardiakz.tracking_service.service;
+
+import io.github.bardiakz.tracking_service.dto.ShuttleLocationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live shuttle state kept in a single Redis hash (field = shuttle id)
+ *
+ * Writes are coalesced per shuttle and flushed as one multi-field HSET on a
+ * short interval, so a burst of GPS pings costs one Redis round trip instead
+ * of one per ping. Reads go through a local near-cache that is refreshed with
+ * a single HGETALL at most once per near-cache TTL.
+ *
+ * Every field's lastUpdate is mirrored in a sorted set. Writes go through a
+ * script that skips fields Redis already holds a newer position for, so a
+ * replica flushing late can't move a shuttle back, and entries that stopped
+ * updating are pruned after state-ttl-minutes (the old per-key TTL).
+ */
+@Component
+public class ShuttleStateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ShuttleStateCache.class);
+    static final String STATE_HASH_KEY = "shuttle:locations";
+    static final String UPDATED_ZSET_KEY = "shuttle:locations:updated";
+
+    // KEYS[1] = state hash, KEYS[2] = lastUpdate zset, ARGV = (shuttle id, lastUpdate millis, state) triples
+    private static final DefaultRedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>(
+            "local applied = 0 "
+                    + "for i = 1, #ARGV, 3 do "
+                    + "local current = redis.call('ZSCORE', KEYS[2], ARGV[i]) "
+                    + "if not current or tonumber(current) <= tonumber(ARGV[i + 1]) then "
+                    + "redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 2]) "
+                    + "redis.call('ZADD', KEYS[2], ARGV[i + 1], ARGV[i]) "
+                    + "applied = applied + 1 "
+                    + "end "
+                    + "end "
+                    + "return applied",
+            Long.class);
+
+    // KEYS as above, ARGV[1] = cutoff millis; also drops fields that have no lastUpdate entry at all
+    private static final DefaultRedisScript<Long> PRUNE = new DefaultRedisScript<>(
+            "local stale = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[1]) "
+                    + "for _, field in ipairs(stale) do "
+                    + "redis.call('HDEL', KEYS[1], field) "
+                    + "redis.call('ZREM', KEYS[2], field) "
+                    + "end "
+                    + "local removed = #stale "
+                    + "for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do "
+                    + "if not redis.call('ZSCORE', KEYS[2], field) then "
+                    + "redis.call('HDEL', KEYS[1], field) "
+                    + "removed = removed + 1 "
+                    + "end "
+                    + "end "
+                    + "return removed",
+            Long.class);
+
+    // KEYS as above, ARGV[1] = shuttle id
+    private static final DefaultRedisScript<Long> REMOVE = new DefaultRedisScript<>(
+            "redis.call('ZREM', KEYS[2], ARGV[1]) "
+                    + "return redis.call('HDEL', KEYS[1], ARGV[1])",
+            Long.class);
+
+    // Script arguments are a mix of strings and already-serialized states
+    private static final RedisSerializer<Object> SCRIPT_ARGS = new RedisSerializer<>() {
+        @Override
+        public byte[] serialize(Object value) {
+            return value instanceof byte[] bytes ? bytes : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+    };
+    private static final RedisSerializer<Long> SCRIPT_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, ShuttleLocationResponse> redisTemplate;
+    private final HashOperations<String, String, ShuttleLocationResponse> hashOps;
+    private final RedisSerializer<ShuttleLocationResponse> stateSerializer;
+    private final long nearCacheTtlMillis;
+    private final long stateTtlMinutes;
+
+    // Updates waiting for the next flush (latest value per shuttle wins)
+    private final ConcurrentHashMap<Long, ShuttleLocationResponse> pending = new ConcurrentHashMap<>();
+
+    // Local copy of the Redis hash, overlaid with this node's own writes
+    private final ConcurrentHashMap<Long, ShuttleLocationResponse> nearCache = new ConcurrentHashMap<>();
+    private volatile long nearCacheLoadedAt;
+
+    @SuppressWarnings("unchecked")
+    public ShuttleStateCache(RedisTemplate<String, ShuttleLocationResponse> shuttleStateRedisTemplate,
+                             @Value("${tracking.cache.near-cache-ttl-ms:1000}") long nearCacheTtlMillis,
+                             @Value("${tracking.cache.state-ttl-minutes:10}") long stateTtlMinutes) {
+        this.redisTemplate = shuttleStateRedisTemplate;
+        this.hashOps = shuttleStateRedisTemplate.opsForHash();
+        this.stateSerializer = (RedisSerializer<ShuttleLocationResponse>) shuttleStateRedisTemplate.getHashValueSerializer();
+        this.nearCacheTtlMillis = nearCacheTtlMillis;
+        this.stateTtlMinutes = stateTtlMinutes;
+    }
+
+    /**
+     * Record the latest state for a shuttle; written to Redis on the next flush
+     */
+    public void put(ShuttleLocationResponse state) {
+        pending.put(state.shuttleId(), state);
+        nearCache.put(state.shuttleId(), state);
+    }
+
+    /**
+     * Write many states to Redis immediately in one script call (used for seeding)
+     * States older than the state TTL are skipped; Redis keeps anything newer it already has
+     */
+    public void putAll(Collection<ShuttleLocationResponse> states) {
+        long cutoff = staleCutoffMillis();
+        List<ShuttleLocationResponse> fresh = new ArrayList<>(states.size());
+        for (ShuttleLocationResponse state : states) {
+            if (lastUpdateMillis(state) >= cutoff) {
+                fresh.add(state);
+                nearCache.put(state.shuttleId(), state);
+            }
+        }
+        if (!fresh.isEmpty()) {
+            putIfNewer(fresh);
+        }
+    }
+
+    /**
+     * Drop a shuttle from the live state (decommissioned shuttles)
+     */
+    public void remove(Long shuttleId) {
+        pending.remove(shuttleId);
+        nearCache.remove(shuttleId);
+        redisTemplate.execute(REMOVE, SCRIPT_ARGS, SCRIPT_RESULT, List.of(STATE_HASH_KEY, UPDATED_ZSET_KEY), shuttleId);
+    }
+
+    /**
+     * Latest known state for a shuttle, if any
+     */
+    public Optional<ShuttleLocationResponse> get(Long shuttleId) {
+        ShuttleLocationResponse local = pending.get(shuttleId);
+        if (local == null && isNearCacheFresh()) {
+            local = nearCache.get(shuttleId);
+        }
+        if (local != null) {
+            return Optional.of(local);
+        }
+        return Optional.ofNullable(hashOps.get(STATE_HASH_KEY, String.valueOf(shuttleId)));
+    }
+
+    /**
+     * Snapshot of all cached shuttle states (one HGETALL per near-cache TTL)
+     */
+    public List<ShuttleLocationResponse> getAll() {
+        if (!isNearCacheFresh()) {
+            reloadNearCache();
+        }
+        return new ArrayList<>(nearCache.values());
+    }
+
+    /**
+     * Flush coalesced updates to Redis in a single script call
+     */
+    @Scheduled(fixedDelayString = "${tracking.cache.flush-interval-ms:100}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<ShuttleLocationResponse> batch = new ArrayList<>();
+        for (Long shuttleId : List.copyOf(pending.keySet())) {
+            ShuttleLocationResponse state = pending.remove(shuttleId);
+            if (state != null) {
+                batch.add(state);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            long applied = putIfNewer(batch);
+            log.debug("Flushed {} shuttle states to Redis ({} superseded)", batch.size(), batch.size() - applied);
+        } catch (Exception e) {
+            log.warn("Failed to flush shuttle states to Redis (will retry): {}", e.getMessage());
+            // Re-queue without clobbering anything newer that arrived meanwhile
+            batch.forEach(state -> pending.putIfAbsent(state.shuttleId(), state));
+        }
+    }
+
+    /**
+     * Remove shuttles that have not reported for longer than the state TTL
+     */
+    @Scheduled(fixedDelayString = "${tracking.cache.prune-interval-ms:60000}")
+    public void pruneStale() {
+        try {
+            Long removed = redisTemplate.execute(PRUNE, SCRIPT_ARGS, SCRIPT_RESULT,
+                    List.of(STATE_HASH_KEY, UPDATED_ZSET_KEY), staleCutoffMillis());
+            if (removed != null && removed > 0) {
+                log.info("Pruned {} stale shuttle states from Redis", removed);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to prune stale shuttle states: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of states written (the rest were older than what Redis has)
+     */
+    private long putIfNewer(List<ShuttleLocationResponse> states) {
+        Object[] args = new Object[states.size() * 3];
+        int i = 0;
+        for (ShuttleLocationResponse state : states) {
+            args[i++] = state.shuttleId();
+            args[i++] = lastUpdateMillis(state);
+            args[i++] = stateSerializer.serialize(state);
+        }
+        Long applied = redisTemplate.execute(PUT_IF_NEWER, SCRIPT_ARGS, SCRIPT_RESULT,
+                List.of(STATE_HASH_KEY, UPDATED_ZSET_KEY), args);
+        return applied != null ? applied : 0;
+    }
+
+    private long staleCutoffMillis() {
+        return LocalDateTime.now().minusMinutes(stateTtlMinutes).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // Same UTC convention as ShuttleLocationRedisSerializer; states without a position sort first
+    private static long lastUpdateMillis(ShuttleLocationResponse state) {
+        return state.lastUpdate() != null ? state.lastUpdate().toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    private boolean isNearCacheFresh() {
+        return System.currentTimeMillis() - nearCacheLoadedAt < nearCacheTtlMillis;
+    }
+
+    private void reloadNearCache() {
+        Map<String, ShuttleLocationResponse> entries = hashOps.entries(STATE_HASH_KEY);
+
+        Map<Long, ShuttleLocationResponse> fresh = new HashMap<>(entries.size() * 2);
+        entries.forEach((field, state) -> {
+            if (state != null) {
+                fresh.put(Long.valueOf(field), state);
+            }
+        });
+        // Local writes that have not been flushed yet are newer than what Redis has
+        fresh.putAll(pending);
+
+        nearCache.keySet().retainAll(fresh.keySet());
+        nearCache.putAll(fresh);
+        nearCacheLoadedAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.bardiakz.tracking_service.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stops each shuttle is inside, shared by all tracking-service replicas through one Redis hash
+ *
+ * Updates are compare-and-set, so when pings of the same shuttle are handled on two replicas
+ * at once only one of them records (and publishes) a given transition.
+ */
+@Component
+public class StopOccupancyStore {
+
+    static final String OCCUPANCY_HASH_KEY = "shuttle:stops";
+
+    // KEYS[1] = hash, ARGV = shuttle id, expected value, new value ("" = not inside any stop)
+    private static final DefaultRedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], ARGV[1]) or '' "
+                    + "if current ~= ARGV[2] then return 0 end "
+                    + "if ARGV[3] == '' then redis.call('HDEL', KEYS[1], ARGV[1]) "
+                    + "else redis.call('HSET', KEYS[1], ARGV[1], ARGV[3]) end "
+                    + "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public StopOccupancyStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public Set<Long> get(Long shuttleId) {
+        Object value = redisTemplate.opsForHash().get(OCCUPANCY_HASH_KEY, String.valueOf(shuttleId));
+        return decode((String) value);
+    }
+
+    /**
+     * Replace the shuttle's stops only if they are still {@code expected}
+     *
+     * @return false if another replica changed them first
+     */
+    public boolean compareAndSet(Long shuttleId, Set<Long> expected, Set<Long> updated) {
+        Long applied = redisTemplate.execute(COMPARE_AND_SET, List.of(OCCUPANCY_HASH_KEY),
+                String.valueOf(shuttleId), encode(expected), encode(updated));
+        return applied != null && applied == 1L;
+    }
+
+    private static String encode(Set<Long> stopIds) {
+        return stopIds.stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    private static Set<Long> decode(String value) {
+        if (value == null || value.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
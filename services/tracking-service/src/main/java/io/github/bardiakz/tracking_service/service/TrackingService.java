@@ -12,26 +12,25 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class TrackingService {
 
     private static final Logger log = LoggerFactory.getLogger(TrackingService.class);
-    private static final String LOCATION_CACHE_PREFIX = "shuttle:location:";
-    private static final long CACHE_TTL_MINUTES = 10;
 
     private final ShuttleRepository shuttleRepository;
     private final LocationEventPublisher eventPublisher;
     private final LocationBroadcastService broadcastService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ShuttleStateCache stateCache;
+    private final GeofenceService geofenceService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -39,11 +38,13 @@ public class TrackingService {
     public TrackingService(ShuttleRepository shuttleRepository,
                            LocationEventPublisher eventPublisher,
                            LocationBroadcastService broadcastService,
-                           RedisTemplate<String, Object> redisTemplate) {
+                           ShuttleStateCache stateCache,
+                           GeofenceService geofenceService) {
         this.shuttleRepository = shuttleRepository;
         this.eventPublisher = eventPublisher;
         this.broadcastService = broadcastService;
-        this.redisTemplate = redisTemplate;
+        this.stateCache = stateCache;
+        this.geofenceService = geofenceService;
     }
 
     /**
@@ -100,6 +101,14 @@ public class TrackingService {
                 log.warn("Failed to publish location event to RabbitMQ: {}", e.getMessage());
             }
 
+            // Detect stop arrivals/departures (only transitions are published)
+            try {
+                geofenceService.evaluate(shuttle.getId(), shuttle.getVehicleNumber(),
+                        request.latitude(), request.longitude());
+            } catch (Exception e) {
+                log.warn("Failed to evaluate geofences: {}", e.getMessage());
+            }
+
             log.info("Location updated successfully for shuttle {}", shuttle.getId());
             return response;
 
@@ -111,13 +120,26 @@ public class TrackingService {
 
     /**
      * Get all active shuttles with their current locations
+     * Served from the Redis state hash (via near-cache); Postgres is only hit when the hash is empty
      */
     public List<ShuttleLocationResponse> getActiveShuttleLocations() {
         log.debug("Fetching all active shuttle locations");
 
-        return shuttleRepository.findByStatusAndLastLocationUpdateIsNotNull(ShuttleStatus.ACTIVE)
-                .stream()
-                .map(ShuttleLocationResponse::from)
+        try {
+            List<ShuttleLocationResponse> cached = stateCache.getAll();
+            if (!cached.isEmpty()) {
+                return cached.stream()
+                        .filter(state -> state.status() == ShuttleStatus.ACTIVE && state.lastUpdate() != null)
+                        .collect(Collectors.toList());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read shuttle states from Redis: {}", e.getMessage());
+        }
+
+        // Cache is cold (or Redis is down) - fall back to database and re-seed
+        List<ShuttleLocationResponse> located = seedStateCache();
+        return located.stream()
+                .filter(state -> state.status() == ShuttleStatus.ACTIVE)
                 .collect(Collectors.toList());
     }
 
@@ -129,11 +151,10 @@ public class TrackingService {
 
         // Try cache first
         try {
-            String cacheKey = LOCATION_CACHE_PREFIX + shuttleId;
-            ShuttleLocationResponse cached = (ShuttleLocationResponse) redisTemplate.opsForValue().get(cacheKey);
-            if (cached != null) {
+            Optional<ShuttleLocationResponse> cached = stateCache.get(shuttleId);
+            if (cached.isPresent()) {
                 log.debug("Location found in cache");
-                return cached;
+                return cached.get();
             }
         } catch (Exception e) {
             log.warn("Failed to retrieve from Redis cache: {}", e.getMessage());
@@ -196,6 +217,17 @@ public class TrackingService {
         shuttle.setStatus(status);
         shuttleRepository.save(shuttle);
 
+        // Keep the live state hash in sync with the new status; decommissioned shuttles leave it
+        try {
+            if (status == ShuttleStatus.OUT_OF_SERVICE) {
+                stateCache.remove(shuttleId);
+            } else if (shuttle.getLastLocationUpdate() != null) {
+                cacheLocation(ShuttleLocationResponse.from(shuttle));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to cache status change: {}", e.getMessage());
+        }
+
         // Broadcast status change
         try {
             broadcastService.broadcastShuttleStatusChange(shuttleId, status);
@@ -207,10 +239,34 @@ public class TrackingService {
     }
 
     /**
-     * Cache location in Redis
+     * Seed the Redis state hash from the database on startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmStateCache() {
+        List<ShuttleLocationResponse> seeded = seedStateCache();
+        log.info("Seeded shuttle state cache with {} shuttles", seeded.size());
+    }
+
+    /**
+     * Load every shuttle with a known location from the database and write them to Redis in one HSET
+     */
+    private List<ShuttleLocationResponse> seedStateCache() {
+        List<ShuttleLocationResponse> located = shuttleRepository.findByLastLocationUpdateIsNotNull()
+                .stream()
+                .map(ShuttleLocationResponse::from)
+                .collect(Collectors.toList());
+        try {
+            stateCache.putAll(located);
+        } catch (Exception e) {
+            log.warn("Failed to seed shuttle state cache: {}", e.getMessage());
+        }
+        return located;
+    }
+
+    /**
+     * Cache location in Redis (coalesced and flushed by ShuttleStateCache)
      */
     private void cacheLocation(ShuttleLocationResponse response) {
-        String cacheKey = LOCATION_CACHE_PREFIX + response.shuttleId();
-        redisTemplate.opsForValue().set(cacheKey, response, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
+        stateCache.put(response);
     }
 }
\ No newline at end of file
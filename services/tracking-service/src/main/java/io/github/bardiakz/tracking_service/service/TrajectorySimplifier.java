@@ -0,0 +1,159 @@
+package io.github.bardiakz.tracking_service.service;
+
+import io.github.bardiakz.tracking_service.dto.TrackPoint;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming Douglas-Peucker simplifier for shuttle trajectories
+ *
+ * Points are buffered in fixed-size windows and each window is simplified on
+ * its own, so memory stays bounded no matter how long the requested range is.
+ * The last point of a window is carried over as the anchor of the next one,
+ * which keeps the output a single connected polyline.
+ *
+ * Not thread-safe: create one instance per request.
+ */
+public class TrajectorySimplifier implements Consumer<TrackPoint> {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+    static final int DEFAULT_WINDOW_SIZE = 2048;
+
+    private final double toleranceMeters;
+    private final int windowSize;
+    private final Consumer<TrackPoint> downstream;
+    private final List<TrackPoint> window;
+
+    private long emitted;
+
+    public TrajectorySimplifier(double toleranceMeters, Consumer<TrackPoint> downstream) {
+        this(toleranceMeters, DEFAULT_WINDOW_SIZE, downstream);
+    }
+
+    public TrajectorySimplifier(double toleranceMeters, int windowSize, Consumer<TrackPoint> downstream) {
+        if (windowSize < 3) {
+            throw new IllegalArgumentException("Window size must be at least 3");
+        }
+        this.toleranceMeters = toleranceMeters;
+        this.windowSize = windowSize;
+        this.downstream = downstream;
+        this.window = new ArrayList<>(windowSize);
+    }
+
+    @Override
+    public void accept(TrackPoint point) {
+        window.add(point);
+        if (window.size() == windowSize) {
+            flushWindow(false);
+        }
+    }
+
+    /**
+     * Emit whatever is still buffered, including the final point
+     */
+    public void finish() {
+        flushWindow(true);
+    }
+
+    public long getEmittedCount() {
+        return emitted;
+    }
+
+    private void flushWindow(boolean last) {
+        int size = window.size();
+        if (size == 0) {
+            return;
+        }
+        if (size <= 2) {
+            int end = last ? size : size - 1;
+            for (int i = 0; i < end; i++) {
+                emit(window.get(i));
+            }
+        } else {
+            boolean[] keep = simplify(window);
+            // The window's last point is the next window's anchor, so only emit it at the very end
+            int end = last ? size : size - 1;
+            for (int i = 0; i < end; i++) {
+                if (keep[i]) {
+                    emit(window.get(i));
+                }
+            }
+        }
+
+        TrackPoint anchor = window.get(size - 1);
+        window.clear();
+        if (!last) {
+            window.add(anchor);
+        }
+    }
+
+    private void emit(TrackPoint point) {
+        emitted++;
+        downstream.accept(point);
+    }
+
+    /**
+     * Iterative Douglas-Peucker over a single window (no recursion, so long
+     * straight stretches cannot blow the stack)
+     */
+    private boolean[] simplify(List<TrackPoint> points) {
+        int n = points.size();
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+
+        Deque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[]{0, n - 1});
+
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int start = range[0];
+            int end = range[1];
+            if (end - start < 2) {
+                continue;
+            }
+
+            double maxDistance = -1;
+            int index = -1;
+            for (int i = start + 1; i < end; i++) {
+                double distance = perpendicularDistance(points.get(i), points.get(start), points.get(end));
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    index = i;
+                }
+            }
+
+            if (maxDistance > toleranceMeters) {
+                keep[index] = true;
+                ranges.push(new int[]{start, index});
+                ranges.push(new int[]{index, end});
+            }
+        }
+        return keep;
+    }
+
+    /**
+     * Distance in meters from p to segment a-b, using a local equirectangular
+     * projection around a (accurate enough at campus scale)
+     */
+    private static double perpendicularDistance(TrackPoint p, TrackPoint a, TrackPoint b) {
+        double cosLat = Math.cos(Math.toRadians(a.latitude()));
+
+        double bx = Math.toRadians(b.longitude() - a.longitude()) * cosLat * EARTH_RADIUS_METERS;
+        double by = Math.toRadians(b.latitude() - a.latitude()) * EARTH_RADIUS_METERS;
+        double px = Math.toRadians(p.longitude() - a.longitude()) * cosLat * EARTH_RADIUS_METERS;
+        double py = Math.toRadians(p.latitude() - a.latitude()) * EARTH_RADIUS_METERS;
+
+        double lengthSquared = bx * bx + by * by;
+        if (lengthSquared == 0) {
+            return Math.hypot(px, py);
+        }
+
+        double t = Math.max(0, Math.min(1, (px * bx + py * by) / lengthSquared));
+        return Math.hypot(px - t * bx, py - t * by);
+    }
+}